@@ -0,0 +1,58 @@
+package common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Carries several requests that the server executes in order and answers with one
+ * BATCH message, whose data is the list of the individual responses in the same order.
+ *
+ * Typical uses are the requests a screen sends when it opens, or a lookup followed by
+ * the action on its result. When {@link #isTransactional()} is set, all the database
+ * work of the batch runs in one transaction, which is rolled back if any request fails
+ * with an error. A batch cannot contain another batch, a CLIENT_QUIT, or a streamed
+ * page request.
+ */
+public class BatchRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Largest number of requests the server accepts in one batch. */
+    public static final int MAX_REQUESTS = 100;
+
+    /** The requests, executed in list order. */
+    private final ArrayList<BistroMessage> requests;
+
+    /** Whether the requests share one database transaction. */
+    private final boolean transactional;
+
+    /**
+     * Creates a batch.
+     * @param transactional true to run all the requests in one database transaction.
+     * @param requests The requests, executed in the given order.
+     */
+    public BatchRequest(boolean transactional, List<BistroMessage> requests) {
+        this.transactional = transactional;
+        this.requests = new ArrayList<>(requests);
+    }
+
+    /**
+     * Creates a batch.
+     * @param transactional true to run all the requests in one database transaction.
+     * @param requests The requests, executed in the given order.
+     */
+    public BatchRequest(boolean transactional, BistroMessage... requests) {
+        this(transactional, Arrays.asList(requests));
+    }
+
+    public ArrayList<BistroMessage> getRequests() { return requests; }
+
+    public boolean isTransactional() { return transactional; }
+
+    @Override
+    public String toString() {
+        return "BatchRequest{" + requests.size() + " request(s)" + (transactional ? ", transactional" : "") + "}";
+    }
+}
@@ -0,0 +1,535 @@
+package common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary codec for {@link BistroMessage} and the common entities
+ * (Order, User, Table, OpeningHour, Report, Page, PageRequest, BatchRequest).
+ *
+ * Frame layout (version 3):
+ * format byte, version byte, ActionType ordinal (short, -1 for null), request ID (int),
+ * idempotency key (string), then the payload
+ * as a tagged value. Entities are written field by field with primitive encodings,
+ * strings as length-prefixed UTF-8 and all dates as epoch milliseconds. Values of
+ * any other type are embedded as Java-serialized bytes, so every Serializable payload
+ * still gets through. Version 1 frames (no request ID) and version 2 frames (no
+ * idempotency key) are still accepted.
+ *
+ * The ActionType ordinal is part of the format: new constants must be appended at
+ * the end of the enum, and the version must be raised if the layout changes.
+ */
+public class BinaryCodec implements BistroCodec {
+
+    /** Format byte of binary frames. */
+    public static final byte FORMAT = 2;
+
+    /** Current layout version. */
+    public static final byte VERSION = 3;
+
+    /** Oldest layout version still decoded. */
+    private static final byte MIN_VERSION = 1;
+
+    // Value tags
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_BOOLEAN = 4;
+    private static final byte TAG_STRING = 5;
+    private static final byte TAG_TIMESTAMP = 6;
+    private static final byte TAG_SQL_DATE = 7;
+    private static final byte TAG_SQL_TIME = 8;
+    private static final byte TAG_DATE = 9;
+    private static final byte TAG_LIST = 10;
+    private static final byte TAG_INT_ARRAY = 11;
+    private static final byte TAG_HASH_MAP = 12;
+    private static final byte TAG_LINKED_MAP = 13;
+    private static final byte TAG_ORDER = 14;
+    private static final byte TAG_USER = 15;
+    private static final byte TAG_TABLE = 16;
+    private static final byte TAG_OPENING_HOUR = 17;
+    private static final byte TAG_REPORT = 18;
+    private static final byte TAG_MESSAGE = 19;
+    private static final byte TAG_PAGE = 20;
+    private static final byte TAG_PAGE_REQUEST = 21;
+    private static final byte TAG_BATCH_REQUEST = 22;
+    private static final byte TAG_SERIALIZED = 127;
+
+    /** Used for payloads without a binary layout. */
+    private static final SerializedCodec FALLBACK = new SerializedCodec();
+
+    @Override
+    public byte getFormat() { return FORMAT; }
+
+    @Override
+    public String getName() { return "binary"; }
+
+    @Override
+    public byte[] encode(Object msg) throws IOException {
+        if (!(msg instanceof BistroMessage)) {
+            return FALLBACK.encode(msg);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT);
+        out.writeByte(VERSION);
+        writeMessageBody(out, (BistroMessage) msg);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        if (in.readByte() != FORMAT) {
+            throw new StreamCorruptedException("Not a binary frame");
+        }
+        byte version = in.readByte();
+        if (version < MIN_VERSION || version > VERSION) {
+            throw new StreamCorruptedException("Unsupported binary frame version " + version);
+        }
+        return readMessageBody(in, version);
+    }
+
+    // --- Messages ---
+
+    private void writeMessageBody(DataOutputStream out, BistroMessage msg) throws IOException {
+        ActionType type = msg.getType();
+        out.writeShort(type == null ? -1 : type.ordinal());
+        out.writeInt(msg.getRequestId());
+        writeString(out, msg.getIdempotencyKey());
+        writeValue(out, msg.getData());
+    }
+
+    private BistroMessage readMessageBody(DataInputStream in, byte version) throws IOException {
+        short ordinal = in.readShort();
+        ActionType[] types = ActionType.values();
+        if (ordinal >= types.length) {
+            throw new StreamCorruptedException("Unknown ActionType ordinal " + ordinal);
+        }
+        ActionType type = ordinal < 0 ? null : types[ordinal];
+        int requestId = version >= 2 ? in.readInt() : 0;
+        String idempotencyKey = version >= 3 ? readString(in) : null;
+        BistroMessage msg = new BistroMessage(type, readValue(in, version));
+        msg.setRequestId(requestId);
+        msg.setIdempotencyKey(idempotencyKey);
+        return msg;
+    }
+
+    // --- Tagged values ---
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value.getClass() == Timestamp.class) {
+            out.writeByte(TAG_TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+        } else if (value.getClass() == java.sql.Date.class) {
+            out.writeByte(TAG_SQL_DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value.getClass() == Time.class) {
+            out.writeByte(TAG_SQL_TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value.getClass() == java.util.Date.class) {
+            out.writeByte(TAG_DATE);
+            out.writeLong(((java.util.Date) value).getTime());
+        } else if (value.getClass() == ArrayList.class) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            out.writeByte(TAG_INT_ARRAY);
+            out.writeInt(array.length);
+            for (int item : array) {
+                out.writeInt(item);
+            }
+        } else if (value.getClass() == HashMap.class || value.getClass() == LinkedHashMap.class) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(value.getClass() == HashMap.class ? TAG_HASH_MAP : TAG_LINKED_MAP);
+            writeMapEntries(out, map);
+        } else if (value.getClass() == Order.class) {
+            out.writeByte(TAG_ORDER);
+            writeOrder(out, (Order) value);
+        } else if (value.getClass() == User.class) {
+            out.writeByte(TAG_USER);
+            writeUser(out, (User) value);
+        } else if (value.getClass() == Table.class) {
+            out.writeByte(TAG_TABLE);
+            writeTable(out, (Table) value);
+        } else if (value.getClass() == OpeningHour.class) {
+            out.writeByte(TAG_OPENING_HOUR);
+            writeOpeningHour(out, (OpeningHour) value);
+        } else if (value.getClass() == Report.class) {
+            out.writeByte(TAG_REPORT);
+            writeReport(out, (Report) value);
+        } else if (value.getClass() == BistroMessage.class) {
+            out.writeByte(TAG_MESSAGE);
+            writeMessageBody(out, (BistroMessage) value);
+        } else if (value.getClass() == Page.class) {
+            out.writeByte(TAG_PAGE);
+            writePage(out, (Page<?>) value);
+        } else if (value.getClass() == PageRequest.class) {
+            out.writeByte(TAG_PAGE_REQUEST);
+            writePageRequest(out, (PageRequest) value);
+        } else if (value.getClass() == BatchRequest.class) {
+            out.writeByte(TAG_BATCH_REQUEST);
+            writeBatchRequest(out, (BatchRequest) value);
+        } else {
+            byte[] serialized = FALLBACK.encode(value);
+            out.writeByte(TAG_SERIALIZED);
+            out.writeInt(serialized.length);
+            out.write(serialized);
+        }
+    }
+
+    private Object readValue(DataInputStream in, byte version) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_STRING:
+                return readString(in);
+            case TAG_TIMESTAMP:
+                return new Timestamp(in.readLong());
+            case TAG_SQL_DATE:
+                return new java.sql.Date(in.readLong());
+            case TAG_SQL_TIME:
+                return new Time(in.readLong());
+            case TAG_DATE:
+                return new java.util.Date(in.readLong());
+            case TAG_LIST: {
+                int size = readLength(in);
+                ArrayList<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, version));
+                }
+                return list;
+            }
+            case TAG_INT_ARRAY: {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return array;
+            }
+            case TAG_HASH_MAP:
+                return readMapEntries(in, new HashMap<Object, Object>(), version);
+            case TAG_LINKED_MAP:
+                return readMapEntries(in, new LinkedHashMap<Object, Object>(), version);
+            case TAG_ORDER:
+                return readOrder(in);
+            case TAG_USER:
+                return readUser(in);
+            case TAG_TABLE:
+                return readTable(in);
+            case TAG_OPENING_HOUR:
+                return readOpeningHour(in);
+            case TAG_REPORT:
+                return readReport(in, version);
+            case TAG_MESSAGE:
+                return readMessageBody(in, version);
+            case TAG_PAGE:
+                return readPage(in, version);
+            case TAG_PAGE_REQUEST:
+                return readPageRequest(in);
+            case TAG_BATCH_REQUEST:
+                return readBatchRequest(in, version);
+            case TAG_SERIALIZED: {
+                byte[] serialized = new byte[readLength(in)];
+                in.readFully(serialized);
+                return FALLBACK.decode(serialized);
+            }
+            default:
+                throw new StreamCorruptedException("Unknown value tag " + tag);
+        }
+    }
+
+    private void writeMapEntries(DataOutputStream out, Map<?, ?> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<Object, Object> readMapEntries(DataInputStream in, Map<Object, Object> map, byte version) throws IOException {
+        int size = readLength(in);
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(in, version);
+            map.put(key, readValue(in, version));
+        }
+        return map;
+    }
+
+    // --- Entities ---
+
+    private void writeOrder(DataOutputStream out, Order order) throws IOException {
+        out.writeInt(order.getOrderNumber());
+        out.writeInt(order.getConfirmationCode());
+        out.writeInt(order.getMemberId());
+        writeTimestamp(out, order.getOrderDate());
+        writeTimestamp(out, order.getDateOfPlacingOrder());
+        out.writeInt(order.getNumberOfGuests());
+        writeString(out, order.getStatus());
+        out.writeDouble(order.getTotalPrice());
+        Integer tableId = order.getAssignedTableId();
+        out.writeBoolean(tableId != null);
+        if (tableId != null) {
+            out.writeInt(tableId);
+        }
+        writeString(out, order.getCustomerName());
+        writeString(out, order.getPhone());
+        writeString(out, order.getEmail());
+        writeTimestamp(out, order.getActualArrivalTime());
+        writeTimestamp(out, order.getActualLeaveTime());
+    }
+
+    private Order readOrder(DataInputStream in) throws IOException {
+        Order order = new Order();
+        order.setOrderNumber(in.readInt());
+        order.setConfirmationCode(in.readInt());
+        order.setMemberId(in.readInt());
+        order.setOrderDate(readTimestamp(in));
+        order.setDateOfPlacingOrder(readTimestamp(in));
+        order.setNumberOfGuests(in.readInt());
+        order.setStatus(readString(in));
+        order.setTotalPrice(in.readDouble());
+        order.setAssignedTableId(in.readBoolean() ? Integer.valueOf(in.readInt()) : null);
+        order.setCustomerName(readString(in));
+        order.setPhone(readString(in));
+        order.setEmail(readString(in));
+        order.setActualArrivalTime(readTimestamp(in));
+        order.setActualLeaveTime(readTimestamp(in));
+        return order;
+    }
+
+    private void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeInt(user.getUserId());
+        writeString(out, user.getUsername());
+        writeString(out, user.getPassword());
+        writeString(out, user.getFirstName());
+        writeString(out, user.getLastName());
+        out.writeByte(user.getRole() == null ? -1 : user.getRole().ordinal());
+        writeString(out, user.getPhone());
+        writeString(out, user.getEmail());
+        out.writeInt(user.getMemberCode());
+    }
+
+    private User readUser(DataInputStream in) throws IOException {
+        User user = new User();
+        user.setUserId(in.readInt());
+        user.setUsername(readString(in));
+        user.setPassword(readString(in));
+        user.setFirstName(readString(in));
+        user.setLastName(readString(in));
+        byte role = in.readByte();
+        Role[] roles = Role.values();
+        if (role >= roles.length) {
+            throw new StreamCorruptedException("Unknown Role ordinal " + role);
+        }
+        user.setRole(role < 0 ? null : roles[role]);
+        user.setPhone(readString(in));
+        user.setEmail(readString(in));
+        user.setMemberCode(in.readInt());
+        return user;
+    }
+
+    private void writeTable(DataOutputStream out, Table table) throws IOException {
+        out.writeInt(table.getTableId());
+        out.writeInt(table.getCapacity());
+        writeString(out, table.getStatus());
+    }
+
+    private Table readTable(DataInputStream in) throws IOException {
+        int tableId = in.readInt();
+        int capacity = in.readInt();
+        return new Table(tableId, capacity, readString(in));
+    }
+
+    private void writeOpeningHour(DataOutputStream out, OpeningHour hour) throws IOException {
+        out.writeInt(hour.getId());
+        out.writeInt(hour.getDayOfWeek());
+        writeMillis(out, hour.getSpecificDate());
+        writeMillis(out, hour.getOpenTime());
+        writeMillis(out, hour.getCloseTime());
+        out.writeBoolean(hour.isClosed());
+    }
+
+    private OpeningHour readOpeningHour(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        int dayOfWeek = in.readInt();
+        Long date = readMillis(in);
+        Long open = readMillis(in);
+        Long close = readMillis(in);
+        boolean closed = in.readBoolean();
+        return new OpeningHour(id, dayOfWeek,
+                date == null ? null : new java.sql.Date(date),
+                open == null ? null : new Time(open),
+                close == null ? null : new Time(close),
+                closed);
+    }
+
+    private void writeReport(DataOutputStream out, Report report) throws IOException {
+        out.writeInt(report.getMonth());
+        out.writeInt(report.getYear());
+        writeString(out, report.getReportType());
+        writeValue(out, report.getDataMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Report readReport(DataInputStream in, byte version) throws IOException {
+        int month = in.readInt();
+        int year = in.readInt();
+        Report report = new Report(month, year, readString(in));
+        report.setDataMap((Map<String, Number>) readValue(in, version));
+        return report;
+    }
+
+    private void writePage(DataOutputStream out, Page<?> page) throws IOException {
+        out.writeBoolean(page.isFirst());
+        out.writeBoolean(page.isLast());
+        out.writeInt(page.getNextId());
+        writeTimestamp(out, page.getNextDate());
+        writeValue(out, page.getItems());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Page<Object> readPage(DataInputStream in, byte version) throws IOException {
+        boolean first = in.readBoolean();
+        boolean last = in.readBoolean();
+        int nextId = in.readInt();
+        Timestamp nextDate = readTimestamp(in);
+        Object items = readValue(in, version);
+        if (!(items instanceof ArrayList)) {
+            throw new StreamCorruptedException("Page without a list of rows");
+        }
+        return new Page<>((ArrayList<Object>) items, first, last, nextId, nextDate);
+    }
+
+    private void writePageRequest(DataOutputStream out, PageRequest request) throws IOException {
+        out.writeInt(request.getPageSize());
+        out.writeInt(request.getOwnerId());
+        out.writeBoolean(request.isStreamed());
+        out.writeInt(request.getAfterId());
+        writeTimestamp(out, request.getAfterDate());
+    }
+
+    private PageRequest readPageRequest(DataInputStream in) throws IOException {
+        PageRequest request = new PageRequest(in.readInt(), in.readInt());
+        request.setStreamed(in.readBoolean());
+        request.setCursor(in.readInt(), readTimestamp(in));
+        return request;
+    }
+
+    private void writeBatchRequest(DataOutputStream out, BatchRequest batch) throws IOException {
+        out.writeBoolean(batch.isTransactional());
+        writeValue(out, batch.getRequests());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchRequest readBatchRequest(DataInputStream in, byte version) throws IOException {
+        boolean transactional = in.readBoolean();
+        Object requests = readValue(in, version);
+        if (!(requests instanceof ArrayList)) {
+            throw new StreamCorruptedException("Batch without a list of requests");
+        }
+        return new BatchRequest(transactional, (ArrayList<BistroMessage>) requests);
+    }
+
+    // --- Primitives ---
+
+    private void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new StreamCorruptedException("String length " + length + " exceeds frame");
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private void writeTimestamp(DataOutputStream out, Timestamp ts) throws IOException {
+        writeMillis(out, ts);
+    }
+
+    private Timestamp readTimestamp(DataInputStream in) throws IOException {
+        Long millis = readMillis(in);
+        return millis == null ? null : new Timestamp(millis);
+    }
+
+    private void writeMillis(DataOutputStream out, java.util.Date date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.getTime());
+        }
+    }
+
+    private Long readMillis(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Long.valueOf(in.readLong()) : null;
+    }
+
+    /**
+     * Reads a collection size and checks it against the bytes left in the frame,
+     * so a corrupted frame cannot trigger a huge allocation.
+     */
+    private int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new StreamCorruptedException("Invalid length " + length);
+        }
+        return length;
+    }
+}
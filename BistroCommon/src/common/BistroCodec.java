@@ -0,0 +1,42 @@
+package common;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes the messages exchanged between the Client and the Server
+ * when the framed (NIO) transport is used.
+ *
+ * Every encoded frame starts with the codec's format byte, so the receiving side
+ * can always pick the right decoder through {@link BistroCodecs#decode(byte[])}.
+ * Client and Server therefore do not need to be configured with the same codec.
+ */
+public interface BistroCodec {
+
+    /**
+     * Returns the format byte written at the start of every frame of this codec.
+     * @return The format identifier.
+     */
+    byte getFormat();
+
+    /**
+     * Returns the name used to select this codec in the configuration.
+     * @return The codec name (e.g. "binary").
+     */
+    String getName();
+
+    /**
+     * Encodes a message into one frame payload, format byte included.
+     * @param msg The message to encode (normally a BistroMessage).
+     * @return The encoded bytes.
+     * @throws IOException If the message cannot be encoded.
+     */
+    byte[] encode(Object msg) throws IOException;
+
+    /**
+     * Decodes a frame payload produced by {@link #encode(Object)}.
+     * @param frame The encoded bytes, format byte included.
+     * @return The decoded message.
+     * @throws IOException If the bytes are not a valid frame of this codec.
+     */
+    Object decode(byte[] frame) throws IOException;
+}
@@ -0,0 +1,63 @@
+package common;
+
+import java.io.IOException;
+
+/**
+ * Registry of the available {@link BistroCodec} implementations.
+ *
+ * The codec used for outgoing frames is chosen with the system property
+ * {@value #CODEC_PROPERTY} ("binary" by default, or "serialized"). Incoming frames
+ * are always decoded according to their own format byte.
+ */
+public final class BistroCodecs {
+
+    /** System property selecting the codec for outgoing frames. */
+    public static final String CODEC_PROPERTY = "bistro.codec";
+
+    /** Standard Java serialization. */
+    public static final BistroCodec SERIALIZED = new SerializedCodec();
+
+    /** Compact binary encoding of BistroMessage and the common entities. */
+    public static final BistroCodec BINARY = new BinaryCodec();
+
+    private BistroCodecs() {}
+
+    /**
+     * Returns the codec with the given name.
+     * @param name "binary" or "serialized" (case-insensitive).
+     * @return The matching codec, or the binary codec if the name is unknown or null.
+     */
+    public static BistroCodec forName(String name) {
+        if (name != null && name.equalsIgnoreCase(SERIALIZED.getName())) {
+            return SERIALIZED;
+        }
+        return BINARY;
+    }
+
+    /**
+     * Returns the codec selected by the {@value #CODEC_PROPERTY} system property.
+     * @return The configured codec.
+     */
+    public static BistroCodec configured() {
+        return forName(System.getProperty(CODEC_PROPERTY));
+    }
+
+    /**
+     * Decodes a frame with the codec named by its format byte.
+     * @param frame The encoded frame.
+     * @return The decoded message.
+     * @throws IOException If the format is unknown or the frame is invalid.
+     */
+    public static Object decode(byte[] frame) throws IOException {
+        if (frame.length == 0) {
+            throw new IOException("Empty frame");
+        }
+        if (frame[0] == BinaryCodec.FORMAT) {
+            return BINARY.decode(frame);
+        }
+        if (frame[0] == SerializedCodec.FORMAT) {
+            return SERIALIZED.decode(frame);
+        }
+        throw new IOException("Unknown frame format " + frame[0]);
+    }
+}
@@ -1,50 +1,122 @@
-package common;
-
-import java.io.Serializable;
-
-/**
- * Represents the standard communication envelope used between the Client and the Server.
- * * This class encapsulates the protocol for all data exchange.
- * It contains an ActionType (the command) and an Object (the data payload).
- * By implementing Serializable, instances of this class can be sent over the network.
- */
-public class BistroMessage implements Serializable {
-    
-    /**
-     * A unique identifier for serialization interoperability.
-     */
-    private static final long serialVersionUID = 1L;
-
-    /**
-     * The specific command or action to be performed (e.g., LOGIN, UPDATE_TABLE).
-     */
-    private ActionType type; 
-    
-    /**
-     * The data payload associated with the action.
-     * This can be any Serializable object (e.g., User, Order, ArrayList, String).
-     */
-    private Object data;    
-
-    /**
-     * Constructs a new BistroMessage with a specific action type and data.
-     * * @param type The ActionType enum constant representing the command.
-     * @param data The object containing the data required for the command.
-     */
-    public BistroMessage(ActionType type, Object data) {
-        this.type = type;
-        this.data = data;
-    }
-    
-    /**
-     * Retrieves the action type of this message.
-     * @return The ActionType enum constant.
-     */
-    public ActionType getType() { return type; }
-    
-    /**
-     * Retrieves the data payload of this message.
-     * @return The data object.
-     */
-    public Object getData() { return data; }
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Represents the standard communication envelope used between the Client and the Server.
+ * * This class encapsulates the protocol for all data exchange.
+ * It contains an ActionType (the command) and an Object (the data payload).
+ * By implementing Serializable, instances of this class can be sent over the network.
+ */
+public class BistroMessage implements Serializable {
+    
+    /**
+     * A unique identifier for serialization interoperability.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How the texts the server answers with when a request failed begin, in upper case.
+     * The handlers word them in several ways ("ERROR: ...", "Error: ...", "Failed: ...",
+     * "Registration failed."), so they are compared ignoring case.
+     */
+    private static final String[] ERROR_PREFIXES = {
+        "ERROR", "FAILED", "REGISTRATION FAILED", "USERNAME OR PASSWORD INCORRECT", "SEATED STATUS CAN NOT"
+    };
+
+    /**
+     * The specific command or action to be performed (e.g., LOGIN, UPDATE_TABLE).
+     */
+    private ActionType type; 
+    
+    /**
+     * The data payload associated with the action.
+     * This can be any Serializable object (e.g., User, Order, ArrayList, String).
+     */
+    private Object data;    
+
+    /**
+     * Correlation ID chosen by the client and copied by the server into the response,
+     * so several requests can be in flight on one connection.
+     * 0 means the request is not correlated.
+     */
+    private int requestId;
+
+    /**
+     * Key chosen by the client for a request that must not run twice, such as
+     * CREATE_ORDER. A retry carries the same key, so the server can answer it with
+     * the response of the first attempt. null means the request has no key.
+     */
+    private String idempotencyKey;
+
+    /**
+     * Constructs a new BistroMessage with a specific action type and data.
+     * * @param type The ActionType enum constant representing the command.
+     * @param data The object containing the data required for the command.
+     */
+    public BistroMessage(ActionType type, Object data) {
+        this.type = type;
+        this.data = data;
+    }
+    
+    /**
+     * Retrieves the action type of this message.
+     * @return The ActionType enum constant.
+     */
+    public ActionType getType() { return type; }
+    
+    /**
+     * Retrieves the data payload of this message.
+     * @return The data object.
+     */
+    public Object getData() { return data; }
+
+    /**
+     * Retrieves the correlation ID of this message.
+     * @return The request ID, or 0 if the message is not correlated.
+     */
+    public int getRequestId() { return requestId; }
+
+    /**
+     * Sets the correlation ID of this message.
+     * @param requestId The request ID (0 for none).
+     */
+    public void setRequestId(int requestId) { this.requestId = requestId; }
+
+    /**
+     * Retrieves the idempotency key of this message.
+     * @return The key, or null if the request has none.
+     */
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    /**
+     * Sets the idempotency key of this message.
+     * @param idempotencyKey The key (null for none).
+     */
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    /**
+     * Checks whether this message reports a failed request.
+     * @return true if the data is a text starting with one of the error prefixes.
+     */
+    public boolean isError() {
+        return data instanceof String && isErrorText((String) data);
+    }
+
+    /**
+     * Checks whether a response text reports a failed request, ignoring case.
+     * @param text The response text.
+     * @return true if it starts with one of the error prefixes.
+     */
+    public static boolean isErrorText(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (String prefix : ERROR_PREFIXES) {
+            if (text.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package common;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+
+/**
+ * One page of a long list, sent in answer to a {@link PageRequest}.
+ *
+ * The page carries the cursor of its last row, which the client passes back through
+ * {@link PageRequest#next(Page)} to get the following page.
+ *
+ * @param <T> The type of the rows (Order or User).
+ */
+public class Page<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The rows of this page, in list order. */
+    private ArrayList<T> items;
+
+    /** Whether this is the first page of the list. */
+    private boolean first;
+
+    /** Whether no more rows follow this page. */
+    private boolean last;
+
+    /** ID of the last row of this page (cursor for the next page). */
+    private int nextId;
+
+    /** Order date of the last row of this page (date-sorted lists only), or null. */
+    private Timestamp nextDate;
+
+    /**
+     * Creates a page.
+     * @param items The rows.
+     * @param first Whether this is the first page.
+     * @param last Whether no more rows follow.
+     * @param nextId ID of the last row.
+     * @param nextDate Order date of the last row, or null.
+     */
+    public Page(ArrayList<T> items, boolean first, boolean last, int nextId, Timestamp nextDate) {
+        this.items = items;
+        this.first = first;
+        this.last = last;
+        this.nextId = nextId;
+        this.nextDate = nextDate;
+    }
+
+    public ArrayList<T> getItems() { return items; }
+
+    public boolean isFirst() { return first; }
+
+    public boolean isLast() { return last; }
+
+    public int getNextId() { return nextId; }
+
+    public Timestamp getNextDate() { return nextDate; }
+
+    @Override
+    public String toString() {
+        return "Page{" + items.size() + " rows" + (first ? ", first" : "") + (last ? ", last" : "") + "}";
+    }
+}
@@ -0,0 +1,119 @@
+package common;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * Asks the server for one page of a long list (all orders, a member's history, all members).
+ *
+ * Pages use keyset pagination: instead of an offset, the request carries the sort key of
+ * the last row already received (the cursor), and the server returns the rows that come
+ * after it. Each page therefore costs the same index range scan no matter how deep it is.
+ * The cursor is an ID (order number or user ID), plus the order date for lists sorted by date.
+ *
+ * When {@link #isStreamed()} is set, the server sends every page in turn as a separate
+ * message with the same request ID, so the client can show rows while the rest arrives.
+ */
+public class PageRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Page size used when none is given. */
+    public static final int DEFAULT_PAGE_SIZE = 200;
+
+    /** Largest page size the server accepts. */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /** Maximum number of rows in the page. */
+    private int pageSize;
+
+    /** The member whose rows are requested (GET_USER_HISTORY), or 0. */
+    private int ownerId;
+
+    /** Whether the server should send all remaining pages, not just the first. */
+    private boolean streamed;
+
+    /** ID of the last row already received, or 0 for the first page. */
+    private int afterId;
+
+    /** Order date of the last row already received (date-sorted lists only), or null. */
+    private Timestamp afterDate;
+
+    /**
+     * Creates a request for the first page.
+     * @param pageSize Maximum number of rows per page.
+     */
+    public PageRequest(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Creates a request for the first page of a member's rows.
+     * @param pageSize Maximum number of rows per page.
+     * @param ownerId The member ID.
+     */
+    public PageRequest(int pageSize, int ownerId) {
+        this.pageSize = pageSize;
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Returns the request for the page that follows a received page.
+     * @param page The page just received.
+     * @return A request with the same settings and the page's cursor.
+     */
+    public PageRequest next(Page<?> page) {
+        PageRequest next = new PageRequest(pageSize, ownerId);
+        next.streamed = streamed;
+        next.setCursor(page.getNextId(), page.getNextDate());
+        return next;
+    }
+
+    /**
+     * @return The page size, clamped to 1..{@value #MAX_PAGE_SIZE}.
+     */
+    public int getPageSize() {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    public int getOwnerId() { return ownerId; }
+
+    public boolean isStreamed() { return streamed; }
+
+    /**
+     * Asks the server to send all the pages.
+     * @param streamed true to stream every page.
+     * @return This request, for chaining.
+     */
+    public PageRequest setStreamed(boolean streamed) {
+        this.streamed = streamed;
+        return this;
+    }
+
+    public int getAfterId() { return afterId; }
+
+    /**
+     * Sets the cursor directly (used when decoding).
+     * @param afterId ID of the last row already received, or 0.
+     * @param afterDate Order date of that row, or null.
+     */
+    public void setCursor(int afterId, Timestamp afterDate) {
+        this.afterId = afterId;
+        this.afterDate = afterDate;
+    }
+
+    public Timestamp getAfterDate() { return afterDate; }
+
+    /**
+     * @return true if this request has no cursor (it asks for the first page).
+     */
+    public boolean isFirstPage() {
+        return afterId == 0 && afterDate == null;
+    }
+
+    @Override
+    public String toString() {
+        return "PageRequest{size=" + pageSize + ", owner=" + ownerId + ", after=" + afterId
+                + (afterDate != null ? "@" + afterDate : "") + (streamed ? ", streamed" : "") + "}";
+    }
+}
@@ -0,0 +1,47 @@
+package common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Codec using standard Java serialization, identical to what the blocking
+ * transport sends. Handles any Serializable object and is used as the fallback
+ * for messages the binary codec does not know.
+ */
+public class SerializedCodec implements BistroCodec {
+
+    /** Format byte of serialized frames. */
+    public static final byte FORMAT = 1;
+
+    @Override
+    public byte getFormat() { return FORMAT; }
+
+    @Override
+    public String getName() { return "serialized"; }
+
+    @Override
+    public byte[] encode(Object msg) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(FORMAT);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(msg);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] frame) throws IOException {
+        if (frame.length == 0 || frame[0] != FORMAT) {
+            throw new IOException("Not a serialized frame");
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(frame, 1, frame.length - 1))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+}
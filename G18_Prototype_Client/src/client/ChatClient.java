@@ -1,17 +1,37 @@
 package client;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import common.ActionType;
+import common.BatchRequest;
+import common.BistroCodec;
+import common.BistroCodecs;
 import common.BistroMessage;
 import common.ChatIF;
 import common.OpeningHour;
 import common.Order;
+import common.Page;
+import common.PageRequest;
 import common.Report;
 import common.Table;
 import common.User;
+import gui.staff.ActiveDinersController;
+import gui.staff.ActiveOrdersController;
 import gui.staff.ManageTablesController;
+import gui.staff.ShowWaitingListController;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -26,8 +46,32 @@ public class ChatClient extends AbstractClient {
     // Instance variables
     ChatIF clientUI;
 
+    /** Codec for outgoing frames when the framed (NIO) transport is used. */
+    private final BistroCodec codec = BistroCodecs.configured();
+
+    /** How long the blocking calls wait for a response. */
+    static final long REQUEST_TIMEOUT_SECONDS = 30;
+
+    /** Source of request IDs for correlated requests. */
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+
+    /** Correlated requests waiting for their response, by request ID. */
+    private final Map<Integer, CompletableFuture<BistroMessage>> pendingRequests = new ConcurrentHashMap<>();
+
+    /** Request IDs of the blocking calls, whose responses also set the shared result fields. */
+    private final Set<Integer> blockingRequests = ConcurrentHashMap.newKeySet();
+
+    /** Callbacks of streamed requests, called for every page, by request ID. */
+    private final Map<Integer, Consumer<Page<?>>> pageListeners = new ConcurrentHashMap<>();
+
+    /** Number of open screens that want ORDER_UPDATE events. */
+    private final AtomicInteger orderWatchers = new AtomicInteger();
+
     // Live Controllers References
     public static ManageTablesController tablesController = null;
+    public static ShowWaitingListController waitingListController = null;
+    public static ActiveDinersController activeDinersController = null;
+    public static ActiveOrdersController activeOrdersController = null;
 
     // Static Data Containers
     public static ArrayList<Order> listOfOrders = new ArrayList<>();
@@ -52,21 +96,119 @@ public class ChatClient extends AbstractClient {
     public static String returnMessage = null;
     public static boolean isAlternativeTime = false;
 
+    /** System property selecting the transport; must match the server's setting. */
+    public static final String TRANSPORT_PROPERTY = "bistro.transport";
+
     // Constructors
     public ChatClient(String host, int port, ChatIF clientUI) throws IOException {
         super(host, port);
         this.clientUI = clientUI;
+        // A server running the NIO transport expects length-prefixed frames
+        setFramed("nio".equalsIgnoreCase(System.getProperty(TRANSPORT_PROPERTY)));
     }
 
     // Instance methods
 
+    /**
+     * Encodes an outgoing message for the framed transport with the configured codec.
+     */
+    @Override
+    protected byte[] encodeFrame(Object msg) throws IOException {
+        return codec.encode(msg);
+    }
+
+    /**
+     * Decodes an incoming frame with the codec named in its format byte.
+     */
+    @Override
+    protected Object decodeFrame(byte[] frame) throws IOException {
+        return BistroCodecs.decode(frame);
+    }
+
     /**
      * Handles all data that comes in from the server.
-     * Parses the message and updates the relevant data or triggers UI alerts.
+     * Updates the static data first, then releases the request waiting for this
+     * response (if the message carries a request ID). A streamed request is only
+     * released by its last page. Only responses to blocking calls and uncorrelated
+     * messages set the shared result fields; the others only refresh the cached lists.
      *
      * @param msg The message received from the server.
      */
     public void handleMessageFromServer(Object msg) {
+        // Pushed updates are not responses and must not reset the response flags
+        if (msg instanceof BistroMessage && ((BistroMessage) msg).getType() == ActionType.ORDER_UPDATE) {
+            Object data = ((BistroMessage) msg).getData();
+            if (data instanceof Order) handleOrderUpdate((Order) data);
+            return;
+        }
+        try {
+            if (msg instanceof BistroMessage && ((BistroMessage) msg).getType() == ActionType.BATCH
+                    && ((BistroMessage) msg).getData() instanceof List) {
+                // The results of a batch are read from its future; only the cached lists are kept
+                for (Object response : (List<?>) ((BistroMessage) msg).getData()) {
+                    if (response instanceof BistroMessage) cacheResponseData((BistroMessage) response);
+                }
+            } else if (isAsyncResponse(msg)) {
+                cacheResponseData((BistroMessage) msg);
+            } else {
+                processServerMessage(msg);
+            }
+        } finally {
+            if (msg instanceof BistroMessage) {
+                completeRequest((BistroMessage) msg);
+            }
+        }
+    }
+
+    /**
+     * Checks if a message answers a request whose result is read from its future, so
+     * it must not reset the result fields a blocking call may be waiting for.
+     *
+     * @param msg The message received from the server.
+     * @return true for a correlated response to a non-blocking request.
+     */
+    private boolean isAsyncResponse(Object msg) {
+        if (!(msg instanceof BistroMessage)) return false;
+        int requestId = ((BistroMessage) msg).getRequestId();
+        return requestId != 0 && !blockingRequests.contains(requestId);
+    }
+
+    /**
+     * Passes a response to the request waiting for it.
+     *
+     * @param response The response; its request ID names the request.
+     */
+    private void completeRequest(BistroMessage response) {
+        int requestId = response.getRequestId();
+        if (response.getData() instanceof Page) {
+            Page<?> page = (Page<?>) response.getData();
+            Consumer<Page<?>> listener = pageListeners.get(requestId);
+            if (listener != null) listener.accept(page);
+            if (!page.isLast()) return;
+        }
+        CompletableFuture<BistroMessage> pending = pendingRequests.remove(requestId);
+        if (pending != null) pending.complete(response);
+    }
+
+    /**
+     * Fails every correlated request still waiting when the connection breaks.
+     *
+     * @param exception The exception raised by the reader thread.
+     */
+    @Override
+    protected void connectionException(Exception exception) {
+        for (Integer id : pendingRequests.keySet()) {
+            CompletableFuture<BistroMessage> pending = pendingRequests.remove(id);
+            if (pending != null) pending.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Parses a message from the server and updates the relevant data or triggers UI alerts.
+     *
+     * @param msg The message received from the server.
+     */
+    private void processServerMessage(Object msg) {
         System.out.println("--> handleMessageFromServer");
 
         // Reset temporary flags
@@ -117,6 +259,10 @@ public class ChatClient extends AbstractClient {
             // Case A: Received a List of objects
             if (data instanceof ArrayList) {
                 handleListResponse(type, (ArrayList<?>) data);
+                isAlternativeTime = type == ActionType.ORDER_ALTERNATIVES;
+            }
+            else if (data instanceof Page) {
+                handlePageResponse(type, (Page<?>) data);
             }
 
             // Case B: Single Objects (Order, User, Report)
@@ -164,10 +310,43 @@ public class ChatClient extends AbstractClient {
             availableTimeSlots = new ArrayList<>();
             java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("HH:mm");
             for (java.sql.Timestamp ts : rawTimes) availableTimeSlots.add(sdf.format(ts));
-            isAlternativeTime = true;
         }
     }
+
+    /**
+     * Keeps the data of a response whose result is read from its future. Only the
+     * lists, users and reports that have a static field of their own are stored; the
+     * shared result fields (order, operationSuccess, returnMessage, isAlternativeTime)
+     * belong to the blocking request that is waiting for them and are left alone.
+     * @param response The response received.
+     */
+    private void cacheResponseData(BistroMessage response) {
+        ActionType type = response.getType();
+        Object data = response.getData();
+        if (data instanceof ArrayList) handleListResponse(type, (ArrayList<?>) data);
+        else if (data instanceof Page) handlePageResponse(type, (Page<?>) data);
+        else if (data instanceof User) handleUserResponse(type, (User) data);
+        else if (data instanceof Report) handleReportResponse(type, (Report) data);
+    }
     
+    /**
+     * Collects the pages of a paged list into the same static list a full
+     * response fills: the first page replaces it, later pages are appended.
+     * @param type The action type.
+     * @param page The page received.
+     */
+    @SuppressWarnings("unchecked")
+    private void handlePageResponse(ActionType type, Page<?> page) {
+        if (type == ActionType.GET_ALL_ORDERS || type == ActionType.GET_USER_HISTORY) {
+            if (page.isFirst()) listOfOrders = new ArrayList<>();
+            listOfOrders.addAll((ArrayList<Order>) page.getItems());
+        }
+        else if (type == ActionType.GET_ALL_MEMBERS) {
+            if (page.isFirst()) allMembers = new ArrayList<>();
+            allMembers.addAll((ArrayList<User>) page.getItems());
+        }
+    }
+
     private void handleUserResponse(ActionType type, User userData) {
         if (type == ActionType.LOGIN) user = userData;
         else if (type == ActionType.REGISTER_CLEINT) registeredUser = userData;
@@ -179,6 +358,69 @@ public class ChatClient extends AbstractClient {
         else if (type == ActionType.GET_SUBSCRIPTION_REPORT) subscriptionReport = reportData;
     }
 
+    /**
+     * Applies an order pushed by the server to the cached dashboard lists and
+     * refreshes the dashboards that are open. Runs on the JavaFX thread so the
+     * lists are never changed while a screen is reading them.
+     *
+     * @param update The order as it is now stored on the server.
+     */
+    private void handleOrderUpdate(Order update) {
+        Platform.runLater(() -> {
+            String status = update.getStatus();
+            boolean pendingToday = "PENDING".equals(status) && update.getOrderDate() != null
+                    && update.getOrderDate().toLocalDateTime().toLocalDate().equals(LocalDate.now());
+
+            // Same filters as GET_WAITING_LIST, GET_ACTIVE_DINERS and GET_ALL_ACTIVE_ORDERS
+            applyOrderUpdate(waitingList, update, "WAITING".equals(status) || pendingToday);
+            applyOrderUpdate(activeDiners, update, "SEATED".equals(status) || "BILLED".equals(status));
+            applyOrderUpdate(activeOrders, update, pendingToday || "SEATED".equals(status) || "BILLED".equals(status)
+                    || "WAITING".equals(status) || "NOTIFIED".equals(status));
+
+            if (waitingListController != null) waitingListController.loadData();
+            if (activeDinersController != null) activeDinersController.loadData();
+            if (activeOrdersController != null) activeOrdersController.loadData();
+        });
+    }
+
+    /**
+     * Replaces, inserts or removes one order in a list sorted by order date.
+     *
+     * @param list The cached list.
+     * @param update The new state of the order.
+     * @param belongs Whether the order should be in the list in its new state.
+     */
+    private static void applyOrderUpdate(ArrayList<Order> list, Order update, boolean belongs) {
+        list.removeIf(o -> o.getOrderNumber() == update.getOrderNumber());
+        if (!belongs) return;
+
+        int index = 0;
+        while (index < list.size() && update.getOrderDate() != null && list.get(index).getOrderDate() != null
+                && !list.get(index).getOrderDate().after(update.getOrderDate())) {
+            index++;
+        }
+        list.add(index, update);
+    }
+
+    /**
+     * Registers an open dashboard that wants live ORDER_UPDATE events. The server
+     * subscription is made when the first dashboard opens.
+     */
+    public void watchOrderUpdates() {
+        if (orderWatchers.getAndIncrement() == 0) {
+            send(ActionType.SUBSCRIBE_ORDER_UPDATES, null);
+        }
+    }
+
+    /**
+     * Unregisters a dashboard. The server subscription ends when the last one closes.
+     */
+    public void unwatchOrderUpdates() {
+        if (orderWatchers.decrementAndGet() == 0) {
+            send(ActionType.UNSUBSCRIBE_ORDER_UPDATES, null);
+        }
+    }
+
     // --- NEW HELPER METHOD ---
 
     /**
@@ -240,19 +482,231 @@ public class ChatClient extends AbstractClient {
         alert.show();
     }
 
+    /**
+     * Sends a request and returns immediately. The returned future completes with the
+     * server's response as soon as it arrives, after the cached lists have been
+     * updated; order, operationSuccess and returnMessage are not set, so the result is
+     * read from the response. Callbacks run on the connection's reader thread, so UI
+     * work must go through {@code Platform.runLater}.
+     *
+     * @param type    The action to perform.
+     * @param payload The data of the request.
+     * @return A future completed with the response, or exceptionally if the request
+     *         could not be sent or the connection was lost.
+     */
+    public CompletableFuture<BistroMessage> send(ActionType type, Object payload) {
+        return send(new BistroMessage(type, payload));
+    }
+
+    /**
+     * Sends a paged request and returns immediately. For a streamed request the server
+     * sends every page in turn; {@code onPage} is called for each of them (after the
+     * static list was updated) on the connection's reader thread, so screens can show
+     * rows as they arrive. The returned future completes with the last page.
+     *
+     * @param type    GET_ALL_ORDERS, GET_USER_HISTORY or GET_ALL_MEMBERS.
+     * @param request The page size, cursor and streaming flag.
+     * @param onPage  Called for every page received.
+     * @return A future completed with the message carrying the last page.
+     */
+    public CompletableFuture<BistroMessage> stream(ActionType type, PageRequest request, Consumer<Page<?>> onPage) {
+        BistroMessage message = new BistroMessage(type, request);
+        CompletableFuture<BistroMessage> response = track(message);
+        int requestId = message.getRequestId();
+        pageListeners.put(requestId, onPage);
+        response.whenComplete((r, e) -> pageListeners.remove(requestId));
+        try {
+            sendToServer(message);
+        } catch (IOException e) {
+            pendingRequests.remove(requestId);
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    /**
+     * Sends a prepared request and returns immediately.
+     *
+     * @param message The request to send; its request ID is assigned here.
+     * @return A future completed with the response.
+     * @see #send(ActionType, Object)
+     */
+    public CompletableFuture<BistroMessage> send(BistroMessage message) {
+        CompletableFuture<BistroMessage> response = track(message);
+        try {
+            sendToServer(message);
+        } catch (IOException e) {
+            pendingRequests.remove(message.getRequestId());
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    /**
+     * Assigns a new request ID to a message and registers the future its response completes.
+     * A request that must not run twice also gets an idempotency key, kept if it is sent again.
+     *
+     * @param message The request about to be sent.
+     * @return The future of its response.
+     */
+    private CompletableFuture<BistroMessage> track(BistroMessage message) {
+        assignIdempotencyKey(message);
+        int requestId = nextRequestId.incrementAndGet();
+        CompletableFuture<BistroMessage> response = new CompletableFuture<>();
+        pendingRequests.put(requestId, response);
+        message.setRequestId(requestId);
+        return response;
+    }
+
+    /**
+     * Gives a request that must not run twice an idempotency key, unless it already has one.
+     *
+     * @param message The request about to be sent.
+     */
+    private static void assignIdempotencyKey(BistroMessage message) {
+        if (message.getIdempotencyKey() == null && needsIdempotencyKey(message.getType())) {
+            message.setIdempotencyKey(UUID.randomUUID().toString());
+        }
+    }
+
+    /**
+     * Checks if a request creates something or takes a payment, so running it twice
+     * would book twice or charge twice.
+     *
+     * @param type The request's action.
+     * @return true if the request must carry an idempotency key.
+     */
+    private static boolean needsIdempotencyKey(ActionType type) {
+        return type == ActionType.CREATE_ORDER || type == ActionType.ENTER_WAITLIST || type == ActionType.PAY_BILL;
+    }
+
+    /**
+     * Sends a request and blocks until its response has been processed.
+     * Compatibility layer for the screens that read the static fields right after
+     * the call; new code should use {@link #send(ActionType, Object)}.
+     * A request with an idempotency key is sent once more if it times out; the server
+     * answers the retry with the response of the first attempt if it already ran.
+     *
+     * @param message The request to send.
+     */
     public void handleMessageFromClientUI(Object message) {
+        CompletableFuture<BistroMessage> response =
+                message instanceof BistroMessage ? trackBlocking((BistroMessage) message) : null;
+        awaitResponse = true;
         try {
-            awaitResponse = true;
             sendToServer(message);
-            while (awaitResponse) {
-                try { Thread.sleep(100); } catch (InterruptedException e) { e.printStackTrace(); }
+            if (response != null) {
+                try {
+                    response.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    if (((BistroMessage) message).getIdempotencyKey() == null) throw e;
+                    clientUI.display("No response from server for " + ((BistroMessage) message).getType() + " - retrying.");
+                    forget(((BistroMessage) message).getRequestId());
+                    response = trackBlocking((BistroMessage) message);
+                    sendToServer(message);
+                    response.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
             }
         } catch (IOException e) {
             clientUI.display("Could not send message to server. Terminating client." + e);
             quit();
+        } catch (TimeoutException e) {
+            System.out.println("No response from server for " + ((BistroMessage) message).getType());
+        } catch (ExecutionException e) {
+            System.out.println("Request failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (response != null) forget(((BistroMessage) message).getRequestId());
+            awaitResponse = false;
         }
     }
 
+    /**
+     * Registers a request of a blocking call, whose response sets the shared result fields.
+     *
+     * @param message The request about to be sent.
+     * @return The future of its response.
+     */
+    private CompletableFuture<BistroMessage> trackBlocking(BistroMessage message) {
+        CompletableFuture<BistroMessage> response = track(message);
+        blockingRequests.add(message.getRequestId());
+        return response;
+    }
+
+    /**
+     * Stops waiting for a request; a late response only refreshes the cached lists.
+     *
+     * @param requestId The request's ID.
+     */
+    private void forget(int requestId) {
+        pendingRequests.remove(requestId);
+        blockingRequests.remove(requestId);
+    }
+
+    /**
+     * Sends several requests back to back without waiting between them, then waits
+     * until all responses arrived. The total wait is that of the slowest request
+     * instead of the sum of all round trips. Unlike
+     * {@link #handleMessageFromClientUI(Object)}, the responses do not set order,
+     * operationSuccess or returnMessage, since several of them arrive at once: the
+     * results are read from the returned list, only the cached lists are updated.
+     *
+     * @param messages The requests to send.
+     * @return The responses in request order; an entry is null if its request failed or timed out.
+     */
+    public List<BistroMessage> sendPipelined(BistroMessage... messages) {
+        List<CompletableFuture<BistroMessage>> futures = new ArrayList<>();
+        for (BistroMessage message : messages) {
+            futures.add(send(message));
+        }
+
+        List<BistroMessage> responses = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(REQUEST_TIMEOUT_SECONDS);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                responses.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (Exception e) {
+                pendingRequests.remove(messages[i].getRequestId());
+                System.out.println("Pipelined request " + messages[i].getType() + " failed: " + e);
+                responses.add(null);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Sends several requests as one BATCH message: the server executes them in order and
+     * answers with all their responses at once, so the whole batch costs one round trip.
+     * The results are read from the returned future: the lists a response carries are
+     * still cached in their static fields, but order, operationSuccess and returnMessage
+     * are not set by a batch.
+     *
+     * Requests that must not run twice get an idempotency key here, so sending the same
+     * messages again after a timeout does not book or charge twice.
+     *
+     * @param transactional true to run the requests in one database transaction that is
+     *                      rolled back if one of them fails.
+     * @param messages      The requests to execute.
+     * @return A future completed with the responses in request order (an entry is null
+     *         if its request has no response), or exceptionally if the batch failed.
+     */
+    public CompletableFuture<List<BistroMessage>> sendBatch(boolean transactional, BistroMessage... messages) {
+        for (BistroMessage message : messages) {
+            assignIdempotencyKey(message);
+        }
+        return send(ActionType.BATCH, new BatchRequest(transactional, messages)).thenApply(response -> {
+            if (!(response.getData() instanceof List)) {
+                throw new IllegalStateException("Batch failed: " + response.getData());
+            }
+            List<BistroMessage> responses = new ArrayList<>();
+            for (Object item : (List<?>) response.getData()) {
+                responses.add((BistroMessage) item);
+            }
+            return responses;
+        });
+    }
+
     public void quit() {
         try { closeConnection(); } catch (IOException e) {}
         System.exit(0);
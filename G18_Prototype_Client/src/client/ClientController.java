@@ -1,7 +1,19 @@
 
 package client;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import common.ActionType;
+import common.BistroMessage;
 import common.ChatIF;
+import common.Page;
+import common.PageRequest;
 
 
 /**
@@ -56,6 +68,78 @@ public class ClientController implements ChatIF
   {
 	  client.handleMessageFromClientUI(str);
   }
+
+  /**
+   * Sends a request without blocking the caller.
+   *
+   * @param type The action to perform.
+   * @param payload The data of the request.
+   * @return A future completed with the server's response.
+   */
+  public CompletableFuture<BistroMessage> send(ActionType type, Object payload)
+  {
+	  return client.send(type, payload);
+  }
+
+  /**
+   * Sends a paged request; for a streamed request every page is passed to
+   * {@code onPage} as it arrives.
+   *
+   * @param type The list to read.
+   * @param request The page size, cursor and streaming flag.
+   * @param onPage Called for every page received.
+   * @return A future completed with the last page.
+   */
+  public CompletableFuture<BistroMessage> stream(ActionType type, PageRequest request, Consumer<Page<?>> onPage)
+  {
+	  return client.stream(type, request, onPage);
+  }
+
+  /**
+   * Sends several requests at once and waits until all of them are answered.
+   *
+   * @param messages The requests to send.
+   * @return The responses in request order (null for a failed request).
+   */
+  public List<BistroMessage> acceptAll(BistroMessage... messages)
+  {
+	  return client.sendPipelined(messages);
+  }
+
+  /**
+   * Sends several requests as one BATCH message and waits for the batch response.
+   *
+   * @param transactional true to run the requests in one database transaction.
+   * @param messages The requests to execute, in order.
+   * @return The responses in request order, or an empty list if the batch failed.
+   */
+  public List<BistroMessage> acceptBatch(boolean transactional, BistroMessage... messages)
+  {
+	  try {
+		  return client.sendBatch(transactional, messages).get(ChatClient.REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	  } catch (InterruptedException e) {
+		  Thread.currentThread().interrupt();
+	  } catch (ExecutionException | TimeoutException e) {
+		  System.out.println("Batch request failed: " + e);
+	  }
+	  return new ArrayList<>();
+  }
+  
+  /**
+   * Starts live ORDER_UPDATE events for a dashboard that has just opened.
+   */
+  public void watchOrderUpdates()
+  {
+	  client.watchOrderUpdates();
+  }
+
+  /**
+   * Stops live ORDER_UPDATE events for a dashboard that is closing.
+   */
+  public void unwatchOrderUpdates()
+  {
+	  client.unwatchOrderUpdates();
+  }
   
   /**
    * This method overrides the method in the ChatIF interface.  It
@@ -1,143 +1,153 @@
-package gui.utils;
-
-import java.net.URL;
-import java.sql.Timestamp;
-import java.util.ResourceBundle;
-
-import client.ChatClient;
-import client.ClientUI;
-import common.ActionType;
-import common.BistroMessage;
-import common.Order;
-import gui.staff.WorkerMenuController;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.event.ActionEvent;
-import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
-import javafx.scene.Node;
-import javafx.scene.control.Alert;
-import javafx.scene.control.Alert.AlertType;
-import javafx.scene.control.Button;
-import javafx.scene.control.TableColumn;
-import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
-
-/**
- * Controller class for displaying the list of orders.
- * This screen allows staff to view all orders and refresh the list 
- * to see real-time updates from the database.
- */
-public class OrderListController implements Initializable {
-
-    // --- FXML Connections ---
-    @FXML
-    private TableView<Order> tblOrders;
-    @FXML
-    private TableColumn<Order, Integer> colOrderNum;
-    @FXML
-    private TableColumn<Order, Timestamp> colDate;
-    @FXML
-    private TableColumn<Order, Integer> colGuests;
-    @FXML
-    private TableColumn<Order, Integer> colConfirmationCode;
-    @FXML
-    private TableColumn<Order, Integer> colMember;
-    @FXML
-    private TableColumn<Order, Timestamp> colDateOfPlacingOrder;
-    @FXML
-    private TableColumn<Order, String> colName;
-    @FXML
-    private TableColumn<Order, String> colPhone;
-    @FXML
-    private TableColumn<Order, String> colEmail;
-    
-    @FXML
-    private Button btnRefresh; // Make sure to add this button in SceneBuilder
-
-    /**
-     * Initializes the controller class.
-     * Sets up the table columns and loads the initial data.
-     */
-    @Override
-    public void initialize(URL location, ResourceBundle resources) {
-        
-        // 1. Set up the columns
-        colOrderNum.setCellValueFactory(new PropertyValueFactory<>("orderNumber"));
-        colName.setCellValueFactory(new PropertyValueFactory<>("CustomerName"));
-        colDate.setCellValueFactory(new PropertyValueFactory<>("orderDate"));
-        colGuests.setCellValueFactory(new PropertyValueFactory<>("numberOfGuests"));
-        colConfirmationCode.setCellValueFactory(new PropertyValueFactory<>("confirmationCode"));        
-        colMember.setCellValueFactory(new PropertyValueFactory<>("memberId"));
-        colDateOfPlacingOrder.setCellValueFactory(new PropertyValueFactory<>("dateOfPlacingOrder"));
-        colPhone.setCellValueFactory(new PropertyValueFactory<>("phone"));
-        colEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
-    
-        // 2. Load data into the table
-        loadTableData();
-    }
-    
-    /**
-     * Helper method to populate the table with data from ChatClient.
-     * This is separated so it can be reused by the Refresh button.
-     */
-    private void loadTableData() {
-        tblOrders.getItems().clear(); // Clear existing items to avoid duplicates
-        
-        if (ChatClient.listOfOrders != null && !ChatClient.listOfOrders.isEmpty()) {
-            ObservableList<Order> data = FXCollections.observableArrayList(ChatClient.listOfOrders);
-            tblOrders.setItems(data);
-            tblOrders.refresh(); // Force UI refresh
-        } else {
-            System.out.println("Info: Order list is empty or null.");
-        }
-    }
-
-    /**
-     * Handles the "Refresh" button click.
-     * Sends a request to the server to fetch the most up-to-date list of orders
-     * and then reloads the table.
-     * @param event The ActionEvent triggered by the button.
-     */
-    @FXML
-    public void clickRefresh(ActionEvent event) {
-        try {
-            // 1. Send request to server to get fresh data
-            BistroMessage msg = new BistroMessage(ActionType.GET_ALL_ORDERS, null); 
-            ClientUI.chat.accept(msg); 
-            
-            // 2. Reload the table with the new data from ChatClient
-            loadTableData();
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alert alert = new Alert(AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setContentText("Failed to refresh data from server.");
-            alert.show();
-        }
-    }
-    
-    /**
-     * Handles the "Back" button to return to the main menu.
-     */
-    public void getBackBtn(ActionEvent event) {
-        try {
-            // Hide the current window
-            ((Node)event.getSource()).getScene().getWindow().hide();
-            
-            // Open the User Menu
-            Stage primaryStage = new Stage();
-            WorkerMenuController menu = new WorkerMenuController();
-            menu.start(primaryStage); 
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alert alert = new Alert(AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setContentText("Could not load the menu screen.");
-            alert.show();
-        }
-    }
+package gui.utils;
+
+import java.net.URL;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import client.ClientUI;
+import common.ActionType;
+import common.Order;
+import common.PageRequest;
+import gui.staff.WorkerMenuController;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+
+/**
+ * Controller class for displaying the list of orders.
+ * This screen allows staff to view all orders and refresh the list 
+ * to see real-time updates from the database.
+ * The orders are streamed page by page and shown as each page arrives,
+ * so the table fills up without waiting for the whole history.
+ */
+public class OrderListController implements Initializable {
+
+    // --- FXML Connections ---
+    @FXML
+    private TableView<Order> tblOrders;
+    @FXML
+    private TableColumn<Order, Integer> colOrderNum;
+    @FXML
+    private TableColumn<Order, Timestamp> colDate;
+    @FXML
+    private TableColumn<Order, Integer> colGuests;
+    @FXML
+    private TableColumn<Order, Integer> colConfirmationCode;
+    @FXML
+    private TableColumn<Order, Integer> colMember;
+    @FXML
+    private TableColumn<Order, Timestamp> colDateOfPlacingOrder;
+    @FXML
+    private TableColumn<Order, String> colName;
+    @FXML
+    private TableColumn<Order, String> colPhone;
+    @FXML
+    private TableColumn<Order, String> colEmail;
+    
+    @FXML
+    private Button btnRefresh; // Make sure to add this button in SceneBuilder
+
+    /** The rows shown in the table; pages are appended as they arrive. */
+    private final ObservableList<Order> rows = FXCollections.observableArrayList();
+
+    /**
+     * Initializes the controller class.
+     * Sets up the table columns and starts streaming the orders.
+     */
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        
+        // 1. Set up the columns
+        colOrderNum.setCellValueFactory(new PropertyValueFactory<>("orderNumber"));
+        colName.setCellValueFactory(new PropertyValueFactory<>("CustomerName"));
+        colDate.setCellValueFactory(new PropertyValueFactory<>("orderDate"));
+        colGuests.setCellValueFactory(new PropertyValueFactory<>("numberOfGuests"));
+        colConfirmationCode.setCellValueFactory(new PropertyValueFactory<>("confirmationCode"));        
+        colMember.setCellValueFactory(new PropertyValueFactory<>("memberId"));
+        colDateOfPlacingOrder.setCellValueFactory(new PropertyValueFactory<>("dateOfPlacingOrder"));
+        colPhone.setCellValueFactory(new PropertyValueFactory<>("phone"));
+        colEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
+    
+        // 2. Load data into the table
+        tblOrders.setItems(rows);
+        loadTableData();
+    }
+    
+    /**
+     * Helper method to populate the table with data from the server.
+     * Requests all orders as a stream of pages and appends every page to the
+     * table on the JavaFX thread. This is separated so it can be reused by the
+     * Refresh button.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadTableData() {
+        rows.clear(); // Clear existing items to avoid duplicates
+
+        PageRequest request = new PageRequest(PageRequest.DEFAULT_PAGE_SIZE).setStreamed(true);
+        ClientUI.chat.stream(ActionType.GET_ALL_ORDERS, request,
+                page -> Platform.runLater(() -> rows.addAll((List<Order>) page.getItems())))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        Platform.runLater(() -> {
+                            Alert alert = new Alert(AlertType.ERROR);
+                            alert.setTitle("Error");
+                            alert.setContentText("Failed to refresh data from server.");
+                            alert.show();
+                        });
+                    }
+                });
+    }
+
+    /**
+     * Handles the "Refresh" button click.
+     * Streams the most up-to-date list of orders from the server into the table.
+     * @param event The ActionEvent triggered by the button.
+     */
+    @FXML
+    public void clickRefresh(ActionEvent event) {
+        try {
+            loadTableData();
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            Alert alert = new Alert(AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setContentText("Failed to refresh data from server.");
+            alert.show();
+        }
+    }
+    
+    /**
+     * Handles the "Back" button to return to the main menu.
+     */
+    public void getBackBtn(ActionEvent event) {
+        try {
+            // Hide the current window
+            ((Node)event.getSource()).getScene().getWindow().hide();
+            
+            // Open the User Menu
+            Stage primaryStage = new Stage();
+            WorkerMenuController menu = new WorkerMenuController();
+            menu.start(primaryStage); 
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            Alert alert = new Alert(AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setContentText("Could not load the menu screen.");
+            alert.show();
+        }
+    }
 }
\ No newline at end of file
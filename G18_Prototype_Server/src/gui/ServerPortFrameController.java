@@ -1,204 +1,392 @@
-package gui;
-
-import common.ChatIF;
-import javafx.application.Platform;
-import javafx.event.ActionEvent;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-import javafx.scene.control.Button;
-import javafx.scene.control.TextArea;
-import javafx.scene.control.TextField;
-import javafx.scene.control.ListView;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import java.net.InetAddress;
-import server.ServerUI;
-
-/**
- * Controller class for the Server Port Configuration screen.
- *
- * Software Structure:
- * This class works as the Controller in the architecture. It connects the graphical view (FXML)
- * to the logical part of the server (ServerUI). It handles user events like button clicks.
- *
- * UI Components:
- * The class manages the following interface elements:
- * - Buttons: Done (start), Exit, and Reset.
- * - Inputs: Text field for the database password.
- * - Displays: Text area for logs and a List view for connected clients.
- *
- * @author Dana Zablev
- * @version 1.0
- */
-public class ServerPortFrameController implements ChatIF {
-
-    /** Button to close and exit the application. */
-    @FXML private Button btnExit;
-
-    /** Button to confirm the password and start the server. */
-    @FXML private Button btnDone;
-
-    /** Input field for the user to enter the database password. */
-    @FXML private TextField passtxt;
-
-    /** Text area that shows system logs and status messages. */
-    @FXML private TextArea logArea;
-
-    /** Button to reset the form fields if the connection fails. */
-    @FXML private Button btnReset;
-
-    /** List view that displays the information of connected clients. */
-    @FXML private ListView<String> listClients;
-
-    /** A list that holds the client data strings for the GUI. */
-    private ObservableList<String> clientListItems = FXCollections.observableArrayList();
-    
-    /**
-     * Initializes the controller class.
-     * This method runs automatically after the FXML file is loaded.
-     * It sets up the screen, hides the reset button, and shows the local IP address.
-     */
-    @FXML
-    public void initialize() {
-        if (btnReset != null) {
-            btnReset.setVisible(false);
-        }
-        try {
-            InetAddress ip = InetAddress.getLocalHost();
-            String myIp = ip.getHostAddress();
-            logArea.appendText("Server Console Initialized.\n");
-            logArea.appendText("Your IP Address: " + myIp + "\n");
-         
-        } catch (Exception e) {
-            logArea.appendText("Error: Could not get IP address.\n");
-        }
-        listClients.setItems(clientListItems);
-    }
-
-    /**
-     * Handles the click event on the Done button.
-     * It checks if the password field is not empty and tries to start the server.
-     *
-     * @param event The event triggered by clicking the button.
-     */
-    public void Done(ActionEvent event) {
-        String dbPass = passtxt.getText();
-
-        if (dbPass == null || dbPass.trim().isEmpty()) {
-            display("You must enter the DB password");
-            return;
-        }
-
-        // Disable controls to prevent double-starting
-        btnDone.setDisable(true);
-        passtxt.setDisable(true);
-        if(btnReset != null) btnReset.setVisible(false);
-
-        display("Connecting to DB...");
-        display("Starting server on port 5555...");
-
-        boolean success = ServerUI.runServer("5555", dbPass, this);
-       
-        if (!success) {
-            if(btnReset != null)
-                btnDone.setVisible(false);
-                if(btnReset != null) btnReset.setVisible(true);
-            display("Server failed to start. Click Reset to try again.");
-        }
-    }
-        
-    /**
-     * Resets the screen controls so the user can try to connect again.
-     * It clears the password field and enables the Done button.
-     *
-     * @param event The event triggered by clicking the reset button.
-     */
-    public void resetControls(ActionEvent event) {
-            System.out.println("Reset Button Pressed");
-            btnDone.setVisible(true);
-            btnDone.setDisable(false);
-            passtxt.setDisable(false);
-            passtxt.clear();
-            
-            if(btnReset != null) btnReset.setVisible(false);
-            
-            display("Please try again ");
-    }
-
-    /**
-     * Displays a message in the log area.
-     * This method is an implementation of the ChatIF interface.
-     *
-     * @param message The string message to display.
-     */
-    @Override
-    public void display(String message) {
-        appendToLog(message);
-    }
-
-    /**
-     * A helper method to add text to the log area safely.
-     * It uses Platform.runLater to update the UI from any thread.
-     *
-     * @param msg The message to add to the log.
-     */
-    public void appendToLog(String msg) {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                if (logArea != null) {
-                    logArea.appendText(msg + "\n");
-                } else {
-                    System.out.println(msg);
-                }
-            }
-        });
-    }
-
-    /**
-     * Loads the FXML file and starts the main application window.
-     *
-     * @param primaryStage The main stage for the application.
-     * @throws Exception If the FXML file cannot be found or loaded.
-     */
-    public void start(Stage primaryStage) throws Exception {
-        Parent root = FXMLLoader.load(getClass().getResource("/gui/ServerPort.fxml"));
-        Scene scene = new Scene(root);
-
-        primaryStage.setTitle("Bistro Server Console");
-        primaryStage.setScene(scene);
-        primaryStage.show();
-    }
-
-    /**
-     * Handles the click event on the Exit button.
-     * Closes the program.
-     *
-     * @param event The event triggered by clicking the button.
-     */
-    public void getExitBtn(ActionEvent event) {
-        display("Exit Server");
-        System.exit(0);
-    }
-
-    /**
-     * Updates the list of connected clients in the user interface.
-     * It removes the old entry for a client and adds the new status.
-     *
-     * @param ip     The IP address of the client.
-     * @param host   The host name of the client.
-     * @param status The current connection status (Connected/Disconnected).
-     */
-    public void updateClientList(String ip, String host, String status) {
-        Platform.runLater(() -> {
-            clientListItems.removeIf(item -> item.contains(ip));
-
-            String clientInfo = String.format("IP: %s (%s) - Status: %s", ip, host, status);
-
-            clientListItems.add(clientInfo);
-        });
-    }
+package gui;
+
+import common.ActionType;
+import common.ChatIF;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ListView;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import server.BistroServer;
+import server.ServerLog;
+import server.ServerUI;
+
+/**
+ * Controller class for the Server Port Configuration screen.
+ *
+ * Software Structure:
+ * This class works as the Controller in the architecture. It connects the graphical view (FXML)
+ * to the logical part of the server (ServerUI). It handles user events like button clicks.
+ *
+ * UI Components:
+ * The class manages the following interface elements:
+ * - Buttons: Done (start), Exit, Reset, and Metrics (request statistics).
+ * - Inputs: Text field for the database password, and filters for the log by level and ActionType.
+ * - Displays: A log view and a List view for connected clients.
+ *
+ * The log view keeps only the last {@value #MAX_LINES} lines. Messages from other threads
+ * are queued and shown together {@value #REFRESH_MILLIS} ms at a time, so a busy server
+ * never floods the JavaFX thread and the console uses the same memory after a full day.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class ServerPortFrameController implements ChatIF {
+
+    /** Button to close and exit the application. */
+    @FXML private Button btnExit;
+
+    /** Button to confirm the password and start the server. */
+    @FXML private Button btnDone;
+
+    /** Input field for the user to enter the database password. */
+    @FXML private TextField passtxt;
+
+    /** Most log lines kept by the console; older lines are discarded. */
+    private static final int MAX_LINES = 2000;
+
+    /** How often queued log lines are shown, in milliseconds. */
+    private static final int REFRESH_MILLIS = 100;
+
+    /** Label of the filter choice that shows every ActionType. */
+    private static final String ALL_ACTIONS = "All actions";
+
+    /** List view that shows system logs and status messages. */
+    @FXML private ListView<String> logList;
+
+    /** Filter for the lowest level shown in the log. */
+    @FXML private ComboBox<ServerLog.Level> levelFilter;
+
+    /** Filter for the ActionType a log line mentions. */
+    @FXML private ComboBox<String> actionFilter;
+
+    /** Button to reset the form fields if the connection fails. */
+    @FXML private Button btnReset;
+
+    /** Button to show the request statistics of the running server. */
+    @FXML private Button btnMetrics;
+
+    /** List view that displays the information of connected clients. */
+    @FXML private ListView<String> listClients;
+
+    /** A list that holds the client data strings for the GUI. */
+    private ObservableList<String> clientListItems = FXCollections.observableArrayList();
+
+    /** The log lines shown, after filtering. */
+    private final ObservableList<String> logItems = FXCollections.observableArrayList();
+
+    /** The last MAX_LINES log lines, oldest first. Only used on the JavaFX thread. */
+    private final ArrayDeque<String> logHistory = new ArrayDeque<>();
+
+    /** Log lines waiting to be shown, added from any thread. */
+    private final ConcurrentLinkedQueue<String> pendingLines = new ConcurrentLinkedQueue<>();
+
+    /** Number of lines in pendingLines. */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /** Shows the pending log lines at a fixed rate. */
+    private Timeline logRefresher;
+    
+    /**
+     * Initializes the controller class.
+     * This method runs automatically after the FXML file is loaded.
+     * It sets up the screen, hides the reset button, starts the log view and shows the local IP address.
+     */
+    @FXML
+    public void initialize() {
+        if (btnReset != null) {
+            btnReset.setVisible(false);
+        }
+        logList.setItems(logItems);
+        levelFilter.getItems().addAll(ServerLog.Level.INFO, ServerLog.Level.WARN, ServerLog.Level.ERROR);
+        levelFilter.setValue(ServerLog.Level.INFO);
+        actionFilter.getItems().add(ALL_ACTIONS);
+        for (ActionType type : ActionType.values()) {
+            actionFilter.getItems().add(type.name());
+        }
+        actionFilter.setValue(ALL_ACTIONS);
+        logRefresher = new Timeline(new KeyFrame(Duration.millis(REFRESH_MILLIS), e -> refreshLog()));
+        logRefresher.setCycleCount(Animation.INDEFINITE);
+        logRefresher.play();
+        try {
+            InetAddress ip = InetAddress.getLocalHost();
+            String myIp = ip.getHostAddress();
+            display("Server Console Initialized.");
+            display("Your IP Address: " + myIp);
+         
+        } catch (Exception e) {
+            display("Error: Could not get IP address.");
+        }
+        listClients.setItems(clientListItems);
+    }
+
+    /**
+     * Handles the click event on the Done button.
+     * It checks if the password field is not empty and tries to start the server.
+     *
+     * @param event The event triggered by clicking the button.
+     */
+    public void Done(ActionEvent event) {
+        String dbPass = passtxt.getText();
+
+        if (dbPass == null || dbPass.trim().isEmpty()) {
+            display("You must enter the DB password");
+            return;
+        }
+
+        // Disable controls to prevent double-starting
+        btnDone.setDisable(true);
+        passtxt.setDisable(true);
+        if(btnReset != null) btnReset.setVisible(false);
+
+        display("Connecting to DB...");
+        display("Starting server on port 5555...");
+
+        boolean success = ServerUI.runServer("5555", dbPass, this);
+       
+        if (!success) {
+            if(btnReset != null)
+                btnDone.setVisible(false);
+                if(btnReset != null) btnReset.setVisible(true);
+            display("Server failed to start. Click Reset to try again.");
+        }
+    }
+        
+    /**
+     * Resets the screen controls so the user can try to connect again.
+     * It clears the password field and enables the Done button.
+     *
+     * @param event The event triggered by clicking the reset button.
+     */
+    public void resetControls(ActionEvent event) {
+            System.out.println("Reset Button Pressed");
+            btnDone.setVisible(true);
+            btnDone.setDisable(false);
+            passtxt.setDisable(false);
+            passtxt.clear();
+            
+            if(btnReset != null) btnReset.setVisible(false);
+            
+            display("Please try again ");
+    }
+
+    /**
+     * Handles the click event on the Metrics button.
+     * Shows the request counts and latency percentiles per action in the log area,
+     * and prints them to the console so they can be saved.
+     *
+     * @param event The event triggered by clicking the button.
+     */
+    public void showMetrics(ActionEvent event) {
+        BistroServer server = ServerUI.getServer();
+        if (server == null) {
+            display("Metrics are available once the server is started.");
+            return;
+        }
+        String report = server.metricsReport();
+        System.out.println(report);
+        display(report);
+    }
+
+    /**
+     * Displays a message in the log view.
+     * This method is an implementation of the ChatIF interface.
+     *
+     * @param message The string message to display.
+     */
+    @Override
+    public void display(String message) {
+        appendToLog(message);
+    }
+
+    /**
+     * A helper method to add text to the log view safely from any thread.
+     * Each line of the message is queued and shown at the next refresh. If more than
+     * MAX_LINES lines are waiting, the oldest ones are discarded.
+     *
+     * @param msg The message to add to the log.
+     */
+    public void appendToLog(String msg) {
+        if (msg == null) {
+            return;
+        }
+        for (String line : msg.split("\n")) {
+            pendingLines.offer(line);
+            if (pendingCount.incrementAndGet() > MAX_LINES && pendingLines.poll() != null) {
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Moves the pending lines into the log history and shows the ones that pass the filters.
+     * Runs on the JavaFX thread every REFRESH_MILLIS milliseconds.
+     */
+    private void refreshLog() {
+        if (pendingLines.isEmpty()) {
+            return;
+        }
+        List<String> shown = new ArrayList<>();
+        String line;
+        while ((line = pendingLines.poll()) != null) {
+            pendingCount.decrementAndGet();
+            logHistory.addLast(line);
+            if (logHistory.size() > MAX_LINES) {
+                logHistory.removeFirst();
+            }
+            if (passesFilters(line)) {
+                shown.add(line);
+            }
+        }
+        if (shown.isEmpty()) {
+            return;
+        }
+        logItems.addAll(shown);
+        if (logItems.size() > MAX_LINES) {
+            logItems.remove(0, logItems.size() - MAX_LINES);
+        }
+        logList.scrollTo(logItems.size() - 1);
+    }
+
+    /**
+     * Handles a change of the level or ActionType filter.
+     * Shows the kept lines again, filtered with the new choice.
+     *
+     * @param event The event triggered by changing a filter.
+     */
+    public void applyLogFilter(ActionEvent event) {
+        List<String> shown = new ArrayList<>();
+        for (String line : logHistory) {
+            if (passesFilters(line)) {
+                shown.add(line);
+            }
+        }
+        logItems.setAll(shown);
+        if (!logItems.isEmpty()) {
+            logList.scrollTo(logItems.size() - 1);
+        }
+    }
+
+    /**
+     * Checks a log line against the level and ActionType filters.
+     * Lines that do not start with a level name count as INFO.
+     *
+     * @param line The log line.
+     * @return true if the line should be shown.
+     */
+    private boolean passesFilters(String line) {
+        ServerLog.Level min = levelFilter.getValue();
+        if (min != null && levelOf(line).compareTo(min) < 0) {
+            return false;
+        }
+        String action = actionFilter.getValue();
+        return action == null || ALL_ACTIONS.equals(action) || mentions(line, action);
+    }
+
+    /**
+     * @param line A log line.
+     * @return The level the line starts with, or INFO if it has none.
+     */
+    private static ServerLog.Level levelOf(String line) {
+        for (ServerLog.Level level : ServerLog.Level.values()) {
+            String name = level.name();
+            if (line.startsWith(name) && line.length() > name.length() && line.charAt(name.length()) == ' ') {
+                return level;
+            }
+        }
+        return ServerLog.Level.INFO;
+    }
+
+    /**
+     * Checks if a line mentions an ActionType as a whole word, so that
+     * GET_ORDER does not match GET_ORDER_HISTORY.
+     *
+     * @param line The log line.
+     * @param action The ActionType name.
+     * @return true if the line mentions it.
+     */
+    private static boolean mentions(String line, String action) {
+        int from = 0;
+        int at;
+        while ((at = line.indexOf(action, from)) >= 0) {
+            int end = at + action.length();
+            boolean startOk = at == 0 || !isNamePart(line.charAt(at - 1));
+            boolean endOk = end == line.length() || !isNamePart(line.charAt(end));
+            if (startOk && endOk) {
+                return true;
+            }
+            from = at + 1;
+        }
+        return false;
+    }
+
+    /**
+     * @param c A character.
+     * @return true if it can be part of an ActionType name.
+     */
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Loads the FXML file and starts the main application window.
+     *
+     * @param primaryStage The main stage for the application.
+     * @throws Exception If the FXML file cannot be found or loaded.
+     */
+    public void start(Stage primaryStage) throws Exception {
+        Parent root = FXMLLoader.load(getClass().getResource("/gui/ServerPort.fxml"));
+        Scene scene = new Scene(root);
+
+        primaryStage.setTitle("Bistro Server Console");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+    }
+
+    /**
+     * Handles the click event on the Exit button.
+     * Closes the program.
+     *
+     * @param event The event triggered by clicking the button.
+     */
+    public void getExitBtn(ActionEvent event) {
+        display("Exit Server");
+        System.exit(0);
+    }
+
+    /**
+     * Updates the list of connected clients in the user interface.
+     * It removes the old entry for a client and adds the new status.
+     *
+     * @param ip     The IP address of the client.
+     * @param host   The host name of the client.
+     * @param status The current connection status (Connected/Disconnected).
+     */
+    public void updateClientList(String ip, String host, String status) {
+        Platform.runLater(() -> {
+            clientListItems.removeIf(item -> item.contains(ip));
+
+            String clientInfo = String.format("IP: %s (%s) - Status: %s", ip, host, status);
+
+            clientListItems.add(clientInfo);
+        });
+    }
 }
\ No newline at end of file
@@ -1 +1,925 @@
-// This file contains material supporting section 3.8 of the textbook:// "Object Oriented Software Engineering" and is issued under the open-source// license found at www.lloseng.com package ocsf.server;import java.net.*;import java.util.*;import java.io.*;/*** The <code> AbstractServer </code> class maintains a thread that waits* for connection attempts from clients. When a connection attempt occurs* it creates a new <code> ConnectionToClient </code> instance which* runs as a thread. When a client is thus connected to the* server, the two programs can then exchange <code> Object </code>* instances.<p>** Method <code> handleMessageFromClient </code> must be defined by* a concrete subclass. Several other hook methods may also be* overriden.<p>** Several public service methods are provided to applications that use* this framework, and several hook methods are also available<p>** Project Name: OCSF (Object Client-Server Framework)<p>** @author Dr Robert Lagani&egrave;re* @author Dr Timothy C. Lethbridge* @author Fran&ccedil;ois B&eacute;langer* @author Paul Holden* @version February 2001 (2.12)* @see ocsf.server.ConnectionToClient*/public abstract class AbstractServer implements Runnable{  // INSTANCE VARIABLES *********************************************  /**   * The server socket: listens for clients who want to connect.   */  private ServerSocket serverSocket = null;  /**   * The connection listener thread.   */  private Thread connectionListener;  /**   * The port number   */  private int port;  /**   * The server timeout while for accepting connections.   * After timing out, the server will check to see if a command to   * stop the server has been issued; it not it will resume accepting   * connections.   * Set to half a second by default.   */  private int timeout = 500;  /**   * The maximum queue length; i.e. the maximum number of clients that   * can be waiting to connect.   * Set to 10 by default.   */  private int backlog = 10;  /**   * The thread group associated with client threads. Each member of the   * thread group is a <code> ConnectionToClient </code>.   */  private ThreadGroup clientThreadGroup;  /**   * Indicates if the listening thread is ready to stop.  Set to   * false by default.   */  private boolean readyToStop = false;// CONSTRUCTOR ******************************************************  /**   * Constructs a new server.   *   * @param port the port number on which to listen.   */  public AbstractServer(int port)  {    this.port = port;    this.clientThreadGroup =      new ThreadGroup("ConnectionToClient threads")      {        // All uncaught exceptions in connection threads will        // be sent to the clientException callback method.        public void uncaughtException(          Thread thread, Throwable exception)        {          clientException((ConnectionToClient)thread, exception);        }      };  }// INSTANCE METHODS *************************************************  /**   * Begins the thread that waits for new clients.   * If the server is already in listening mode, this   * call has no effect.   *   * @exception IOException if an I/O error occurs   * when creating the server socket.   */  final public void listen() throws IOException  {    if (!isListening())    {      if (serverSocket == null)      {        serverSocket = new ServerSocket(getPort(), backlog);      }      serverSocket.setSoTimeout(timeout);      readyToStop = false;      connectionListener = new Thread(this);      connectionListener.start();    }  }  /**   * Causes the server to stop accepting new connections.   */  final public void stopListening()  {    readyToStop = true;  }  /**   * Closes the server socket and the connections with all clients.   * Any exception thrown while closing a client is ignored.   * If one wishes to catch these exceptions, then clients   * should be individually closed before calling this method.   * The method also stops listening if this thread is running.   * If the server is already closed, this   * call has no effect.   *   * @exception IOException if an I/O error occurs while   * closing the server socket.   */  final synchronized public void close() throws IOException  {    if (serverSocket == null)      return;      stopListening();    try    {      serverSocket.close();    }    finally    {      // Close the client sockets of the already connected clients      Thread[] clientThreadList = getClientConnections();      for (int i=0; i<clientThreadList.length; i++)      {         try         {           ((ConnectionToClient)clientThreadList[i]).close();         }         // Ignore all exceptions when closing clients.         catch(Exception ex) {}      }      serverSocket = null;      serverClosed();    }  }  /**   * Sends a message to every client connected to the server.   * This is merely a utility; a subclass may want to do some checks   * before actually sending messages to all clients.  This method   * can be overriden, but if so it should still perform the general   * function of sending to all clients, perhaps after some kind   * of filtering is done. Any exception thrown while   * sending the message to a particular client is ignored.   *   * @param msg   Object The message to be sent   */  public void sendToAllClients(Object msg)  {    Thread[] clientThreadList = getClientConnections();    for (int i=0; i<clientThreadList.length; i++)    {      try      {        ((ConnectionToClient)clientThreadList[i]).sendToClient(msg);      }      catch (Exception ex) {}    }  }// ACCESSING METHODS ------------------------------------------------  /**   * Returns true if the server is ready to accept new clients.   *   * @return true if the server is listening.   */  final public boolean isListening()  {    return (connectionListener != null);  }  /**   * Returns an array containing the existing   * client connections. This can be used by   * concrete subclasses to implement messages that do something with   * each connection (e.g. kill it, send a message to it etc.).   * Remember that after this array is obtained, some clients   * in this migth disconnect. New clients can also connect,   * these later will not appear in the array.   *   * @return an array of <code>Thread</code> containing   * <code>ConnectionToClient</code> instances.   */  synchronized final public Thread[] getClientConnections()  {    Thread[] clientThreadList = new      Thread[clientThreadGroup.activeCount()];    clientThreadGroup.enumerate(clientThreadList);    return clientThreadList;  }  /**   * Counts the number of clients currently connected.   *   * @return the number of clients currently connected.   */  final public int getNumberOfClients()  {    return clientThreadGroup.activeCount();  }  /**   * Returns the port number.   *   * @return the port number.   */  final public int getPort()  {    return port;  }  /**   * Sets the port number for the next connection.   * The server must be closed and restarted for the port   * change to be in effect.   *   * @param port the port number.   */  final public void setPort(int port)  {    this.port = port;  }  /**   * Sets the timeout time when accepting connections.   * The default is half a second. This means that stopping the   * server may take up to timeout duration to actually stop.   * The server must be stopped and restarted for the timeout   * change to be effective.   *   * @param timeout the timeout time in ms.   */  final public void setTimeout(int timeout)  {    this.timeout = timeout;  }  /**   * Sets the maximum number of waiting connections accepted by the   * operating system. The default is 20.   * The server must be closed and restarted for the backlog   * change to be in effect.   *   * @param backlog the maximum number of connections.   */  final public void setBacklog(int backlog)  {    this.backlog = backlog;  }// RUN METHOD -------------------------------------------------------  /**   * Runs the listening thread that allows clients to connect.   * Not to be called.   */  final public void run()  {    // call the hook method to notify that the server is starting    serverStarted();    try    {      // Repeatedly waits for a new client connection, accepts it, and      // starts a new thread to handle data exchange.      while(!readyToStop)      {        try        {          // Wait here for new connection attempts, or a timeout          Socket clientSocket = serverSocket.accept();          // When a client is accepted, create a thread to handle          // the data exchange, then add it to thread group          synchronized(this)          {            ConnectionToClient c = new ConnectionToClient(              this.clientThreadGroup, clientSocket, this);          }        }        catch (InterruptedIOException exception)        {          // This will be thrown when a timeout occurs.          // The server will continue to listen if not ready to stop.        }      }      // call the hook method to notify that the server has stopped      serverStopped();    }    catch (IOException exception)    {      if (!readyToStop)      {        // Closing the socket must have thrown a SocketException        listeningException(exception);      }      else      {        serverStopped();      }    }    finally    {      readyToStop = true;      connectionListener = null;    }  }// METHODS DESIGNED TO BE OVERRIDDEN BY CONCRETE SUBCLASSES ---------  /**   * Hook method called each time a new client connection is   * accepted. The default implementation does nothing.   * @param client the connection connected to the client.   */  protected void clientConnected(ConnectionToClient client) {}  /**   * Hook method called each time a client disconnects.   * The default implementation does nothing. The method   * may be overridden by subclasses but should remains synchronized.   *   * @param client the connection with the client.   */  synchronized protected void clientDisconnected(    ConnectionToClient client) {}  /**   * Hook method called each time an exception is thrown in a   * ConnectionToClient thread.   * The method may be overridden by subclasses but should remains   * synchronized.   *   * @param client the client that raised the exception.   * @param Throwable the exception thrown.   */  synchronized protected void clientException(    ConnectionToClient client, Throwable exception) {}  /**   * Hook method called when the server stops accepting   * connections because an exception has been raised.   * The default implementation does nothing.   * This method may be overriden by subclasses.   *   * @param exception the exception raised.   */  protected void listeningException(Throwable exception) {}  /**   * Hook method called when the server starts listening for   * connections.  The default implementation does nothing.   * The method may be overridden by subclasses.   */  protected void serverStarted() {}  /**   * Hook method called when the server stops accepting   * connections.  The default implementation   * does nothing. This method may be overriden by subclasses.   */  protected void serverStopped() {}  /**   * Hook method called when the server is clased.   * The default implementation does nothing. This method may be   * overriden by subclasses. When the server is closed while still   * listening, serverStopped() will also be called.   */  protected void serverClosed() {}  /**   * Handles a command sent from one client to the server.   * This MUST be implemented by subclasses, who should respond to   * messages.   * This method is called by a synchronized method so it is also   * implcitly synchronized.   *   * @param msg   the message sent.   * @param client the connection connected to the client that   *  sent the message.   */  protected abstract void handleMessageFromClient(    Object msg, ConnectionToClient client);// METHODS TO BE USED FROM WITHIN THE FRAMEWORK ONLY ----------------  /**   * Receives a command sent from the client to the server.   * Called by the run method of <code>ConnectionToClient</code>   * instances that are watching for messages coming from the server   * This method is synchronized to ensure that whatever effects it has   * do not conflict with work being done by other threads. The method   * simply calls the <code>handleMessageFromClient</code> slot method.   *   * @param msg   the message sent.   * @param client the connection connected to the client that   *  sent the message.   */  final synchronized void receiveMessageFromClient(    Object msg, ConnectionToClient client)  {    this.handleMessageFromClient(msg, client);  }}// End of AbstractServer Class
\ No newline at end of file
+// This file contains material supporting section 3.8 of the textbook:
+// "Object Oriented Software Engineering" and is issued under the open-source
+// license found at www.lloseng.com 
+
+package ocsf.server;
+
+import java.net.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.io.*;
+
+/**
+* The <code> AbstractServer </code> class maintains a thread that waits
+* for connection attempts from clients. When a connection attempt occurs
+* it creates a new <code> ConnectionToClient </code> instance which
+* runs as a thread. When a client is thus connected to the
+* server, the two programs can then exchange <code> Object </code>
+* instances.<p>
+*
+* Method <code> handleMessageFromClient </code> must be defined by
+* a concrete subclass. Several other hook methods may also be
+* overriden.<p>
+*
+* Several public service methods are provided to applications that use
+* this framework, and several hook methods are also available<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @author Dr Robert Lagani&egrave;re
+* @author Dr Timothy C. Lethbridge
+* @author Fran&ccedil;ois B&eacute;langer
+* @author Paul Holden
+* @version February 2001 (2.12)
+* @see ocsf.server.ConnectionToClient
+*/
+public abstract class AbstractServer implements Runnable
+{
+  // INSTANCE VARIABLES *********************************************
+
+  /**
+   * The server socket: listens for clients who want to connect.
+   */
+  private ServerSocket serverSocket = null;
+
+  /**
+   * The connection listener thread.
+   */
+  private Thread connectionListener;
+
+  /**
+   * The port number
+   */
+  private int port;
+
+  /**
+   * The server timeout while for accepting connections.
+   * After timing out, the server will check to see if a command to
+   * stop the server has been issued; it not it will resume accepting
+   * connections.
+   * Set to half a second by default.
+   */
+  private int timeout = 500;
+
+  /**
+   * The maximum queue length; i.e. the maximum number of clients that
+   * can be waiting to connect.
+   * Set to 10 by default.
+   */
+  private int backlog = 10;
+
+  /**
+   * The thread group associated with client threads. Each member of the
+   * thread group is a <code> ConnectionToClient </code>.
+   */
+  private ThreadGroup clientThreadGroup;
+
+  /**
+   * Indicates if the listening thread is ready to stop.  Set to
+   * false by default.
+   */
+  private boolean readyToStop = false;
+
+  /**
+   * Indicates if the next call to listen should serve clients with the
+   * <code>NioServerTransport</code> instead of one thread per client.
+   * Set to false by default.
+   */
+  private boolean nioMode = false;
+
+  /**
+   * The transport serving the clients in NIO mode; null otherwise.
+   */
+  private volatile NioServerTransport nioTransport = null;
+
+  /**
+   * Indicates if connection readers and message handlers should run on
+   * virtual threads when the JVM supports them. Set to false by default.
+   */
+  private boolean virtualThreads = false;
+
+  /**
+   * The connections whose reader runs on a virtual thread. Virtual
+   * threads do not belong to the client thread group, so they are
+   * tracked here instead.
+   */
+  private final Set<ConnectionToClient> virtualConnections =
+    Collections.newSetFromMap(new ConcurrentHashMap<ConnectionToClient, Boolean>());
+
+  /**
+   * The largest number of messages a connection may have waiting to be
+   * written. Set to 256 by default.
+   */
+  private volatile int outboundQueueLimit = 256;
+
+  /**
+   * What happens to a client whose outbound queue is full. Set to
+   * <code>DROP_NOTIFICATIONS</code> by default.
+   */
+  private volatile SlowConsumerPolicy slowConsumerPolicy =
+    SlowConsumerPolicy.DROP_NOTIFICATIONS;
+
+  /**
+   * The pool writing the outbound queues of connections that have a
+   * thread of their own. Created when the first such client connects
+   * and shut down when the server is closed.
+   */
+  private ExecutorService writers = null;
+
+  /**
+   * The number of messages dropped because an outbound queue was full.
+   */
+  private final AtomicLong droppedMessages = new AtomicLong();
+
+  /**
+   * The number of clients disconnected as slow consumers.
+   */
+  private final AtomicLong slowConsumerDisconnects = new AtomicLong();
+
+  /**
+   * The deepest any outbound queue has been since the server started.
+   */
+  private final AtomicInteger outboundHighWater = new AtomicInteger();
+
+  /**
+   * The ways of dealing with a client that does not read its messages
+   * as fast as the server sends them.
+   */
+  public static enum SlowConsumerPolicy
+  {
+    /**
+     * Messages sent to several clients, such as notifications, are
+     * dropped for that client; the client is disconnected only when a
+     * direct response no longer fits.
+     */
+    DROP_NOTIFICATIONS,
+
+    /**
+     * The client is disconnected as soon as any message no longer fits.
+     */
+    DISCONNECT
+  }
+
+
+// CONSTRUCTOR ******************************************************
+
+  /**
+   * Constructs a new server.
+   *
+   * @param port the port number on which to listen.
+   */
+  public AbstractServer(int port)
+  {
+    this.port = port;
+
+    this.clientThreadGroup =
+      new ThreadGroup("ConnectionToClient threads")
+      {
+        // All uncaught exceptions in connection threads will
+        // be sent to the clientException callback method.
+        public void uncaughtException(
+          Thread thread, Throwable exception)
+        {
+          clientException((ConnectionToClient)thread, exception);
+        }
+      };
+  }
+
+
+// INSTANCE METHODS *************************************************
+
+  /**
+   * Begins the thread that waits for new clients.
+   * If the server is already in listening mode, this
+   * call has no effect.
+   *
+   * @exception IOException if an I/O error occurs
+   * when creating the server socket.
+   */
+  final public void listen() throws IOException
+  {
+    if (!isListening())
+    {
+      if (serverSocket == null)
+      {
+        if (nioMode)
+        {
+          ServerSocketChannel channel = ServerSocketChannel.open();
+          channel.socket().bind(new InetSocketAddress(getPort()), backlog);
+          serverSocket = channel.socket();
+        }
+        else
+        {
+          serverSocket = new ServerSocket(getPort(), backlog);
+        }
+      }
+
+      if (nioMode && nioTransport == null)
+      {
+        nioTransport = new NioServerTransport(this,
+          Math.max(2, Runtime.getRuntime().availableProcessors()),
+          isUsingVirtualThreads());
+      }
+
+      serverSocket.setSoTimeout(timeout);
+      readyToStop = false;
+      connectionListener = new Thread(this);
+      connectionListener.start();
+    }
+  }
+
+  /**
+   * Causes the server to stop accepting new connections.
+   */
+  final public void stopListening()
+  {
+    readyToStop = true;
+  }
+
+  /**
+   * Closes the server socket and the connections with all clients.
+   * Any exception thrown while closing a client is ignored.
+   * If one wishes to catch these exceptions, then clients
+   * should be individually closed before calling this method.
+   * The method also stops listening if this thread is running.
+   * If the server is already closed, this
+   * call has no effect.
+   *
+   * @exception IOException if an I/O error occurs while
+   * closing the server socket.
+   */
+  final synchronized public void close() throws IOException
+  {
+    if (serverSocket == null)
+      return;
+      stopListening();
+    try
+    {
+      serverSocket.close();
+    }
+    finally
+    {
+      // Close the client sockets of the already connected clients
+      Thread[] clientThreadList = getClientConnections();
+      for (int i=0; i<clientThreadList.length; i++)
+      {
+         try
+         {
+           ((ConnectionToClient)clientThreadList[i]).close();
+         }
+         // Ignore all exceptions when closing clients.
+         catch(Exception ex) {}
+      }
+      serverSocket = null;
+      if (nioTransport != null)
+      {
+        nioTransport.shutdown();
+        nioTransport = null;
+      }
+      if (writers != null)
+      {
+        writers.shutdown();
+        writers = null;
+      }
+      serverClosed();
+    }
+  }
+
+  /**
+   * Sends a message to every client connected to the server.
+   * This is merely a utility; a subclass may want to do some checks
+   * before actually sending messages to all clients.  This method
+   * can be overriden, but if so it should still perform the general
+   * function of sending to all clients, perhaps after some kind
+   * of filtering is done. Any exception thrown while
+   * sending the message to a particular client is ignored, and the
+   * message may be dropped for a client whose outbound queue is full.
+   *
+   * @param msg   Object The message to be sent
+   */
+  public void sendToAllClients(Object msg)
+  {
+    sendToEach(msg, getClientConnections());
+  }
+
+  /**
+   * Sends a message to some of the clients connected to the server.
+   * As with <code>sendToAllClients</code>, the message is encoded only
+   * once in NIO mode, any exception thrown while sending it to a
+   * particular client is ignored, and it may be dropped for a client
+   * whose outbound queue is full.
+   *
+   * @param msg     Object The message to be sent
+   * @param clients The connections that should receive it
+   */
+  public void sendToClients(Object msg,
+    Collection<? extends ConnectionToClient> clients)
+  {
+    if (!clients.isEmpty())
+      sendToEach(msg, clients.toArray(new Thread[0]));
+  }
+
+  /**
+   * Sends a message to every connection in a list.
+   *
+   * @param msg              the message to be sent.
+   * @param clientThreadList the connections that should receive it.
+   */
+  private void sendToEach(Object msg, Thread[] clientThreadList)
+  {
+    if (nioTransport != null)
+    {
+      // Encode once and hand the same bytes to every channel
+      byte[] frame;
+      try
+      {
+        frame = encodeFrame(msg);
+      }
+      catch (IOException ex)
+      {
+        return;
+      }
+
+      for (int i=0; i<clientThreadList.length; i++)
+      {
+        try
+        {
+          ((ConnectionToClient)clientThreadList[i]).sendFrame(frame, true);
+        }
+        catch (Exception ex) {}
+      }
+      return;
+    }
+
+    for (int i=0; i<clientThreadList.length; i++)
+    {
+      try
+      {
+        ((ConnectionToClient)clientThreadList[i]).sendDroppable(msg);
+      }
+      catch (Exception ex) {}
+    }
+  }
+
+
+// ACCESSING METHODS ------------------------------------------------
+
+  /**
+   * Returns true if the server is ready to accept new clients.
+   *
+   * @return true if the server is listening.
+   */
+  final public boolean isListening()
+  {
+    return (connectionListener != null);
+  }
+
+  /**
+   * Returns an array containing the existing
+   * client connections. This can be used by
+   * concrete subclasses to implement messages that do something with
+   * each connection (e.g. kill it, send a message to it etc.).
+   * Remember that after this array is obtained, some clients
+   * in this migth disconnect. New clients can also connect,
+   * these later will not appear in the array.
+   *
+   * @return an array of <code>Thread</code> containing
+   * <code>ConnectionToClient</code> instances.
+   */
+  synchronized final public Thread[] getClientConnections()
+  {
+    if (nioTransport != null)
+      return nioTransport.getConnections();
+
+    Thread[] clientThreadList = new
+      Thread[clientThreadGroup.activeCount()];
+
+    clientThreadGroup.enumerate(clientThreadList);
+
+    if (virtualConnections.isEmpty())
+      return clientThreadList;
+
+    // Add the connections read by virtual threads
+    List<Thread> all = new ArrayList<Thread>(virtualConnections);
+    for (int i=0; i<clientThreadList.length; i++)
+    {
+      if (clientThreadList[i] != null)
+        all.add(clientThreadList[i]);
+    }
+    return all.toArray(new Thread[all.size()]);
+  }
+
+  /**
+   * Counts the number of clients currently connected.
+   *
+   * @return the number of clients currently connected.
+   */
+  final public int getNumberOfClients()
+  {
+    NioServerTransport transport = nioTransport;
+    if (transport != null)
+      return transport.getNumberOfConnections();
+
+    return clientThreadGroup.activeCount() + virtualConnections.size();
+  }
+
+  /**
+   * Returns the port number.
+   *
+   * @return the port number.
+   */
+  final public int getPort()
+  {
+    return port;
+  }
+
+  /**
+   * Sets the port number for the next connection.
+   * The server must be closed and restarted for the port
+   * change to be in effect.
+   *
+   * @param port the port number.
+   */
+  final public void setPort(int port)
+  {
+    this.port = port;
+  }
+
+  /**
+   * Sets the timeout time when accepting connections.
+   * The default is half a second. This means that stopping the
+   * server may take up to timeout duration to actually stop.
+   * The server must be stopped and restarted for the timeout
+   * change to be effective.
+   *
+   * @param timeout the timeout time in ms.
+   */
+  final public void setTimeout(int timeout)
+  {
+    this.timeout = timeout;
+  }
+
+  /**
+   * Sets the maximum number of waiting connections accepted by the
+   * operating system. The default is 20.
+   * The server must be closed and restarted for the backlog
+   * change to be in effect.
+   *
+   * @param backlog the maximum number of connections.
+   */
+  final public void setBacklog(int backlog)
+  {
+    this.backlog = backlog;
+  }
+
+  /**
+   * Selects how accepted clients are served. In NIO mode a single
+   * selector thread watches every connection and messages are handled
+   * on a small worker pool; clients must then use the framed mode of
+   * <code>AbstractClient</code>. The default is one thread per client.
+   * The server must be closed and restarted for the change to be in
+   * effect.
+   *
+   * @param nioMode true to serve clients with the NIO transport.
+   */
+  final public void setNioMode(boolean nioMode)
+  {
+    this.nioMode = nioMode;
+  }
+
+  /**
+   * @return true if the next call to listen uses the NIO transport.
+   */
+  final public boolean isNioMode()
+  {
+    return nioMode;
+  }
+
+  /**
+   * Selects whether each connection reader, and so each call to
+   * handleMessageFromClient, runs on a virtual thread instead of a
+   * platform thread. In NIO mode the worker pool is replaced by one
+   * virtual thread per task. Ignored when the JVM does not support
+   * virtual threads. The server must be closed and restarted for the
+   * change to be in effect.
+   *
+   * @param virtualThreads true to use virtual threads.
+   */
+  final public void setVirtualThreads(boolean virtualThreads)
+  {
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * @return true if virtual threads were requested and the JVM
+   *    supports them.
+   */
+  final public boolean isUsingVirtualThreads()
+  {
+    return virtualThreads && VirtualThreads.isSupported();
+  }
+
+  /**
+   * Sets the largest number of messages a connection may have waiting
+   * to be written. Takes effect immediately.
+   *
+   * @param outboundQueueLimit the limit, at least 1.
+   */
+  final public void setOutboundQueueLimit(int outboundQueueLimit)
+  {
+    if (outboundQueueLimit < 1)
+      throw new IllegalArgumentException("limit must be at least 1");
+    this.outboundQueueLimit = outboundQueueLimit;
+  }
+
+  /**
+   * @return the largest number of messages a connection may have
+   *    waiting to be written.
+   */
+  final public int getOutboundQueueLimit()
+  {
+    return outboundQueueLimit;
+  }
+
+  /**
+   * Selects what happens to a client whose outbound queue is full.
+   * Takes effect immediately.
+   *
+   * @param slowConsumerPolicy the policy to apply.
+   */
+  final public void setSlowConsumerPolicy(
+    SlowConsumerPolicy slowConsumerPolicy)
+  {
+    if (slowConsumerPolicy == null)
+      throw new IllegalArgumentException("policy must not be null");
+    this.slowConsumerPolicy = slowConsumerPolicy;
+  }
+
+  /**
+   * @return the policy applied to a client whose outbound queue is full.
+   */
+  final public SlowConsumerPolicy getSlowConsumerPolicy()
+  {
+    return slowConsumerPolicy;
+  }
+
+  /**
+   * @return the number of messages currently waiting to be written,
+   *    over all the connections.
+   */
+  final public int getOutboundQueueDepth()
+  {
+    Thread[] clientThreadList = getClientConnections();
+    int depth = 0;
+
+    for (int i=0; i<clientThreadList.length; i++)
+      depth += ((ConnectionToClient)clientThreadList[i]).getOutboundQueueSize();
+    return depth;
+  }
+
+  /**
+   * @return the deepest any outbound queue has been.
+   */
+  final public int getOutboundHighWater()
+  {
+    return outboundHighWater.get();
+  }
+
+  /**
+   * @return the number of messages dropped because an outbound queue
+   *    was full.
+   */
+  final public long getDroppedMessages()
+  {
+    return droppedMessages.get();
+  }
+
+  /**
+   * @return the number of clients disconnected as slow consumers.
+   */
+  final public long getSlowConsumerDisconnects()
+  {
+    return slowConsumerDisconnects.get();
+  }
+
+// RUN METHOD -------------------------------------------------------
+
+  /**
+   * Runs the listening thread that allows clients to connect.
+   * Not to be called.
+   */
+  final public void run()
+  {
+    // call the hook method to notify that the server is starting
+    serverStarted();
+
+    try
+    {
+      // Repeatedly waits for a new client connection, accepts it, and
+      // starts a new thread to handle data exchange.
+      while(!readyToStop)
+      {
+        try
+        {
+          // Wait here for new connection attempts, or a timeout
+          Socket clientSocket = serverSocket.accept();
+
+          // When a client is accepted, create a thread to handle
+          // the data exchange, then add it to thread group
+
+          synchronized(this)
+          {
+            if (nioTransport != null)
+            {
+              nioTransport.register(
+                clientSocket.getChannel(), this.clientThreadGroup);
+            }
+            else
+            {
+              ConnectionToClient c = new ConnectionToClient(
+                this.clientThreadGroup, clientSocket, this);
+            }
+          }
+        }
+        catch (InterruptedIOException exception)
+        {
+          // This will be thrown when a timeout occurs.
+          // The server will continue to listen if not ready to stop.
+        }
+      }
+
+      // call the hook method to notify that the server has stopped
+      serverStopped();
+    }
+    catch (IOException exception)
+    {
+      if (!readyToStop)
+      {
+        // Closing the socket must have thrown a SocketException
+        listeningException(exception);
+      }
+      else
+      {
+        serverStopped();
+      }
+    }
+    finally
+    {
+      readyToStop = true;
+      connectionListener = null;
+    }
+  }
+
+
+// METHODS DESIGNED TO BE OVERRIDDEN BY CONCRETE SUBCLASSES ---------
+
+  /**
+   * Hook method called each time a new client connection is
+   * accepted. The default implementation does nothing.
+   * @param client the connection connected to the client.
+   */
+  protected void clientConnected(ConnectionToClient client) {}
+
+  /**
+   * Hook method called when a message could not be queued for a slow
+   * client. The client is then either left without the message or
+   * disconnected, as the slow consumer policy decides.
+   *
+   * @param client the connection whose outbound queue is full.
+   * @param disconnected true if the client is being disconnected,
+   *    false if only the message was dropped.
+   */
+  protected void slowConsumer(ConnectionToClient client,
+    boolean disconnected) {}
+
+  /**
+   * Hook method called each time a client disconnects.
+   * The default implementation does nothing. The method
+   * may be overridden by subclasses but should remains synchronized.
+   *
+   * @param client the connection with the client.
+   */
+  synchronized protected void clientDisconnected(
+    ConnectionToClient client) {}
+
+  /**
+   * Hook method called each time an exception is thrown in a
+   * ConnectionToClient thread.
+   * The method may be overridden by subclasses but should remains
+   * synchronized.
+   *
+   * @param client the client that raised the exception.
+   * @param Throwable the exception thrown.
+   */
+  synchronized protected void clientException(
+    ConnectionToClient client, Throwable exception) {}
+
+  /**
+   * Hook method called when the server stops accepting
+   * connections because an exception has been raised.
+   * The default implementation does nothing.
+   * This method may be overriden by subclasses.
+   *
+   * @param exception the exception raised.
+   */
+  protected void listeningException(Throwable exception) {}
+
+  /**
+   * Hook method called when the server starts listening for
+   * connections.  The default implementation does nothing.
+   * The method may be overridden by subclasses.
+   */
+  protected void serverStarted() {}
+
+  /**
+   * Hook method called when the server stops accepting
+   * connections.  The default implementation
+   * does nothing. This method may be overriden by subclasses.
+   */
+  protected void serverStopped() {}
+
+  /**
+   * Hook method called when the server is clased.
+   * The default implementation does nothing. This method may be
+   * overriden by subclasses. When the server is closed while still
+   * listening, serverStopped() will also be called.
+   */
+  protected void serverClosed() {}
+
+  /**
+   * Handles a command sent from one client to the server.
+   * This MUST be implemented by subclasses, who should respond to
+   * messages.
+   * The messages of one client are handled one at a time, in the order
+   * they were received, but messages of different clients may be
+   * handled at the same time, so the method must be thread safe.
+   *
+   * @param msg   the message sent.
+   * @param client the connection connected to the client that
+   *  sent the message.
+   */
+  protected abstract void handleMessageFromClient(
+    Object msg, ConnectionToClient client);
+
+  /**
+   * Turns a message into the payload of one frame for a client served
+   * by the NIO transport. The default implementation uses standard
+   * Java serialization. Subclasses may override this method, together
+   * with <code>decodeFrame</code>, to use another encoding.
+   *
+   * @param msg the message to encode.
+   * @return the frame payload.
+   * @exception IOException if the message cannot be encoded.
+   */
+  protected byte[] encodeFrame(Object msg) throws IOException
+  {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(msg);
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Turns the payload of one frame received from a client served by
+   * the NIO transport back into a message. The default implementation
+   * uses standard Java serialization.
+   *
+   * @param frame the frame payload.
+   * @return the decoded message.
+   * @exception IOException if the payload cannot be decoded.
+   * @exception ClassNotFoundException if the class of the message
+   *    is not available.
+   */
+  protected Object decodeFrame(byte[] frame)
+    throws IOException, ClassNotFoundException
+  {
+    ObjectInputStream in =
+      new ObjectInputStream(new ByteArrayInputStream(frame));
+    return in.readObject();
+  }
+
+
+// METHODS TO BE USED FROM WITHIN THE FRAMEWORK ONLY ----------------
+
+  /**
+   * Receives a command sent from the client to the server.
+   * Called by the run method of <code>ConnectionToClient</code>
+   * instances that are watching for messages coming from the server
+   * Each connection delivers its messages from one thread at a time
+   * (its reader thread, or its task queue in NIO mode), so no lock is
+   * held here: a slow message of one client does not hold up the
+   * others. The method simply calls the
+   * <code>handleMessageFromClient</code> slot method.
+   *
+   * @param msg   the message sent.
+   * @param client the connection connected to the client that
+   *  sent the message.
+   */
+  final void receiveMessageFromClient(
+    Object msg, ConnectionToClient client)
+  {
+    this.handleMessageFromClient(msg, client);
+  }
+
+  /**
+   * Starts the reader of a new connection on a virtual thread if this
+   * server uses them.
+   *
+   * @param client the new connection.
+   * @return true if a virtual thread was started; false if the caller
+   *  must start the connection's own thread.
+   */
+  final boolean startOnVirtualThread(ConnectionToClient client)
+  {
+    if (!isUsingVirtualThreads())
+      return false;
+
+    virtualConnections.add(client);
+    try
+    {
+      VirtualThreads.start(client, client.getName());
+      return true;
+    }
+    catch (RuntimeException ex)
+    {
+      virtualConnections.remove(client);
+      return false;
+    }
+  }
+
+  /**
+   * Returns the pool writing the outbound queues of connections that
+   * have a thread of their own, creating it on first use. It runs
+   * virtual threads when the server uses them.
+   *
+   * @return the writer pool.
+   */
+  final synchronized Executor getWriters()
+  {
+    if (writers == null)
+    {
+      writers = isUsingVirtualThreads() ?
+        VirtualThreads.newThreadPerTaskExecutor() :
+        Executors.newCachedThreadPool(new ThreadFactory()
+        {
+          private final AtomicInteger count = new AtomicInteger();
+
+          public Thread newThread(Runnable r)
+          {
+            Thread thread = new Thread(r, "Writer " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    }
+    return writers;
+  }
+
+  /**
+   * Records the depth of an outbound queue after a message was added.
+   *
+   * @param depth the number of messages waiting on that connection.
+   */
+  final void outboundQueued(int depth)
+  {
+    int high = outboundHighWater.get();
+    while (depth > high && !outboundHighWater.compareAndSet(high, depth))
+      high = outboundHighWater.get();
+  }
+
+  /**
+   * Called when a message was dropped for a slow client.
+   *
+   * @param client the connection whose outbound queue is full.
+   */
+  final void outboundDropped(ConnectionToClient client)
+  {
+    droppedMessages.incrementAndGet();
+    slowConsumer(client, false);
+  }
+
+  /**
+   * Called before a slow client is disconnected.
+   *
+   * @param client the connection whose outbound queue is full.
+   */
+  final void slowConsumerDisconnected(ConnectionToClient client)
+  {
+    slowConsumerDisconnects.incrementAndGet();
+    slowConsumer(client, true);
+  }
+
+  /**
+   * Called when the reader of a connection ends.
+   *
+   * @param client the connection whose reader ended.
+   */
+  final void connectionFinished(ConnectionToClient client)
+  {
+    virtualConnections.remove(client);
+  }
+}
+// End of AbstractServer Class
@@ -1 +1,466 @@
-// This file contains material supporting section 3.8 of the textbook:// "Object Oriented Software Engineering" and is issued under the open-source// license found at www.lloseng.compackage ocsf.server;import java.io.*;import java.net.*;import java.util.*;/*** An instance of this class is created by the server when a client* connects. It accepts messages coming from the client and is* responsible for sending data to the client since the socket is* private to this class. The AbstractServer contains a set of* instances of this class and is responsible for adding and deleting* them.<p>** Project Name: OCSF (Object Client-Server Framework)<p>** @author Dr Robert Lagani&egrave;re* @author Dr Timothy C. Lethbridge* @author Fran&ccedil;ois B&eacute;langer* @author Paul Holden* @version February 2001 (2.12)*/public class ConnectionToClient extends Thread{// INSTANCE VARIABLES ***********************************************  /**  * A reference to the Server that created this instance.  */  private AbstractServer server;  /**  * Sockets are used in the operating system as channels  * of communication between two processes.  * @see java.net.Socket  */  private Socket clientSocket;  /**  * Stream used to read from the client.  */  private ObjectInputStream input;  /**  * Stream used to write to the client.  */  private ObjectOutputStream output;  /**  * Indicates if the thread is ready to stop. Set to true when closing  * of the connection is initiated.  */  private boolean readyToStop;  /**   * Map to save information about the client such as its login ID.   * The initial size of the map is small since it is not expected   * that concrete servers will want to store many different types of   * information about each client. Used by the setInfo and getInfo   * methods.   */  private HashMap savedInfo = new HashMap(10);// CONSTRUCTORS *****************************************************  /**   * Constructs a new connection to a client.   *   * @param group the thread group that contains the connections.   * @param clientSocket contains the client's socket.   * @param server a reference to the server that created   *        this instance   * @exception IOException if an I/O error occur when creating   *        the connection.   */  ConnectionToClient(ThreadGroup group, Socket clientSocket,    AbstractServer server) throws IOException  {    super(group,(Runnable)null);    // Initialize variables    this.clientSocket = clientSocket;    this.server = server;    clientSocket.setSoTimeout(0); // make sure timeout is infinite    //Initialize the objects streams    try    {      input = new ObjectInputStream(clientSocket.getInputStream());      output = new ObjectOutputStream(clientSocket.getOutputStream());    }    catch (IOException ex)    {      try      {        closeAll();      }      catch (Exception exc) { }      throw ex;  // Rethrow the exception.    }    readyToStop = false;    start(); // Start the thread waits for data from the socket  }// INSTANCE METHODS *************************************************  /**   * Sends an object to the client.   *   * @param msg the message to be sent.   * @exception IOException if an I/O error occur when sending the   *    message.   */  final public void sendToClient(Object msg) throws IOException  {    if (clientSocket == null || output == null)      throw new SocketException("socket does not exist");    output.writeObject(msg);  }  /**   * Closes the client.   * If the connection is already closed, this   * call has no effect.   *   * @exception IOException if an error occurs when closing the socket.   */  final public void close() throws IOException  {    readyToStop = true; // Set the flag that tells the thread to stop    try    {      closeAll();    }    finally    {      server.clientDisconnected(this);    }  }// ACCESSING METHODS ------------------------------------------------  /**   * Returns the address of the client.   *   * @return the client's Internet address.   */  final public InetAddress getInetAddress()  {    return clientSocket == null ? null : clientSocket.getInetAddress();  }  /**   * Returns a string representation of the client.   *   * @return the client's description.   */  public String toString()  {    return clientSocket == null ? null :      clientSocket.getInetAddress().getHostName()        +" (" + clientSocket.getInetAddress().getHostAddress() + ")";  }  /**   * Saves arbitrary information about this client. Designed to be   * used by concrete subclasses of AbstractServer. Based on a hash map.   *   * @param infoType   identifies the type of information   * @param info       the information itself.   */  public void setInfo(String infoType, Object info)  {    savedInfo.put(infoType, info);  }  /**   * Returns information about the client saved using setInfo.   * Based on a hash map.   *   * @param infoType   identifies the type of information   */  public Object getInfo(String infoType)  {    return savedInfo.get(infoType);  }// RUN METHOD -------------------------------------------------------  /**   * Constantly reads the client's input stream.   * Sends all objects that are read to the server.   * Not to be called.   */  final public void run()  {    server.clientConnected(this);    // This loop reads the input stream and responds to messages    // from clients    try    {      // The message from the client      Object msg;      while (!readyToStop)      {        // This block waits until it reads a message from the client        // and then sends it for handling by the server        msg = input.readObject();        server.receiveMessageFromClient(msg, this);      }    }    catch (Exception exception)    {      if (!readyToStop)      {        try        {          closeAll();        }        catch (Exception ex) { }        server.clientException(this, exception);      }    }  }// METHODS TO BE USED FROM WITHIN THE FRAMEWORK ONLY ----------------  /**   * Closes all connection to the server.   *   * @exception IOException if an I/O error occur when closing the   *     connection.   */  private void closeAll() throws IOException  {    try    {      // Close the socket      if (clientSocket != null)        clientSocket.close();      // Close the output stream      if (output != null)        output.close();      // Close the input stream      if (input != null)        input.close();    }    finally    {      // Set the streams and the sockets to NULL no matter what      // Doing so allows, but does not require, any finalizers      // of these objects to reclaim system resources if and      // when they are garbage collected.      output = null;      input = null;      clientSocket = null;    }  }  /**   * This method is called by garbage collection.   */  protected void finalize()  {    try    {      closeAll();    }    catch(IOException e) {}  }}// End of ConnectionToClient class
\ No newline at end of file
+// This file contains material supporting section 3.8 of the textbook:
+// "Object Oriented Software Engineering" and is issued under the open-source
+// license found at www.lloseng.com
+
+package ocsf.server;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+/**
+* An instance of this class is created by the server when a client
+* connects. It accepts messages coming from the client and is
+* responsible for sending data to the client since the socket is
+* private to this class. The AbstractServer contains a set of
+* instances of this class and is responsible for adding and deleting
+* them.<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @author Dr Robert Lagani&egrave;re
+* @author Dr Timothy C. Lethbridge
+* @author Fran&ccedil;ois B&eacute;langer
+* @author Paul Holden
+* @version February 2001 (2.12)
+*/
+public class ConnectionToClient extends Thread
+{
+// INSTANCE VARIABLES ***********************************************
+
+  /**
+  * A reference to the Server that created this instance.
+  */
+  private AbstractServer server;
+
+  /**
+  * Sockets are used in the operating system as channels
+  * of communication between two processes.
+  * @see java.net.Socket
+  */
+  private Socket clientSocket;
+
+  /**
+  * Stream used to read from the client.
+  */
+  private ObjectInputStream input;
+
+  /**
+  * Stream used to write to the client.
+  */
+  private ObjectOutputStream output;
+
+  /**
+  * Indicates if the thread is ready to stop. Set to true when closing
+  * of the connection is initiated.
+  */
+  private boolean readyToStop;
+
+  /**
+   * Map to save information about the client such as its login ID.
+   * The initial size of the map is small since it is not expected
+   * that concrete servers will want to store many different types of
+   * information about each client. Used by the setInfo and getInfo
+   * methods, which lock it since they may be called from the
+   * connection's thread and the server's worker pools at once.
+   */
+  private final HashMap savedInfo = new HashMap(10);
+
+  /**
+   * The non-blocking channel used instead of the object streams when
+   * the server runs on the <code>NioServerTransport</code>; null
+   * otherwise.
+   */
+  private NioChannel nioChannel = null;
+
+  /**
+   * The messages waiting to be written by the server's writer pool
+   * when this connection has a thread of its own; null otherwise.
+   */
+  private OutboundQueue outbound = null;
+
+// CONSTRUCTORS *****************************************************
+
+  /**
+   * Constructs a new connection to a client.
+   *
+   * @param group the thread group that contains the connections.
+   * @param clientSocket contains the client's socket.
+   * @param server a reference to the server that created
+   *        this instance
+   * @exception IOException if an I/O error occur when creating
+   *        the connection.
+   */
+  ConnectionToClient(ThreadGroup group, Socket clientSocket,
+    AbstractServer server) throws IOException
+  {
+    super(group,(Runnable)null);
+    // Initialize variables
+    this.clientSocket = clientSocket;
+    this.server = server;
+
+    clientSocket.setSoTimeout(0); // make sure timeout is infinite
+
+    //Initialize the objects streams
+    try
+    {
+      input = new ObjectInputStream(clientSocket.getInputStream());
+      output = new ObjectOutputStream(clientSocket.getOutputStream());
+      outbound = new OutboundQueue(this, output, server.getWriters());
+    }
+    catch (IOException ex)
+    {
+      try
+      {
+        closeAll();
+      }
+      catch (Exception exc) { }
+
+      throw ex;  // Rethrow the exception.
+    }
+
+    readyToStop = false;
+    if (!server.startOnVirtualThread(this))
+      start(); // Start the thread waits for data from the socket
+  }
+
+  /**
+   * Constructs a connection to a client served by the
+   * <code>NioServerTransport</code>. No thread is started: the
+   * transport reads the channel and calls the server itself.
+   *
+   * @param group the thread group that contains the connections.
+   * @param nioChannel the client's non-blocking channel.
+   * @param server a reference to the server that created
+   *        this instance
+   */
+  ConnectionToClient(ThreadGroup group, NioChannel nioChannel,
+    AbstractServer server)
+  {
+    super(group,(Runnable)null);
+    this.nioChannel = nioChannel;
+    this.clientSocket = nioChannel.getChannel().socket();
+    this.server = server;
+    readyToStop = false;
+  }
+
+// INSTANCE METHODS *************************************************
+
+  /**
+   * Sends an object to the client. The message is queued and written
+   * in the background, so this method does not wait for a slow client.
+   * If the client already has as many messages waiting as the server's
+   * outbound queue limit allows, it is treated as a slow consumer and
+   * disconnected.
+   *
+   * @param msg the message to be sent.
+   * @exception IOException if an I/O error occur when sending the
+   *    message, or if the client was disconnected as a slow consumer.
+   */
+  final public void sendToClient(Object msg) throws IOException
+  {
+    enqueue(msg, null, false);
+  }
+
+  /**
+   * Sends an object the client can do without, such as a notification.
+   * When the outbound queue is full and the server's slow consumer
+   * policy is <code>DROP_NOTIFICATIONS</code>, the message is dropped
+   * instead of disconnecting the client.
+   *
+   * @param msg the message to be sent.
+   * @return true if the message was queued, false if it was dropped.
+   * @exception IOException if an I/O error occur when sending the
+   *    message, or if the client was disconnected as a slow consumer.
+   */
+  final public boolean sendDroppable(Object msg) throws IOException
+  {
+    return enqueue(msg, null, true);
+  }
+
+  /**
+   * Closes the client.
+   * If the connection is already closed, this
+   * call has no effect.
+   *
+   * @exception IOException if an error occurs when closing the socket.
+   */
+  final public void close() throws IOException
+  {
+    readyToStop = true; // Set the flag that tells the thread to stop
+
+    try
+    {
+      closeAll();
+    }
+    finally
+    {
+      server.clientDisconnected(this);
+    }
+  }
+
+// ACCESSING METHODS ------------------------------------------------
+
+  /**
+   * Returns the number of messages waiting to be written to the client.
+   *
+   * @return the depth of the client's outbound queue.
+   */
+  final public int getOutboundQueueSize()
+  {
+    if (nioChannel != null)
+      return nioChannel.queued();
+
+    OutboundQueue queue = outbound;
+    return queue == null ? 0 : queue.size();
+  }
+
+  /**
+   * Returns the address of the client.
+   *
+   * @return the client's Internet address.
+   */
+  final public InetAddress getInetAddress()
+  {
+    return clientSocket == null ? null : clientSocket.getInetAddress();
+  }
+
+  /**
+   * Returns a string representation of the client.
+   *
+   * @return the client's description.
+   */
+  public String toString()
+  {
+    return clientSocket == null ? null :
+      clientSocket.getInetAddress().getHostName()
+        +" (" + clientSocket.getInetAddress().getHostAddress() + ")";
+  }
+
+  /**
+   * Saves arbitrary information about this client. Designed to be
+   * used by concrete subclasses of AbstractServer. Based on a hash map.
+   *
+   * @param infoType   identifies the type of information
+   * @param info       the information itself.
+   */
+  public void setInfo(String infoType, Object info)
+  {
+    synchronized (savedInfo)
+    {
+      savedInfo.put(infoType, info);
+    }
+  }
+
+  /**
+   * Returns information about the client saved using setInfo.
+   * Based on a hash map.
+   *
+   * @param infoType   identifies the type of information
+   */
+  public Object getInfo(String infoType)
+  {
+    synchronized (savedInfo)
+    {
+      return savedInfo.get(infoType);
+    }
+  }
+
+// RUN METHOD -------------------------------------------------------
+
+  /**
+   * Constantly reads the client's input stream.
+   * Sends all objects that are read to the server.
+   * Not to be called.
+   */
+  final public void run()
+  {
+    server.clientConnected(this);
+
+    // This loop reads the input stream and responds to messages
+    // from clients
+    try
+    {
+      // The message from the client
+      Object msg;
+
+      while (!readyToStop)
+      {
+        // This block waits until it reads a message from the client
+        // and then sends it for handling by the server
+        msg = input.readObject();
+        server.receiveMessageFromClient(msg, this);
+      }
+    }
+    catch (Exception exception)
+    {
+      if (!readyToStop)
+      {
+        try
+        {
+          closeAll();
+        }
+        catch (Exception ex) { }
+
+        server.clientException(this, exception);
+      }
+    }
+    finally
+    {
+      server.connectionFinished(this);
+    }
+  }
+
+
+// METHODS TO BE USED FROM WITHIN THE FRAMEWORK ONLY ----------------
+
+  /**
+   * Sends an already encoded message to a client served by the
+   * <code>NioServerTransport</code>. Lets the server encode a message
+   * once when it goes to every client.
+   *
+   * @param frame the message encoded by the server.
+   * @param droppable true if the message may be dropped when the
+   *    outbound queue is full.
+   * @return true if the message was queued, false if it was dropped.
+   * @exception IOException if an I/O error occur when sending the
+   *    message, or if the client was disconnected as a slow consumer.
+   */
+  final boolean sendFrame(byte[] frame, boolean droppable)
+    throws IOException
+  {
+    if (nioChannel == null)
+      throw new SocketException("not a NIO connection");
+
+    return enqueue(null, frame, droppable);
+  }
+
+  /**
+   * Closes the socket after a background write failed. The thread
+   * reading from the client then ends and reports the exception.
+   */
+  final void abort()
+  {
+    try
+    {
+      if (nioChannel != null)
+        nioChannel.close();
+      else if (clientSocket != null)
+        clientSocket.close();
+    }
+    catch (IOException ex) { }
+  }
+
+  /**
+   * @return true if this connection is served by the
+   *    <code>NioServerTransport</code>.
+   */
+  final boolean isNio()
+  {
+    return nioChannel != null;
+  }
+
+  /**
+   * Queues a message on the channel or on the outbound queue, and
+   * applies the slow consumer policy when the queue is full.
+   *
+   * @param msg the message, or null if it is already encoded.
+   * @param frame the encoded message when msg is null.
+   * @param droppable true if the message may be dropped.
+   * @return true if the message was queued, false if it was dropped.
+   * @exception IOException if the connection is closed, or if the
+   *    client was disconnected as a slow consumer.
+   */
+  private boolean enqueue(Object msg, byte[] frame, boolean droppable)
+    throws IOException
+  {
+    int limit = server.getOutboundQueueLimit();
+    int depth;
+
+    if (nioChannel != null)
+    {
+      depth = nioChannel.send(
+        frame != null ? frame : server.encodeFrame(msg), limit);
+    }
+    else
+    {
+      OutboundQueue queue = outbound;
+      if (clientSocket == null || queue == null)
+        throw new SocketException("socket does not exist");
+      depth = queue.offer(msg, limit);
+    }
+
+    if (depth >= 0)
+    {
+      server.outboundQueued(depth);
+      return true;
+    }
+
+    if (droppable && server.getSlowConsumerPolicy()
+      == AbstractServer.SlowConsumerPolicy.DROP_NOTIFICATIONS)
+    {
+      server.outboundDropped(this);
+      return false;
+    }
+
+    server.slowConsumerDisconnected(this);
+    close();
+    throw new IOException("Slow consumer: " + limit
+      + " messages waiting to be sent");
+  }
+
+  /**
+   * Closes all connection to the server.
+   *
+   * @exception IOException if an I/O error occur when closing the
+   *     connection.
+   */
+  private void closeAll() throws IOException
+  {
+    try
+    {
+      // Close the channel of a NIO connection
+      if (nioChannel != null)
+        nioChannel.close();
+
+      // Discard the messages no longer deliverable
+      if (outbound != null)
+        outbound.close();
+
+      // Close the socket
+      if (clientSocket != null)
+        clientSocket.close();
+
+      // Close the output stream
+      if (output != null)
+        output.close();
+
+      // Close the input stream
+      if (input != null)
+        input.close();
+    }
+    finally
+    {
+      // Set the streams and the sockets to NULL no matter what
+      // Doing so allows, but does not require, any finalizers
+      // of these objects to reclaim system resources if and
+      // when they are garbage collected.
+      output = null;
+      input = null;
+      clientSocket = null;
+    }
+  }
+
+  /**
+   * This method is called by garbage collection.
+   */
+  protected void finalize()
+  {
+    try
+    {
+      closeAll();
+    }
+    catch(IOException e) {}
+  }
+}
+// End of ConnectionToClient class
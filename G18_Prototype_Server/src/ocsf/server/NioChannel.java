@@ -0,0 +1,350 @@
+// This file extends the OCSF framework (section 3.8 of the textbook:
+// "Object Oriented Software Engineering") and is issued under the same
+// open-source license found at www.lloseng.com
+
+package ocsf.server;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+* Holds the non-blocking state of one client connection when the server
+* runs on the <code> NioServerTransport </code>. It reassembles incoming
+* length-prefixed frames, queues outgoing frames until the socket can
+* take them, and runs the work of its connection one task at a time on
+* the shared worker pool so that messages from the same client are still
+* handled in the order they were sent.<p>
+*
+* Each frame on the wire is a 4-byte big-endian length followed by that
+* many bytes produced by <code> AbstractServer.encodeFrame </code>.<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @see ocsf.server.NioServerTransport
+*/
+class NioChannel
+{
+// CONSTANTS *******************************************************
+
+  /**
+   * The largest frame accepted from a client. Anything bigger is treated
+   * as a protocol error and the connection is closed.
+   */
+  static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+// INSTANCE VARIABLES ***********************************************
+
+  /**
+   * The transport that owns the selector this channel is registered with.
+   */
+  private final NioServerTransport transport;
+
+  /**
+   * The underlying non-blocking socket channel.
+   */
+  private final SocketChannel channel;
+
+  /**
+   * The connection object handed to the server hook methods.
+   */
+  private ConnectionToClient connection;
+
+  /**
+   * The selection key, set once the selector thread has registered
+   * the channel.
+   */
+  private volatile SelectionKey key;
+
+  /**
+   * Buffer receiving the length prefix of the frame being read.
+   */
+  private final ByteBuffer header = ByteBuffer.allocate(4);
+
+  /**
+   * Buffer receiving the body of the frame being read, or null while
+   * the length prefix is still incomplete.
+   */
+  private ByteBuffer body = null;
+
+  /**
+   * Frames waiting for the socket to become writable.
+   * Guarded by the monitor of this object.
+   */
+  private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<ByteBuffer>();
+
+  /**
+   * Tasks of this connection waiting to run on the worker pool.
+   */
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+  /**
+   * True while a worker is draining the task queue.
+   */
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+  /**
+   * Set once the channel has been closed.
+   */
+  private volatile boolean closed = false;
+
+// CONSTRUCTORS *****************************************************
+
+  /**
+   * Wraps an accepted channel.
+   *
+   * @param transport the transport that owns the selector.
+   * @param channel the accepted channel, already non-blocking.
+   */
+  NioChannel(NioServerTransport transport, SocketChannel channel)
+  {
+    this.transport = transport;
+    this.channel = channel;
+  }
+
+// ACCESSING METHODS ------------------------------------------------
+
+  SocketChannel getChannel()
+  {
+    return channel;
+  }
+
+  ConnectionToClient getConnection()
+  {
+    return connection;
+  }
+
+  void setConnection(ConnectionToClient connection)
+  {
+    this.connection = connection;
+  }
+
+  void setKey(SelectionKey key)
+  {
+    this.key = key;
+  }
+
+  boolean isClosed()
+  {
+    return closed;
+  }
+
+// FRAMEWORK METHODS ------------------------------------------------
+
+  /**
+   * Queues one encoded message for the client. If nothing is waiting
+   * ahead of it the frame is written straight away; whatever the socket
+   * does not accept is left for the selector thread.
+   *
+   * @param payload the encoded message.
+   * @param limit the largest number of frames allowed to wait.
+   * @return the number of frames waiting after this one was sent,
+   *    or -1 if the queue is full and the frame was not added.
+   * @exception IOException if the channel is closed or the write fails.
+   */
+  int send(byte[] payload, int limit) throws IOException
+  {
+    if (closed)
+      throw new ClosedChannelException();
+
+    ByteBuffer frame = ByteBuffer.allocate(4 + payload.length);
+    frame.putInt(payload.length).put(payload);
+    frame.flip();
+
+    int depth;
+    synchronized (this)
+    {
+      if (outbound.isEmpty())
+      {
+        channel.write(frame);
+        if (!frame.hasRemaining())
+          return 0;
+      }
+      else if (outbound.size() >= limit)
+        return -1;
+      outbound.addLast(frame);
+      depth = outbound.size();
+    }
+    transport.requestWrite(this);
+    return depth;
+  }
+
+  /**
+   * @return the number of frames waiting to be written.
+   */
+  synchronized int queued()
+  {
+    return outbound.size();
+  }
+
+  /**
+   * Called by the selector thread when the channel is readable. Every
+   * complete frame is handed to the worker pool for decoding and
+   * dispatch.
+   *
+   * @exception IOException if the client closed the connection, sent
+   *    an invalid frame, or the read failed.
+   */
+  void readFrames() throws IOException
+  {
+    while (true)
+    {
+      if (body == null)
+      {
+        if (channel.read(header) < 0)
+          throw new EOFException("Client closed the connection");
+        if (header.hasRemaining())
+          return;
+
+        header.flip();
+        int length = header.getInt();
+        header.clear();
+        if (length < 0 || length > MAX_FRAME_SIZE)
+          throw new StreamCorruptedException("Invalid frame length " + length);
+        body = ByteBuffer.allocate(length);
+      }
+
+      if (body.hasRemaining() && channel.read(body) < 0)
+        throw new EOFException("Client closed the connection");
+      if (body.hasRemaining())
+        return;
+
+      final byte[] frame = body.array();
+      body = null;
+      execute(new Runnable()
+      {
+        public void run()
+        {
+          transport.dispatch(NioChannel.this, frame);
+        }
+      });
+    }
+  }
+
+  /**
+   * Called by the selector thread when the channel is writable. Writes
+   * as many queued frames as the socket accepts.
+   *
+   * @return true if every queued frame has been written.
+   * @exception IOException if the write fails.
+   */
+  synchronized boolean writeQueued() throws IOException
+  {
+    while (!outbound.isEmpty())
+    {
+      ByteBuffer frame = outbound.peekFirst();
+      channel.write(frame);
+      if (frame.hasRemaining())
+        return false;
+      outbound.removeFirst();
+    }
+    return true;
+  }
+
+  /**
+   * Sets the operations the selector should watch for this channel.
+   * Must be called on the selector thread. Does nothing before the
+   * channel is registered; registration then asks for OP_WRITE itself
+   * if frames are already waiting.
+   *
+   * @param ops the interest set.
+   */
+  void setInterest(int ops)
+  {
+    SelectionKey k = key;
+    if (k != null && k.isValid())
+      k.interestOps(ops);
+  }
+
+  /**
+   * Runs a task for this connection on the worker pool. Tasks of one
+   * connection never run concurrently and keep their submission order.
+   *
+   * @param task the work to run.
+   */
+  void execute(Runnable task)
+  {
+    tasks.add(task);
+    schedule();
+  }
+
+  /**
+   * Submits a drain of the task queue unless one is already running.
+   */
+  private void schedule()
+  {
+    if (!tasks.isEmpty() && scheduled.compareAndSet(false, true))
+    {
+      try
+      {
+        transport.getWorkers().execute(new Runnable()
+        {
+          public void run()
+          {
+            drain();
+          }
+        });
+      }
+      catch (RejectedExecutionException ex)
+      {
+        // The transport is shutting down; nothing will run anymore.
+        tasks.clear();
+        scheduled.set(false);
+      }
+    }
+  }
+
+  /**
+   * Runs queued tasks until the queue is empty.
+   */
+  private void drain()
+  {
+    try
+    {
+      Runnable task;
+      while ((task = tasks.poll()) != null)
+      {
+        task.run();
+      }
+    }
+    finally
+    {
+      scheduled.set(false);
+      // A task may have been added after the last poll.
+      schedule();
+    }
+  }
+
+  /**
+   * Closes the channel and cancels its selection key. Queued frames
+   * are discarded. Calling this more than once has no effect.
+   *
+   * @exception IOException if closing the channel fails.
+   */
+  void close() throws IOException
+  {
+    if (closed)
+      return;
+    closed = true;
+
+    synchronized (this)
+    {
+      outbound.clear();
+    }
+    try
+    {
+      SelectionKey k = key;
+      if (k != null)
+        k.cancel();
+      channel.close();
+    }
+    finally
+    {
+      transport.unregister(this);
+    }
+  }
+}
+// End of NioChannel class
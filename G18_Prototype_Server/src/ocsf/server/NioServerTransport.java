@@ -0,0 +1,343 @@
+// This file extends the OCSF framework (section 3.8 of the textbook:
+// "Object Oriented Software Engineering") and is issued under the same
+// open-source license found at www.lloseng.com
+
+package ocsf.server;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+* The <code> NioServerTransport </code> serves the accepted clients of an
+* <code> AbstractServer </code> with a single selector thread instead of
+* one thread per client. Complete frames are decoded and passed to the
+* server on a small worker pool, so a large number of mostly idle
+* connections costs no threads at all.<p>
+*
+* The server keeps calling the usual hook methods
+* (<code>clientConnected</code>, <code>handleMessageFromClient</code>,
+* <code>clientDisconnected</code>, <code>clientException</code>) with
+* <code>ConnectionToClient</code> instances, so concrete servers do not
+* need to know which transport is in use. Clients must use the framed
+* mode of <code>AbstractClient</code>.<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @see ocsf.server.AbstractServer#setNioMode(boolean)
+* @see ocsf.server.NioChannel
+*/
+class NioServerTransport implements Runnable
+{
+// INSTANCE VARIABLES ***********************************************
+
+  /**
+   * The server whose hooks are called.
+   */
+  private final AbstractServer server;
+
+  /**
+   * The selector watching every client channel.
+   */
+  private final Selector selector;
+
+  /**
+   * The thread running the selection loop.
+   */
+  private final Thread selectorThread;
+
+  /**
+   * The pool decoding frames and running the server's handlers.
+   */
+  private final ExecutorService workers;
+
+  /**
+   * Registrations and interest changes requested by other threads.
+   * They are applied by the selector thread, the only thread allowed
+   * to touch the selection keys.
+   */
+  private final Queue<Runnable> pendingChanges =
+    new ConcurrentLinkedQueue<Runnable>();
+
+  /**
+   * The connections currently open on this transport.
+   */
+  private final Set<ConnectionToClient> connections =
+    Collections.newSetFromMap(new ConcurrentHashMap<ConnectionToClient, Boolean>());
+
+  /**
+   * Set when the transport is shut down.
+   */
+  private volatile boolean stopping = false;
+
+// CONSTRUCTORS *****************************************************
+
+  /**
+   * Opens the selector and starts the selector thread.
+   *
+   * @param server the server whose hooks are called.
+   * @param workerThreads the number of threads handling messages.
+   * @param virtual true to handle every task on its own virtual
+   *   thread instead of the fixed pool.
+   * @exception IOException if the selector cannot be opened.
+   */
+  NioServerTransport(AbstractServer server, int workerThreads,
+    boolean virtual) throws IOException
+  {
+    this.server = server;
+    this.selector = Selector.open();
+    this.workers = virtual ? VirtualThreads.newThreadPerTaskExecutor() :
+      Executors.newFixedThreadPool(workerThreads,
+      new ThreadFactory()
+      {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable r)
+        {
+          return new Thread(r, "NIO worker " + count.incrementAndGet());
+        }
+      });
+
+    selectorThread = new Thread(this, "NIO selector");
+    selectorThread.start();
+  }
+
+// INSTANCE METHODS *************************************************
+
+  /**
+   * Takes over a channel accepted by the server's listening thread.
+   * The <code>clientConnected</code> hook is queued before the channel
+   * is registered, so it always runs before the first message.
+   *
+   * @param socketChannel the accepted channel.
+   * @param group the thread group of the server's connections.
+   * @exception IOException if the channel cannot be made non-blocking.
+   */
+  void register(final SocketChannel socketChannel, ThreadGroup group)
+    throws IOException
+  {
+    socketChannel.configureBlocking(false);
+
+    final NioChannel channel = new NioChannel(this, socketChannel);
+    final ConnectionToClient connection =
+      new ConnectionToClient(group, channel, server);
+    channel.setConnection(connection);
+    connections.add(connection);
+
+    channel.execute(new Runnable()
+    {
+      public void run()
+      {
+        server.clientConnected(connection);
+      }
+    });
+
+    changeOnSelector(new Runnable()
+    {
+      public void run()
+      {
+        try
+        {
+          // A frame sent before the key existed could not ask for OP_WRITE
+          int ops = SelectionKey.OP_READ;
+          if (channel.queued() > 0)
+            ops |= SelectionKey.OP_WRITE;
+          if (!channel.isClosed())
+            channel.setKey(socketChannel.register(selector, ops, channel));
+        }
+        catch (ClosedChannelException ex)
+        {
+          fail(channel, ex);
+        }
+      }
+    });
+  }
+
+  /**
+   * Asks the selector to report when the channel can take more data.
+   *
+   * @param channel the channel with queued frames.
+   */
+  void requestWrite(final NioChannel channel)
+  {
+    if (Thread.currentThread() == selectorThread)
+    {
+      channel.setInterest(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+      return;
+    }
+
+    changeOnSelector(new Runnable()
+    {
+      public void run()
+      {
+        channel.setInterest(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+      }
+    });
+  }
+
+  /**
+   * Decodes one frame and passes the message to the server. Runs on the
+   * worker pool, in the connection's task order.
+   *
+   * @param channel the channel the frame was read from.
+   * @param frame the frame's payload.
+   */
+  void dispatch(NioChannel channel, byte[] frame)
+  {
+    if (channel.isClosed())
+      return;
+
+    try
+    {
+      Object msg = server.decodeFrame(frame);
+      server.receiveMessageFromClient(msg, channel.getConnection());
+    }
+    catch (Exception exception)
+    {
+      // Same outcome as an exception in a ConnectionToClient thread.
+      fail(channel, exception);
+    }
+  }
+
+  /**
+   * Closes a channel that failed and reports the exception to the server.
+   *
+   * @param channel the failed channel.
+   * @param exception the cause.
+   */
+  private void fail(NioChannel channel, final Throwable exception)
+  {
+    if (channel.isClosed())
+      return;
+
+    try
+    {
+      channel.close();
+    }
+    catch (Exception ex) { }
+
+    final ConnectionToClient connection = channel.getConnection();
+    channel.execute(new Runnable()
+    {
+      public void run()
+      {
+        server.clientException(connection, exception);
+      }
+    });
+  }
+
+  /**
+   * Forgets a closed channel.
+   *
+   * @param channel the closed channel.
+   */
+  void unregister(NioChannel channel)
+  {
+    connections.remove(channel.getConnection());
+  }
+
+  /**
+   * @return the connections currently open on this transport.
+   */
+  Thread[] getConnections()
+  {
+    return connections.toArray(new Thread[0]);
+  }
+
+  /**
+   * @return the number of connections currently open.
+   */
+  int getNumberOfConnections()
+  {
+    return connections.size();
+  }
+
+  /**
+   * @return the pool running the connections' tasks.
+   */
+  Executor getWorkers()
+  {
+    return workers;
+  }
+
+  /**
+   * Stops the selector thread and the worker pool. Connections should
+   * be closed before calling this method.
+   */
+  void shutdown()
+  {
+    stopping = true;
+    selector.wakeup();
+    workers.shutdown();
+  }
+
+  /**
+   * Queues a change for the selector thread and wakes it up.
+   *
+   * @param change the change to apply.
+   */
+  private void changeOnSelector(Runnable change)
+  {
+    pendingChanges.add(change);
+    selector.wakeup();
+  }
+
+// RUN METHOD -------------------------------------------------------
+
+  /**
+   * Runs the selection loop. Not to be called.
+   */
+  public void run()
+  {
+    try
+    {
+      while (!stopping)
+      {
+        selector.select();
+
+        Runnable change;
+        while ((change = pendingChanges.poll()) != null)
+        {
+          change.run();
+        }
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext())
+        {
+          SelectionKey key = keys.next();
+          keys.remove();
+          NioChannel channel = (NioChannel)key.attachment();
+
+          try
+          {
+            if (key.isValid() && key.isReadable())
+              channel.readFrames();
+
+            if (key.isValid() && key.isWritable()
+              && channel.writeQueued())
+              channel.setInterest(SelectionKey.OP_READ);
+          }
+          catch (IOException | CancelledKeyException exception)
+          {
+            fail(channel, exception);
+          }
+        }
+      }
+    }
+    catch (IOException exception)
+    {
+      server.listeningException(exception);
+    }
+    finally
+    {
+      try
+      {
+        selector.close();
+      }
+      catch (IOException ex) { }
+    }
+  }
+}
+// End of NioServerTransport class
@@ -0,0 +1,140 @@
+// This file extends the OCSF framework (section 3.8 of the textbook:
+// "Object Oriented Software Engineering") and is issued under the same
+// open-source license found at www.lloseng.com
+
+package ocsf.server;
+
+import java.lang.reflect.*;
+import java.util.concurrent.*;
+
+/**
+* Starts virtual threads when the running JVM provides them (Java 21 and
+* later). The framework is compiled for Java 8, so the virtual thread API
+* is reached through reflection; on older JVMs <code>isSupported</code>
+* returns false and callers fall back to platform threads.<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @see ocsf.server.AbstractServer#setVirtualThreads(boolean)
+*/
+final class VirtualThreads
+{
+// CLASS VARIABLES **************************************************
+
+  /**
+   * <code>Thread.ofVirtual()</code>, or null if not available.
+   */
+  private static final Method OF_VIRTUAL;
+
+  /**
+   * <code>Thread.Builder.name(String)</code>.
+   */
+  private static final Method NAME;
+
+  /**
+   * <code>Thread.Builder.start(Runnable)</code>.
+   */
+  private static final Method START;
+
+  /**
+   * <code>Executors.newVirtualThreadPerTaskExecutor()</code>.
+   */
+  private static final Method NEW_PER_TASK_EXECUTOR;
+
+  static
+  {
+    Method ofVirtual = null;
+    Method name = null;
+    Method start = null;
+    Method perTask = null;
+    try
+    {
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builder.getMethod("name", String.class);
+      start = builder.getMethod("start", Runnable.class);
+      perTask = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+      // Preview releases expose the methods but refuse to run them
+      ofVirtual.invoke(null);
+    }
+    catch (Exception ex)
+    {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    START = start;
+    NEW_PER_TASK_EXECUTOR = perTask;
+  }
+
+// CONSTRUCTORS *****************************************************
+
+  private VirtualThreads() {}
+
+// CLASS METHODS ****************************************************
+
+  /**
+   * @return true if this JVM can start virtual threads.
+   */
+  static boolean isSupported()
+  {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Starts a task on a new virtual thread.
+   *
+   * @param task the task to run.
+   * @param name the name of the thread.
+   * @return the started thread.
+   * @exception UnsupportedOperationException if virtual threads are
+   *    not supported.
+   */
+  static Thread start(Runnable task, String name)
+  {
+    if (!isSupported())
+      throw new UnsupportedOperationException("Virtual threads are not supported");
+
+    try
+    {
+      Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+      return (Thread)START.invoke(builder, task);
+    }
+    catch (InvocationTargetException ex)
+    {
+      throw new IllegalStateException(ex.getCause());
+    }
+    catch (IllegalAccessException ex)
+    {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Creates an executor that runs every task on its own virtual thread.
+   *
+   * @return the executor.
+   * @exception UnsupportedOperationException if virtual threads are
+   *    not supported.
+   */
+  static ExecutorService newThreadPerTaskExecutor()
+  {
+    if (!isSupported())
+      throw new UnsupportedOperationException("Virtual threads are not supported");
+
+    try
+    {
+      return (ExecutorService)NEW_PER_TASK_EXECUTOR.invoke(null);
+    }
+    catch (InvocationTargetException ex)
+    {
+      throw new IllegalStateException(ex.getCause());
+    }
+    catch (IllegalAccessException ex)
+    {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
+// End of VirtualThreads class
@@ -1,797 +1,1486 @@
-package server;
-
-import common.*;
-import common.Table;
-import logic.ReservationLogic;
-import logic.UserManagement;
-import ocsf.server.AbstractServer;
-import ocsf.server.ConnectionToClient;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.sql.Timestamp;
-import gui.ServerPortFrameController;
-import common.Role;
-
-/**
- * The main Server class that handles all communication with the clients.
- *
- * Software Structure:
- * This class acts as the central hub of the Server Layer. It extends the OCSF AbstractServer.
- * It receives messages from clients (Client Layer), processes them using the Logic Layer
- * (UserManagement, ReservationLogic), and accesses data via the Database Layer (Repositories).
- * It also manages the background Scheduler for automated tasks.
- *
- * UI Components:
- * This class connects to the Server GUI to display logs, errors, and the list of connected clients.
- *
- * @author Dana Zablev
- * @version 1.0
- */
-public class BistroServer extends AbstractServer {
-
-    /** Repository for handling Order database operations. */
-    private OrderRepository orderRepo;
-    /** Repository for handling User database operations. */
-    private UserRepository userRepo;
-    /** Logic class for user-related business rules. */
-    private UserManagement userLogic;
-    /** Logic class for reservation algorithms. */
-    private ReservationLogic reservationLogic;
-    /** Background task runner for automated checks. */
-    private final OrderScheduler scheduler;
-    /** Repository for handling Table database operations. */
-    private TableRepository tableRepo;
-    /** Repository for handling Opening Hours database operations. */
-    private OpeningHoursRepository hoursRepo;
-    /** Interface for sending logs to the Server GUI. */
-    private final ChatIF serverUI;
-
-    /**
-     * Constructor. Initializes all repositories, logic classes, and the scheduler.
-     *
-     * @param port The port number to listen on.
-     * @param serverUI The GUI controller to display logs.
-     */
-    public BistroServer(int port, ChatIF serverUI) {
-        super(port);
-        this.serverUI = serverUI;
-        this.orderRepo = new OrderRepository();
-        this.userRepo = new UserRepository();
-        this.userLogic = new UserManagement();
-        this.reservationLogic = new ReservationLogic();
-        this.tableRepo = new TableRepository();
-        this.hoursRepo = new OpeningHoursRepository();
-
-        // Start background tasks
-        this.scheduler = new OrderScheduler(orderRepo, serverUI, this);
-        this.scheduler.start();
-
-        log("[Server] Order Scheduler initialized and started.");
-    }
-
-    /**
-     * Helper method to display messages on the Server GUI.
-     * @param s The message to display.
-     */
-    private void log(String s) {
-        System.out.println(s);
-        if (serverUI != null)
-            serverUI.display(s);
-    }
-
-    /**
-     * Called when the server successfully starts listening for connections.
-     */
-    @Override
-    protected void serverStarted() {
-    		userRepo.resetAllLoginStatus();
-        log("[Server] Bistro Server Listening on port " + getPort());
-    }
-
-    /**
-     * Called when the server stops listening.
-     */
-    @Override
-    protected void serverStopped() {
-        log("[Server] Server stopped.");
-    }
-
-    /**
-     * Called when a new client connects to the server.
-     * Updates the connected clients list in the UI.
-     * @param client The connection object of the new client.
-     */
-    @Override
-    protected void clientConnected(ConnectionToClient client) {
-        String ip = client.getInetAddress().getHostAddress();
-        String host = client.getInetAddress().getHostName();
-        log("[Client Connected] IP: " + ip);
-        updateClientListInUI(ip, host, "Connected");
-    }
-
-    /**
-     * Called when a client disconnects.
-     * Updates the connected clients list in the UI.
-     * @param client The connection object of the disconnected client.
-     */
-    @Override
-    synchronized protected void clientDisconnected(ConnectionToClient client) {
-        String ip = (String) client.getInfo("ip");
-        String host = (String) client.getInfo("host");
-
-        if (ip == null) ip = "Unknown";
-        if (host == null) host = "Unknown";
-
-        log("[Client Disconnected] IP: " + ip);
-
-        Object userIdObj = client.getInfo("userId");
-        if (userIdObj != null) {
-            int userId = (int) userIdObj;
-            userRepo.logoutUser(userId); 
-            log("[Auto-Logout] User ID " + userId + " released.");
-        }
-
-        updateClientListInUI(ip, host, "Disconnected");
-    }
-
-    /**
-     * Sends the client status update to the GUI controller.
-     *
-     * @param ip The client's IP.
-     * @param host The client's Host name.
-     * @param status The status (Connected/Disconnected).
-     */
-    private void updateClientListInUI(String ip, String host, String status) {
-        if (serverUI instanceof ServerPortFrameController) {
-            ServerPortFrameController screenController = (ServerPortFrameController) serverUI;
-            screenController.updateClientList(ip, host, status);
-        }
-    }
-
-    /**
-     * The main method that handles all requests coming from clients.
-     * It uses a Switch-Case structure to determine the ActionType and calls
-     * the appropriate methods in the Repositories or Logic classes.
-     *
-     * @param msg The message object sent by the client.
-     * @param client The connection to the client.
-     */
-    @Override
-    protected void handleMessageFromClient(Object msg, ConnectionToClient client) {
-        log("-------------------------------------------");
-
-        if (!(msg instanceof BistroMessage)) {
-            log("[Error] Invalid message type received.");
-            return;
-        }
-
-        BistroMessage request = (BistroMessage) msg;
-        ActionType type = request.getType();
-        BistroMessage responseMsg = null;
-
-        log("[Request] Processing Action: " + type);
-
-        try {
-            switch (type) {
-                // User Management & Authentication
-                
-                case LOGIN:
-                    // Authenticates a user with username and password
-                    if (request.getData() instanceof User) {
-                        User loginData = (User) request.getData();
-                        User authenticatedUser = userRepo.login(loginData.getUsername(), loginData.getPassword());
-
-                        if (authenticatedUser != null) {
-                        	    client.setInfo("userId", authenticatedUser.getUserId());
-                            responseMsg = new BistroMessage(ActionType.LOGIN, authenticatedUser);
-                            log("[Login] Success: " + authenticatedUser.getUsername());
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.LOGIN, "Username or Password incorrect.");
-                            log("[Login] Failed attempt for: " + loginData.getUsername());
-                        }
-                    }
-                    break;
-
-                case REGISTER_CLEINT:
-                    // Registers a new user and generates a member ID
-                    if (request.getData() instanceof User) {
-                        User newUser = (User) request.getData();
-                        int memberCode = userRepo.registerUser(newUser);
-                        if (memberCode != -1) {
-                            newUser.setMemberCode(memberCode);
-                            responseMsg = new BistroMessage(ActionType.REGISTER_CLEINT, newUser);
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.REGISTER_CLEINT, "Registration failed.");
-                        }
-                    }
-                    break;
-
-                case UPDATE_USER_INFO:
-                    // Updates phone or email for an existing user
-                    if (request.getData() instanceof User) {
-                        User userToUpdate = (User) request.getData();
-                        boolean updated = userRepo.updateUserInfo(userToUpdate.getUserId(), userToUpdate.getPhone(), userToUpdate.getEmail());
-                        if (updated) {
-                            responseMsg = new BistroMessage(ActionType.UPDATE_USER_INFO, "Success");
-                            log("[User Mgmt] Updated info for User ID: " + userToUpdate.getUserId());
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.UPDATE_USER_INFO, "Failed");
-                        }
-                    }
-                    break;
-
-                case IDENTIFY_BY_QR:
-                    // Finds a user by scanning their unique QR code string
-                    if (request.getData() instanceof String) {
-                        String qrCode = (String) request.getData();
-                        User identifiedUser = userRepo.getUserByQRCode(qrCode);
-
-                        if (identifiedUser != null) {
-                            log("[Identify] Success: " + identifiedUser.getFirstName() + " identified.");
-                            responseMsg = new BistroMessage(ActionType.IDENTIFY_BY_QR, identifiedUser);
-                        } else {
-                            log("[Identify] Failed: QR code not found.");
-                            responseMsg = new BistroMessage(ActionType.IDENTIFY_BY_QR, "ERROR: Invalid QR Code");
-                        }
-                    }
-                    break;
-
-                case GET_USER_HISTORY:
-                    // Returns the list of past orders for a specific member
-                    if (request.getData() instanceof Integer) {
-                        int subscriberId = (Integer) request.getData();
-                        ArrayList<Order> history = orderRepo.getMemberHistory(subscriberId);
-                        responseMsg = new BistroMessage(ActionType.GET_USER_HISTORY, history);
-                    }
-                    break;
-
-                case GET_ALL_MEMBERS:
-                    // Returns a list of all registered members (for Management screen)
-                    ArrayList<User> allMembers = userRepo.getAllMembers();
-                    log("[Management] Sending all user records.");
-                    responseMsg = new BistroMessage(ActionType.GET_ALL_MEMBERS, allMembers);
-                    break;
-
-                //  Reservations & Order Handling
-                
-                case CREATE_ORDER:
-                    // Logic to create a new reservation. Checks availability first.
-                    if (request.getData() instanceof Order) {
-                        Order newOrder = (Order) request.getData();
-                        try {
-                            List<Timestamp> alternatives = reservationLogic.checkAvailability(newOrder);
-
-                            if (alternatives == null) {
-                                // Table is available - Proceed to book
-                                int code; 
-                                do {
-                                    code = (int) (Math.random() * 9000) + 1000;
-                                } while (orderRepo.isCodeExists(code));
-                                
-                                newOrder.setConfirmationCode(code);
-                                newOrder.setStatus("PENDING");
-
-                                int orderId = orderRepo.createOrder(newOrder);
-
-                                if (orderId != -1) {
-                                    newOrder.setOrderNumber(orderId);
-                                    responseMsg = new BistroMessage(ActionType.CREATE_ORDER, newOrder);
-                                    log("[Order] Approved. ID: " + orderId + ", Code: " + code);
-                                } else {
-                                    log("[Error] Failed to save order to DB!");
-                                    responseMsg = new BistroMessage(ActionType.CREATE_ORDER, "ERROR: Database Save Failed (Check Server Logs)");
-                                }
-                            } else {
-                                // Table unavailable - Return alternatives
-                                responseMsg = new BistroMessage(ActionType.ORDER_ALTERNATIVES, alternatives);
-                                log("[Order] Time unavailable. Suggesting alternatives.");
-                            }
-                        } catch (IllegalArgumentException e) {
-                            responseMsg = new BistroMessage(ActionType.CREATE_ORDER, "ERROR: " + e.getMessage());
-                        }
-                    }
-                    break;
-
-                case CANCEL_ORDER:
-                    // Cancels a pending order
-                    int codeToCheck = (int) request.getData();
-                    boolean canceled = orderRepo.cancelOrderByCode(codeToCheck);
-                    if (canceled) {
-                        responseMsg = new BistroMessage(ActionType.CANCEL_ORDER, "Success");
-                    } else {
-                        responseMsg = new BistroMessage(ActionType.CANCEL_ORDER, "SEATED status can not be cancelled");
-                    }
-                    break;
-
-                // Reception, Arrival & Seating
-
-                case VALIDATE_ARRIVAL:
-                    int code = (Integer) request.getData();
-                    Order order = orderRepo.getOrderByCode(code); 
-
-                    if (order != null) {
-                        int assignedTable = orderRepo.assignFreeTable(order.getOrderNumber(), order.getNumberOfGuests());
-
-                        if (assignedTable != -1) {
-                            order.setAssignedTableId(assignedTable);
-                            order.setStatus("SEATED");
-                            responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, order);
-                        } else {
-                            if ("PENDING".equals(order.getStatus()) || "NOTIFIED".equals(order.getStatus())) {
-                                orderRepo.updateOrderStatus(order.getOrderNumber(), "WAITING");
-                                order.setStatus("WAITING");
-                            }
-                            responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, order);
-                        }
-                    } else {
-                        responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, "ERROR: Code not found or already used");
-                    }
-                    break;
-                //Waitlist Management (Walk-ins)
-
-                case ENTER_WAITLIST:
-                    if (request.getData() instanceof Order) {
-                        Order walkIn = (Order) request.getData();
-                        
-                        Timestamp serverNow = new Timestamp(System.currentTimeMillis());
-                        walkIn.setOrderDate(serverNow);
-
-                        if (!hoursRepo.isOpen(serverNow)) {
-                            responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: Restaurant is CLOSED.");
-                            break;
-                        }
-                        String cleanPhone = (walkIn.getPhone() != null) ? walkIn.getPhone().trim() : "";
-                        String cleanEmail = (walkIn.getEmail() != null) ? walkIn.getEmail().trim() : "";
-                        
-                        walkIn.setPhone(cleanPhone);
-                        walkIn.setEmail(cleanEmail);
-                        if (orderRepo.hasActiveOrder(cleanPhone, cleanEmail)) {                            responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: You are already in the system.");
-                            break; 
-                        }
-
-                        int code1;
-                        do {
-                            code1 = (int) (Math.random() * 9000) + 1000;
-                        } while (orderRepo.isCodeExists(code1));
-                        walkIn.setConfirmationCode(code1); 
-
-                        if (orderRepo.isTableAvailableNow(walkIn.getNumberOfGuests())) {
-                            walkIn.setStatus("SEATED"); 
-                            
-                            int orderId = orderRepo.createOrder(walkIn); 
-                            if (orderId != -1) {
-                                walkIn.setOrderNumber(orderId);
-                                int tableId = orderRepo.assignFreeTable(orderId, walkIn.getNumberOfGuests());
-                                walkIn.setAssignedTableId(tableId);
-                                
-                                responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, walkIn);
-                                log("[Waitlist] Walk-in SEATED immediately. Table: " + tableId);
-                            } else {
-                                responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: DB Save Failed");
-                            }
-                        } else {
-                            walkIn.setStatus("WAITING"); 
-                            
-                            int orderId = orderRepo.createOrder(walkIn); 
-                            if (orderId != -1) {
-                                walkIn.setOrderNumber(orderId);
-                                responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, walkIn);
-                                log("[Waitlist] No tables. Added to WAITING list. Code: " + code1);
-                            } else {
-                                responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: DB Save Failed");
-                            }
-                        }
-                    }
-                    break;
-
-                case LEAVE_WAITLIST:
-                    // Removes a customer from the waiting list
-                    if (request.getData() instanceof Integer) {
-                        int confirmationCode = (Integer) request.getData();
-                        boolean success = orderRepo.cancelOrderByCode(confirmationCode);
-                        
-                        if (success) {
-                            responseMsg = new BistroMessage(ActionType.LEAVE_WAITLIST, "Success");
-                            log("[Waitlist] Customer with code " + confirmationCode + " left the queue.");
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.LEAVE_WAITLIST, "Error: Code not found");
-                        }
-                    }
-                    break;
-
-                case RESTORE_CODE:
-                    // Recovers a lost confirmation code via contact info
-                    if (request.getData() instanceof String) {
-                        String contact = (String) request.getData();
-                        Order found = orderRepo.findOrderByContact(contact);
-                        if (found != null) {
-                            log("[SMS Simulation] Restored Code " + found.getConfirmationCode() + " sent to " + contact);
-                            responseMsg = new BistroMessage(ActionType.RESTORE_CODE, found);
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.RESTORE_CODE, "ERROR: Can not restore");
-                        }
-                    }
-                    break;
-
-                // Billing & Checkout
-
-                case PAY_BILL:
-                    // Handles payment, calculates final price, and releases the table
-                    if (request.getData() instanceof Integer) {
-                        int confirmationCode = (Integer) request.getData();
-                        log("[Payment] Request received for Confirmation Code: " + confirmationCode);
-
-                        Order dbOrder = orderRepo.getOrderByCode(confirmationCode);
-
-                        if (dbOrder != null) {
-                            if (dbOrder.getStatus().equals("COMPLETED")) {
-                                responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: Order already paid");
-                                break;
-                            }
-                            if (!dbOrder.getStatus().equals("SEATED") && !dbOrder.getStatus().equals("BILLED")) {
-                                responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: You cannot pay before being seated!");
-                                log("[Payment] Blocked payment for order in status: " + dbOrder.getStatus());
-                                break;
-                            }
-
-                            User payer = null;
-                            if (dbOrder.getMemberId() > 0) {
-                                payer = new User();
-                                payer.setRole(Role.MEMBER);
-                                log("[Payment] Subscriber identified. Applying discount.");
-                            }
-
-                            double basePrice = dbOrder.getNumberOfGuests() * 100.0;
-                            double finalPrice = userLogic.calculateFinalPrice(payer, basePrice);
-
-                            int freedTableCapacity = 0;
-                            if (dbOrder.getAssignedTableId() != null) {
-                                freedTableCapacity = tableRepo.getTableCapacity(dbOrder.getAssignedTableId());
-                            }
-
-                            boolean paid = orderRepo.processPayment(dbOrder.getOrderNumber(), finalPrice);
-
-                            if (paid) {
-                                log("[Payment] Code " + confirmationCode + " Paid: " + finalPrice + "NIS.");
-                                responseMsg = new BistroMessage(ActionType.PAY_BILL, "Success");
-
-                                // Notify next in line if table was freed
-                                if (freedTableCapacity > 0) {
-                                    Order nextPerson = orderRepo.getNextInWaitlist(freedTableCapacity);
-                                    if (nextPerson != null) {
-                                        orderRepo.updateOrderStatus(nextPerson.getOrderNumber(), "NOTIFIED");
-                                        orderRepo.updateOrderTime(nextPerson.getOrderNumber());
-
-                                        String smsMessage = "Hi " + nextPerson.getCustomerName()+ nextPerson.getPhone() + ", table for " +
-                                                nextPerson.getNumberOfGuests() + " is ready! 15 mins to arrive.";
-
-                                        BistroMessage notifyMsg = new BistroMessage(ActionType.SERVER_NOTIFICATION, smsMessage);
-                                        sendToAllClients(notifyMsg);
-                                    }
-                                }
-                            } else {
-                                responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: DB Update Failed");
-                            }
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: Invalid Code");
-                        }
-                    }
-                    break;
-
-                // Management & Configuration
-
-                case GET_ALL_ORDERS:
-                    ArrayList<Order> allOrders = orderRepo.getAllOrders();
-                    responseMsg = new BistroMessage(ActionType.GET_ALL_ORDERS, allOrders);
-                    break;
-                    
-                case GET_WAITING_LIST:
-                    ArrayList<Order> waitlist = orderRepo.getLiveWaitingList();
-                    responseMsg = new BistroMessage(ActionType.GET_WAITING_LIST, waitlist);
-                    break;
-                    
-                case GET_ACTIVE_DINERS:
-                    ArrayList<Order> activeDiners = orderRepo.getActiveDiners();
-                    responseMsg = new BistroMessage(ActionType.GET_ACTIVE_DINERS, activeDiners);
-                    break;
-                
-                case GET_ALL_ACTIVE_ORDERS:
-                    ArrayList<Order> allActiveOrders = orderRepo.getAllActiveOrdersForToday();
-                    responseMsg = new BistroMessage(ActionType.GET_ALL_ACTIVE_ORDERS, allActiveOrders);
-                    break;
-                    
-                case GET_RELEVANT_ORDERS:
-                    // Fetch active orders for a member specifically for TODAY
-                    if (request.getData() instanceof Integer) {
-                        int memberId = (Integer) request.getData();
-                        
-                        ArrayList<Order> relevantOrders = orderRepo.getRelevantOrdersForToday(memberId);
-                        
-                        responseMsg = new BistroMessage(ActionType.GET_RELEVANT_ORDERS, relevantOrders);
-                        log("[Server] Fetched " + relevantOrders.size() + " relevant orders for Member ID: " + memberId);
-                    }
-                    break;
-
-                case GET_AVAILABLE_TIMES:
-                    // Calculates available time slots for a given date and group size
-                    if (request.getData() instanceof ArrayList) {
-                        ArrayList<?> paramsList = (ArrayList<?>) request.getData();
-                        
-                        Object dateObj = paramsList.get(0);
-                        java.sql.Date reqDate;
-                        if (dateObj instanceof java.sql.Date) {
-                            reqDate = (java.sql.Date) dateObj;
-                        } else {
-                             java.util.Date utilDate = (java.util.Date) dateObj;
-                             reqDate = new java.sql.Date(utilDate.getTime());
-                        }
-                        
-                        int reqGuests = (int) paramsList.get(1);
-                        System.out.println("DEBUG: Calculating available slots for " + reqDate + ", Guests: " + reqGuests);
-
-                        List<String> availableTimes = reservationLogic.getAvailableSlotsForDate(reqDate, reqGuests);
-                        responseMsg = new BistroMessage(ActionType.GET_AVAILABLE_TIMES, availableTimes);
-                    } else {
-                        responseMsg = new BistroMessage(ActionType.GET_AVAILABLE_TIMES, null);
-                    }
-                    break;
-
-                case ADD_TABLE:
-                    if (request.getData() instanceof Table) {
-                        Table newTable = (Table) request.getData();
-                        boolean success = tableRepo.addTable(newTable);
-                        if (success) {
-                            log("[Management] Added Table " + newTable.getTableId());
-                            responseMsg = new BistroMessage(ActionType.ADD_TABLE, "Success");
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.ADD_TABLE, "Failed: ID might exist");
-                        }
-                    }
-                    break;
-
-                case REMOVE_TABLE:
-                    if (request.getData() instanceof Integer) {
-                        int tableIdToRemove = (Integer) request.getData();
-                        
-                        //  Delete table and get list of cancelled orders
-                        ArrayList<Order> cancelledList = tableRepo.deleteTableSafely(tableIdToRemove);
-
-                        if (cancelledList != null) {
-                            //  Prepare the detailed report for the client (Manager)
-                            StringBuilder clientResponse = new StringBuilder();
-                            clientResponse.append("Success. Table ").append(tableIdToRemove).append(" removed.\n");
-
-                            if (cancelledList.isEmpty()) {
-                                clientResponse.append("No future orders were affected.");
-                                log("[Management] Removed Table " + tableIdToRemove + ". No conflicts.");
-                            } else {
-                                clientResponse.append("WARNING: ").append(cancelledList.size()).append(" orders were cancelled!\n\n");
-                                clientResponse.append("--- Notifications Sent ---\n");
-                                
-                                log("[System] Table removed. Found " + cancelledList.size() + " overbooked orders.");
-
-                                for (Order o : cancelledList) {
-                                    // Create the message string
-                                    String logMsg = "SMS sent to: " + o.getEmail() + 
-                                                  " (Customer: " + o.getCustomerName() + 
-                                                  ", Order #" + o.getOrderNumber() + ")";
-
-                                    // Log to Server GUI/Console
-                                    log("[SIMULATION] " + logMsg);
-
-                                    // Append to the response sent to the Manager
-                                    clientResponse.append("- ").append(logMsg).append("\n");
-                                }
-                            }
-                            
-                            //  Send the full report string back to the client
-                            responseMsg = new BistroMessage(ActionType.REMOVE_TABLE, clientResponse.toString());
-                            
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.REMOVE_TABLE, "Failed: Table ID not found");
-                        }
-                    }
-                    break;
-                case UPDATE_TABLE:
-                    if (request.getData() instanceof Table) {
-                        Table tableToUpdate = (Table) request.getData();
-                     // Execute update and retrieve list of conflicts (if any)
-                        ArrayList<Order> cancelledList = tableRepo.updateTableSafely(tableToUpdate);
-
-                        if (cancelledList != null) {
-                        	// Construct the report message for the Manager
-                            StringBuilder clientResponse = new StringBuilder();
-                            clientResponse.append("Success. Table #").append(tableToUpdate.getTableId()).append(" updated.\n");
-
-                            if (cancelledList.isEmpty()) {
-                                clientResponse.append("No future orders were affected.");
-                                log("[Management] Updated Table " + tableToUpdate.getTableId() + ". No conflicts.");
-                            } else {
-                                clientResponse.append("WARNING: ").append(cancelledList.size()).append(" orders cancelled due to capacity change!\n\n");
-                                clientResponse.append("--- Notifications Sent ---\n");
-                                
-                                log("[System] Table updated. Found " + cancelledList.size() + " conflicts.");
-                                
-                             // Simulate SMS/Email for each cancelled customer
-                                for (Order o : cancelledList) {
-                                    String logMsg = "SMS sent to: " + o.getEmail() + 
-                                                  " (Customer: " + o.getCustomerName() + 
-                                                  ", Order #" + o.getOrderNumber() + ")";
-                                    
-                                    log("[SIMULATION] " + logMsg);
-                                    clientResponse.append("- ").append(logMsg).append("\n");
-                                }
-                            }
-                            
-                            responseMsg = new BistroMessage(ActionType.UPDATE_TABLE, clientResponse.toString());
-                        } else {
-                        		// Return error if table ID not found or table is OCCUPIED
-                            responseMsg = new BistroMessage(ActionType.UPDATE_TABLE, "Failed: Table ID not found or OCCUPIED.");
-                        }
-                    }
-                    break;
-
-                case GET_OPENING_HOURS:
-                    ArrayList<OpeningHour> hoursList = hoursRepo.getAllOpeningHours();
-                    responseMsg = new BistroMessage(ActionType.GET_OPENING_HOURS, hoursList);
-                    break;
-
-                case UPDATE_OPENING_HOURS:
-                    // Updates restaurant schedule and handles conflicts
-                    if (request.getData() instanceof OpeningHour) {
-                        OpeningHour hourToUpdate = (OpeningHour) request.getData();
-                        boolean success = hoursRepo.updateOpeningHour(hourToUpdate);
-
-                        if (success) {
-                            //  Check for conflicts
-                            ArrayList<Order> cancelledOrders = orderRepo.cancelConflictingOrders(hourToUpdate);
-                            
-                            //  Build the detailed report
-                            StringBuilder clientResponse = new StringBuilder();
-                            clientResponse.append("Hours updated successfully.\n");
-
-                            if (cancelledOrders.isEmpty()) {
-                                clientResponse.append("No existing orders were affected.");
-                                log("[Server] Hours updated. No conflicts found.");
-                            } else {
-                                clientResponse.append("WARNING: ").append(cancelledOrders.size()).append(" orders cancelled due to new hours!\n\n");
-                                clientResponse.append("--- Notifications Sent ---\n");
-                                
-                                log("[Notification System] Starting conflict resolution...");
-                                
-                                for (Order o : cancelledOrders) {
-                                    // Create the message string
-                                    String logMsg = "SMS sent to: " + o.getEmail() + 
-                                                  " (Customer: " + o.getCustomerName() + 
-                                                  ", Order #" + o.getOrderNumber() + ")";
-                                    
-                                    // Log to Server GUI
-                                    log("[SIMULATION] " + logMsg);
-                                    
-                                    // Append to Client Report
-                                    clientResponse.append("- ").append(logMsg).append("\n");
-                                }
-                            }
-                            
-                            //  Send the full report back to the client
-                            responseMsg = new BistroMessage(ActionType.UPDATE_OPENING_HOURS, clientResponse.toString());
-                            
-                        } else {
-                            log("[Error] Failed to update opening hours.");
-                            responseMsg = new BistroMessage(ActionType.UPDATE_OPENING_HOURS, "Error: Update failed");
-                        }
-                    }
-                    break;
-
-                case GET_ORDER_BY_CODE:
-                    if (request.getData() instanceof Integer) {
-                        int code1 = (Integer) request.getData();
-                        common.Order foundOrder = orderRepo.getOrderByCode(code1);
-
-                        if (foundOrder != null) {
-                            int guests = foundOrder.getNumberOfGuests();
-                            User payer = null;
-                            if (foundOrder.getMemberId() > 0) {
-                                payer = new User(0, "D", "D", "0", "e", Role.MEMBER, "0", "0", 0);
-                            }
-                            double basePrice = guests * 100.0;
-                            double finalPrice = userLogic.calculateFinalPrice(payer, basePrice);
-                            foundOrder.setTotalPrice(finalPrice);
-                            responseMsg = new BistroMessage(ActionType.GET_ORDER_BY_CODE, foundOrder);
-                        } else {
-                            responseMsg = new BistroMessage(ActionType.GET_ORDER_BY_CODE, null);
-                        }
-                    }
-                    break;
-                    
-                case GET_ALL_TABLES:
-                    ArrayList<Table> allTables = tableRepo.getAllTables();
-                    log("[Management] Fetched " + allTables.size() + " tables from DB.");
-                    responseMsg = new BistroMessage(ActionType.GET_ALL_TABLES, allTables);
-                    break;
-
-                // Report Generation
-
-                case GET_PERFORMANCE_REPORT:
-                    int[] perfParams = (int[]) request.getData();
-                    int perfMonth = perfParams[0];
-                    int perfYear = perfParams[1];
-
-                    Map<String, Integer> rawPerfData = orderRepo.getPerformanceReportData(perfMonth, perfYear);
-                    common.Report perfReport = new common.Report(perfMonth, perfYear, "PERFORMANCE");
-                    
-                    if (rawPerfData != null) {
-                        for (Map.Entry<String, Integer> entry : rawPerfData.entrySet()) {
-                            perfReport.addData(entry.getKey(), entry.getValue());
-                        }
-                    }
-                    responseMsg = new BistroMessage(ActionType.GET_PERFORMANCE_REPORT, perfReport);
-                    log("[Reports] Generated Performance Report for " + perfMonth + "/" + perfYear);
-                    break;
-
-                case GET_SUBSCRIPTION_REPORT:
-                    int[] subParams = (int[]) request.getData();
-                    int subMonth = subParams[0];
-                    int subYear = subParams[1];
-
-                    Map<String, Integer> rawSubData = orderRepo.getSubscriptionReportData(subMonth, subYear);
-                    common.Report subReport = new common.Report(subMonth, subYear, "SUBSCRIPTION");
-                    
-                    if (rawSubData != null) {
-                        for (Map.Entry<String, Integer> entry : rawSubData.entrySet()) {
-                            subReport.addData(entry.getKey(), entry.getValue());
-                        }
-                    }
-                    responseMsg = new BistroMessage(ActionType.GET_SUBSCRIPTION_REPORT, subReport);
-                    log("[Reports] Generated Subscription Report for " + subMonth + "/" + subYear);
-                    break;
-                    
-                case LOGOUT:
-                    // Handles the logout request to allow switching users.
-                    if (request.getData() instanceof Integer) {
-                        int userId = (Integer) request.getData();
-                        
-                        //  Update database status to Offline
-                        userRepo.logoutUser(userId); 
-                        
-                        //  Log the event on the server console
-                        log(" User ID " + userId + " logged out.");
-                        
-                        //  Send success message back to client so it can switch scenes
-                        responseMsg = new BistroMessage(ActionType.LOGOUT, "Success");
-                    }
-                    break;
-
-                case CLIENT_QUIT:
-                    log("[Server] Client disconnected.");
-                    String ip = client.getInetAddress().getHostAddress();
-                    String host = client.getInetAddress().getHostName();
-                    updateClientListInUI(ip, host, "Disconnected");
-                    try {
-                        client.close(); 
-                    } catch (IOException e) {}
-                    return;
-
-                default:
-                    log("[Error] Unsupported ActionType: " + type);
-                    break;
-            }
-        } catch (Exception e) {
-            log("[Exception] " + type + " failed: " + e.getMessage());
-            e.printStackTrace(); // Helpful for debugging
-            responseMsg = new BistroMessage(type, "ERROR: " + e.getMessage());
-        }
-
-        if (responseMsg != null) {
-            try {
-                client.sendToClient(responseMsg);
-            } catch (IOException e) {
-                log("[Error] Could not send response: " + e.getMessage());
-            }
-        }
-
-        log("-------------------------------------------");
-    }
+package server;
+
+import common.*;
+import common.Table;
+import logic.ReservationLogic;
+import logic.UserManagement;
+import ocsf.server.AbstractServer;
+import ocsf.server.ConnectionToClient;
+import server.RequestDispatcher.Workload;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.sql.Timestamp;
+import gui.ServerPortFrameController;
+import common.Role;
+
+/**
+ * The main Server class that handles all communication with the clients.
+ *
+ * Software Structure:
+ * This class acts as the central hub of the Server Layer. It extends the OCSF AbstractServer.
+ * It receives messages from clients (Client Layer), processes them using the Logic Layer
+ * (UserManagement, ReservationLogic), and accesses data via the Database Layer (Repositories).
+ * Each ActionType has a handler method registered with the RequestDispatcher, which runs it
+ * on the worker pool of its workload (interactive, heavy read or write).
+ * It also manages the background Scheduler for automated tasks.
+ *
+ * UI Components:
+ * This class connects to the Server GUI to display logs, errors, and the list of connected clients.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class BistroServer extends AbstractServer {
+
+    /** Repository for handling Order database operations. */
+    private OrderRepository orderRepo;
+    /** Repository for handling User database operations. */
+    private UserRepository userRepo;
+    /** Logic class for user-related business rules. */
+    private UserManagement userLogic;
+    /** Logic class for reservation algorithms. */
+    private ReservationLogic reservationLogic;
+    /** Background task runner for automated checks. */
+    private final OrderScheduler scheduler;
+    /** Repository for handling Table database operations. */
+    private TableRepository tableRepo;
+    /** Repository for handling Opening Hours database operations. */
+    private OpeningHoursRepository hoursRepo;
+    /** Interface for sending logs to the Server GUI. */
+    private final ChatIF serverUI;
+    /** The request handlers and the pools they run in. */
+    private final RequestDispatcher dispatcher = new RequestDispatcher();
+    /** Request counts and latency histograms per ActionType. */
+    private final RequestMetrics metrics = new RequestMetrics();
+    /** Requests turned away because the pool of their workload was full. */
+    private final LongAdder rejected = new LongAdder();
+    /** Who is behind each connection, for routing notifications. */
+    private final SessionRegistry sessions = new SessionRegistry();
+    /** Responses of requests with an idempotency key, returned again to retries. */
+    private final IdempotencyCache idempotency = new IdempotencyCache();
+    /** Codec for outgoing frames when the NIO transport is used. */
+    private final BistroCodec codec = BistroCodecs.configured();
+    /** Sends the remaining pages of streamed requests, taking turns between clients. */
+    private final ScheduledExecutorService pageStreamer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Page streamer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Returned by a handler whose response was already sent, or is being streamed. */
+    private static final BistroMessage NO_RESPONSE = new BistroMessage(null, null);
+
+    /**
+     * Constructor. Initializes all repositories, logic classes, and the scheduler.
+     *
+     * @param port The port number to listen on.
+     * @param serverUI The GUI controller to display logs.
+     */
+    public BistroServer(int port, ChatIF serverUI) {
+        super(port);
+        this.serverUI = serverUI;
+        ServerLog.setDisplay(serverUI);
+        this.orderRepo = new OrderRepository();
+        this.userRepo = new UserRepository();
+        this.userLogic = new UserManagement();
+        this.reservationLogic = new ReservationLogic();
+        this.tableRepo = new TableRepository();
+        this.hoursRepo = new OpeningHoursRepository();
+        registerHandlers();
+
+        // Start background tasks
+        this.scheduler = new OrderScheduler(orderRepo, this);
+        this.scheduler.start();
+
+        log("[Server] Order Scheduler initialized and started.");
+    }
+
+    /**
+     * Helper method to display messages on the console and the Server GUI.
+     * The line is handed to the asynchronous {@link ServerLog}, so the caller never waits.
+     * @param s The message to display.
+     */
+    private void log(String s) {
+        ServerLog.info(s);
+    }
+
+    /**
+     * Sends a SERVER_NOTIFICATION about an order only to the clients it concerns:
+     * the member's logged-in sessions, the terminals that used the order's code,
+     * and the logged-in Workers and Managers.
+     *
+     * Inside a transaction it is sent once the transaction is committed.
+     *
+     * @param text The notification text (simulated SMS/Email).
+     * @param order The order the notification is about.
+     */
+    public void sendNotification(String text, Order order) {
+        MySQLConnectionPool.getInstance().afterCommit(() -> {
+            Set<ConnectionToClient> recipients =
+                    sessions.recipients(order.getMemberId(), order.getConfirmationCode());
+            RequestTrace.run("broadcast SERVER_NOTIFICATION",
+                    () -> sendToClients(new BistroMessage(ActionType.SERVER_NOTIFICATION, text), recipients));
+            log("[Notification] Order #" + order.getOrderNumber() + " -> " + recipients.size() + " client(s).");
+        });
+    }
+
+    /**
+     * Records that an order's confirmation code belongs to a connection, once the current
+     * transaction (if any) is committed, so a rolled back request leaves no binding behind.
+     *
+     * @param client The connection.
+     * @param confirmationCode The order's confirmation code.
+     */
+    private void bindCodeOnCommit(ConnectionToClient client, int confirmationCode) {
+        MySQLConnectionPool.getInstance().afterCommit(() -> sessions.bindCode(client, confirmationCode));
+    }
+
+    /**
+     * Forgets an order's confirmation code once the current transaction (if any) is committed.
+     *
+     * @param confirmationCode The order's confirmation code.
+     */
+    private void releaseCodeOnCommit(int confirmationCode) {
+        MySQLConnectionPool.getInstance().afterCommit(() -> sessions.releaseCode(confirmationCode));
+    }
+
+    /**
+     * Pushes the current state of an order to the dashboards subscribed to
+     * ORDER_UPDATE events, once the current transaction (if any) is committed.
+     * Does nothing if no client is subscribed.
+     *
+     * @param order The order that was added or changed.
+     */
+    public void publishOrderUpdate(Order order) {
+        if (order == null || !sessions.hasOrderSubscribers()) {
+            return;
+        }
+        MySQLConnectionPool.getInstance().afterCommit(() -> {
+            RequestTrace.run("broadcast ORDER_UPDATE",
+                    () -> sendToClients(new BistroMessage(ActionType.ORDER_UPDATE, order), sessions.orderSubscribers()));
+        });
+    }
+
+    /**
+     * Reads an order by its number and pushes it to the ORDER_UPDATE subscribers.
+     * The database is only queried when a client is subscribed.
+     *
+     * @param orderNumber The number of the order that changed.
+     */
+    private void publishOrderUpdate(int orderNumber) {
+        if (sessions.hasOrderSubscribers()) {
+            publishOrderUpdate(orderRepo.getOrderById(orderNumber));
+        }
+    }
+
+    /**
+     * Reads an order by its confirmation code before it is changed, so the change
+     * can be published afterwards. Returns null when no client is subscribed.
+     *
+     * @param confirmationCode The order's confirmation code.
+     * @return The order as currently stored, or null.
+     */
+    private Order orderBeforeUpdate(int confirmationCode) {
+        return sessions.hasOrderSubscribers() ? orderRepo.getOrderByCode(confirmationCode) : null;
+    }
+
+    /**
+     * Sets the new status on an order read with {@link #orderBeforeUpdate(int)} and publishes it.
+     *
+     * @param order The order, or null if nobody is subscribed.
+     * @param status The status the order now has.
+     */
+    private void publishStatusChange(Order order, String status) {
+        if (order != null) {
+            order.setStatus(status);
+            publishOrderUpdate(order);
+        }
+    }
+
+    /**
+     * Answers a paged request. Returns the first page, or, for a streamed request with
+     * more than one page, sends the first page right away and leaves the rest to the
+     * page streamer, which sends them (with the request's ID) as the client's outbound
+     * queue drains. Each page borrows a pooled connection only for its own query.
+     *
+     * @param request The client's request.
+     * @param pageRequest The page size, cursor and streaming flag.
+     * @param query The repository method reading one page.
+     * @param client The connection to send the pages to.
+     * @return The message carrying the only page, or {@link #NO_RESPONSE} if the pages are streamed.
+     * @throws IOException If the first page cannot be sent.
+     */
+    private <T> BistroMessage sendPages(BistroMessage request, PageRequest pageRequest,
+            Function<PageRequest, Page<T>> query, ConnectionToClient client) throws IOException {
+        Page<T> page = query.apply(pageRequest);
+        if (!pageRequest.isStreamed() || page.isLast()) {
+            return new BistroMessage(request.getType(), page);
+        }
+        BistroMessage first = new BistroMessage(request.getType(), page);
+        first.setRequestId(request.getRequestId());
+        client.sendToClient(first);
+        pageStreamer.execute(new PageStream<>(request, pageRequest.next(page), query, client));
+        return NO_RESPONSE;
+    }
+
+    /**
+     * Sends the remaining pages of a streamed request, one page per run. A run that finds
+     * the client's outbound queue more than half full reschedules itself instead of
+     * querying, so a slow client is never disconnected for reading a long list slowly
+     * and the connection thread that received the request is not held up.
+     */
+    private class PageStream<T> implements Runnable {
+        private final BistroMessage request;
+        private final Function<PageRequest, Page<T>> query;
+        private final ConnectionToClient client;
+        private PageRequest pageRequest;
+        private int pages = 1;
+
+        PageStream(BistroMessage request, PageRequest pageRequest,
+                Function<PageRequest, Page<T>> query, ConnectionToClient client) {
+            this.request = request;
+            this.pageRequest = pageRequest;
+            this.query = query;
+            this.client = client;
+        }
+
+        @Override
+        public void run() {
+            if (client.getOutboundQueueSize() > getOutboundQueueLimit() / 2) {
+                pageStreamer.schedule(this, 20, TimeUnit.MILLISECONDS);
+                return;
+            }
+            try {
+                Page<T> page = query.apply(pageRequest);
+                BistroMessage part = new BistroMessage(request.getType(), page);
+                part.setRequestId(request.getRequestId());
+                client.sendToClient(part);
+                pages++;
+                if (page.isLast()) {
+                    log("[Paging] " + request.getType() + " sent " + pages + " page(s) of up to " + pageRequest.getPageSize() + " rows.");
+                } else {
+                    pageRequest = pageRequest.next(page);
+                    pageStreamer.execute(this);
+                }
+            } catch (Exception e) {
+                log("[Paging] " + request.getType() + " stopped after " + pages + " page(s): " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Encodes an outgoing message for the NIO transport with the configured codec.
+     */
+    @Override
+    protected byte[] encodeFrame(Object msg) throws IOException {
+        return RequestTrace.call("encode", () -> codec.encode(msg));
+    }
+
+    /**
+     * Decodes an incoming NIO frame with the codec named in its format byte.
+     */
+    @Override
+    protected Object decodeFrame(byte[] frame) throws IOException {
+        long start = System.nanoTime();
+        Object msg = BistroCodecs.decode(frame);
+        RequestTrace.decoded(System.nanoTime() - start);
+        return msg;
+    }
+
+    /**
+     * Called when the server successfully starts listening for connections.
+     */
+    @Override
+    protected void serverStarted() {
+    		userRepo.resetAllLoginStatus();
+        log("[Server] Bistro Server Listening on port " + getPort()
+                + (isNioMode() ? " (NIO transport)" : "")
+                + (isUsingVirtualThreads() ? " (virtual threads)" : ""));
+    }
+
+    /**
+     * Called when the server stops listening.
+     */
+    @Override
+    protected void serverStopped() {
+        log("[Server] Server stopped.");
+    }
+
+    /**
+     * Called when a new client connects to the server.
+     * Updates the connected clients list in the UI.
+     * @param client The connection object of the new client.
+     */
+    @Override
+    protected void clientConnected(ConnectionToClient client) {
+        String ip = client.getInetAddress().getHostAddress();
+        String host = client.getInetAddress().getHostName();
+        log("[Client Connected] IP: " + ip);
+        updateClientListInUI(ip, host, "Connected");
+    }
+
+    /**
+     * Called when a message could not be queued for a client that reads too slowly.
+     * @param client The connection whose outbound queue is full.
+     * @param disconnected true if the client is being disconnected, false if the message was dropped.
+     */
+    @Override
+    protected void slowConsumer(ConnectionToClient client, boolean disconnected) {
+        if (disconnected) {
+            InetAddress address = client.getInetAddress();
+            log("[Slow Client] Outbound queue full - disconnecting " + (address == null ? "Unknown" : address.getHostAddress()) + ".");
+        } else if (getDroppedMessages() % 100 == 1) {
+            log("[Slow Client] Outbound queue full - " + getDroppedMessages() + " notification(s) dropped so far.");
+        }
+    }
+
+    /**
+     * Called when a client disconnects.
+     * Updates the connected clients list in the UI.
+     * @param client The connection object of the disconnected client.
+     */
+    @Override
+    synchronized protected void clientDisconnected(ConnectionToClient client) {
+        String ip = (String) client.getInfo("ip");
+        String host = (String) client.getInfo("host");
+
+        if (ip == null) ip = "Unknown";
+        if (host == null) host = "Unknown";
+
+        log("[Client Disconnected] IP: " + ip);
+        sessions.remove(client);
+
+        Object userIdObj = client.getInfo("userId");
+        if (userIdObj != null) {
+            int userId = (int) userIdObj;
+            userRepo.logoutUser(userId); 
+            log("[Auto-Logout] User ID " + userId + " released.");
+        }
+
+        updateClientListInUI(ip, host, "Disconnected");
+    }
+
+    /**
+     * Sends the client status update to the GUI controller.
+     *
+     * @param ip The client's IP.
+     * @param host The client's Host name.
+     * @param status The status (Connected/Disconnected).
+     */
+    private void updateClientListInUI(String ip, String host, String status) {
+        if (serverUI instanceof ServerPortFrameController) {
+            ServerPortFrameController screenController = (ServerPortFrameController) serverUI;
+            screenController.updateClientList(ip, host, status);
+        }
+    }
+
+    /**
+     * The main method that receives all requests coming from clients.
+     * It only queues the request behind the client's earlier ones, to run in the pool of its
+     * workload (see {@link RequestDispatcher}), and returns, so the connection thread is free
+     * for the next message while the request runs. The client gets its responses in the
+     * order of its requests. If the pool is saturated, the client is told to try again.
+     *
+     * @param msg The message object sent by the client.
+     * @param client The connection to the client.
+     */
+    @Override
+    protected void handleMessageFromClient(Object msg, ConnectionToClient client) {
+        if (!(msg instanceof BistroMessage)) {
+            log("[Error] Invalid message type received.");
+            return;
+        }
+
+        BistroMessage request = (BistroMessage) msg;
+        long receivedNanos = System.nanoTime();
+        long decodeNanos = RequestTrace.takeDecoded();
+        RequestDispatcher.ClientQueue queue = queueOf(client);
+        if (request.getType() == ActionType.CLIENT_QUIT) {
+            // Closes the connection only after the earlier requests were answered
+            dispatcher.runInOrder(queue, () -> process(request, client, receivedNanos, decodeNanos));
+            return;
+        }
+        dispatcher.submit(queue, request, () -> process(request, client, receivedNanos, decodeNanos), () -> {
+            log("[Busy] " + dispatcher.workloadOf(request) + " pool is full - rejected " + request.getType() + ".");
+            reply(request, new BistroMessage(request.getType(), "ERROR: Server is busy, please try again."), client);
+            rejected.increment();
+            metrics.record(request.getType(), receivedNanos, true);
+        });
+    }
+
+    /**
+     * Returns the queue that keeps the requests of a client in order, creating it with
+     * the client's first request.
+     *
+     * @param client The connection to the client.
+     * @return The client's queue.
+     */
+    private RequestDispatcher.ClientQueue queueOf(ConnectionToClient client) {
+        synchronized (client) {
+            RequestDispatcher.ClientQueue queue = (RequestDispatcher.ClientQueue) client.getInfo("requestQueue");
+            if (queue == null) {
+                queue = dispatcher.newClientQueue();
+                client.setInfo("requestQueue", queue);
+            }
+            return queue;
+        }
+    }
+
+    /**
+     * Executes a request and sends its response back with the request's ID.
+     * A BATCH is executed request by request; any other request is handled by
+     * {@link #handleRequest(BistroMessage, ConnectionToClient)}, unless it is the retry of
+     * a request with the same idempotency key, which gets the first response again.
+     *
+     * The request is then recorded in the metrics, and traced stage by stage with
+     * {@link RequestTrace} so that a slow request is logged with its breakdown.
+     *
+     * @param request The request sent by the client.
+     * @param client The connection to the client.
+     * @param receivedNanos The System.nanoTime() at which the request was received.
+     * @param decodeNanos The time the request took to decode (0 if unknown).
+     */
+    private void process(BistroMessage request, ConnectionToClient client, long receivedNanos, long decodeNanos) {
+        ServerLog.debug("-------------------------------------------");
+        ActionType type = request.getType();
+        RequestTrace.begin(type, request.getRequestId(), receivedNanos, decodeNanos);
+        BistroMessage responseMsg = type == ActionType.BATCH
+                ? handleBatch(request, client)
+                : idempotency.execute(request, () -> handleRequest(request, client));
+
+        // A correlated request always gets an answer, so the client can match it
+        if (responseMsg == NO_RESPONSE) {
+            responseMsg = null;
+        } else if (responseMsg == null && request.getRequestId() != 0) {
+            responseMsg = new BistroMessage(type, null);
+        }
+
+        if (responseMsg != null) {
+            reply(request, responseMsg, client);
+        }
+        boolean error = responseMsg != null && responseMsg.isError();
+        metrics.record(type, receivedNanos, error);
+        RequestTrace.end(error);
+
+        ServerLog.debug("-------------------------------------------");
+    }
+
+    /**
+     * Builds the metrics report shown by the server console: requests, errors and latency
+     * percentiles per ActionType, followed by the state of the outbound queues.
+     *
+     * @return The report.
+     */
+    public String metricsReport() {
+        StringBuilder report = new StringBuilder(metrics.report(rejected.sum()));
+        report.append(String.format("%n[Outbound] %d message(s) queued now, high-water %d per client, %d dropped, %d slow client(s) disconnected",
+                getOutboundQueueDepth(), getOutboundHighWater(), getDroppedMessages(), getSlowConsumerDisconnects()));
+        report.append(System.lineSeparator()).append(MySQLConnectionPool.getInstance().getStats());
+        report.append(System.lineSeparator()).append(PooledConnection.getStatementStats());
+        report.append(String.format("%n[Idempotency] %d key(s) kept, %d retry(ies) answered without running again",
+                idempotency.size(), idempotency.getHits()));
+        for (String slow : RequestTrace.recentSlow()) {
+            report.append(System.lineSeparator()).append(slow);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Clears the request counters and latency histograms.
+     */
+    public void resetMetrics() {
+        metrics.reset();
+        rejected.reset();
+    }
+
+    /**
+     * Sends a response to a client with the ID of the request it answers.
+     *
+     * @param request The request being answered.
+     * @param responseMsg The response.
+     * @param client The connection to the client.
+     */
+    private void reply(BistroMessage request, BistroMessage responseMsg, ConnectionToClient client) {
+        responseMsg.setRequestId(request.getRequestId());
+        try {
+            RequestTrace.run("send", () -> client.sendToClient(responseMsg));
+        } catch (IOException e) {
+            log("[Error] Could not send response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executes the requests of a BATCH in order and collects their responses, so a
+     * client needs one round trip instead of one per request. A transactional batch
+     * runs in one database transaction, which is committed only if no request failed;
+     * its remaining requests are skipped after the first failure.
+     * Each request goes through the idempotency cache like a request sent alone, so a
+     * retried batch does not book or charge twice.
+     *
+     * @param request The BATCH message carrying a BatchRequest.
+     * @param client The connection to the client.
+     * @return The BATCH response, whose data is the list of responses (null entries for
+     *         requests that have no response), or an error message.
+     */
+    private BistroMessage handleBatch(BistroMessage request, ConnectionToClient client) {
+        if (!(request.getData() instanceof BatchRequest)) {
+            return new BistroMessage(ActionType.BATCH, "ERROR: Invalid batch.");
+        }
+        BatchRequest batch = (BatchRequest) request.getData();
+        if (batch.getRequests().size() > BatchRequest.MAX_REQUESTS) {
+            return new BistroMessage(ActionType.BATCH, "ERROR: A batch holds at most " + BatchRequest.MAX_REQUESTS + " requests.");
+        }
+        log("[Batch] " + batch.getRequests().size() + " request(s)" + (batch.isTransactional() ? " in one transaction." : "."));
+
+        MySQLConnectionPool pool = MySQLConnectionPool.getInstance();
+        boolean failed = false;
+        try {
+            if (batch.isTransactional()) {
+                pool.beginTransaction();
+            }
+        } catch (SQLException e) {
+            log("[Batch] Could not start the transaction: " + e.getMessage());
+            return new BistroMessage(ActionType.BATCH, "ERROR: " + e.getMessage());
+        }
+
+        ArrayList<BistroMessage> responses = new ArrayList<>();
+        boolean ended = !batch.isTransactional();
+        try {
+            for (BistroMessage part : batch.getRequests()) {
+                BistroMessage response;
+                if (failed) {
+                    response = new BistroMessage(part.getType(), "ERROR: Skipped after a failed request.");
+                } else if (!isBatchable(part)) {
+                    response = new BistroMessage(part.getType(), "ERROR: Not allowed in a batch.");
+                } else {
+                    response = idempotency.execute(part, () -> handleRequest(part, client));
+                }
+                if (response == NO_RESPONSE) {
+                    response = null;
+                }
+                if (batch.isTransactional() && response != null && response.isError()) {
+                    failed = true;
+                }
+                responses.add(response);
+            }
+            if (!ended) {
+                ended = true;
+                pool.endTransaction(!failed);
+                log("[Batch] Transaction " + (failed ? "rolled back." : "committed."));
+            }
+        } catch (SQLException e) {
+            log("[Batch] Transaction could not be committed: " + e.getMessage());
+            return new BistroMessage(ActionType.BATCH, "ERROR: " + e.getMessage());
+        } finally {
+            if (!ended) {
+                try {
+                    pool.endTransaction(false);
+                } catch (SQLException e) {
+                    log("[Batch] Transaction could not be rolled back: " + e.getMessage());
+                }
+            }
+        }
+        return new BistroMessage(ActionType.BATCH, responses);
+    }
+
+    /**
+     * @param part A request inside a batch.
+     * @return false for the requests a batch cannot carry: a batch, a CLIENT_QUIT or a streamed page request.
+     */
+    private static boolean isBatchable(BistroMessage part) {
+        ActionType type = part.getType();
+        if (type == null || type == ActionType.BATCH || type == ActionType.CLIENT_QUIT) {
+            return false;
+        }
+        return !(part.getData() instanceof PageRequest && ((PageRequest) part.getData()).isStreamed());
+    }
+
+    /**
+     * Registers the handler of every ActionType with the pool it runs in.
+     * Writes run one at a time on the write pool; reports and long lists on the
+     * heavy-read pool; everything else on the interactive pool.
+     * CLIENT_QUIT is not registered: it runs in the client's queue, after its earlier requests.
+     */
+    private void registerHandlers() {
+        dispatcher.register(ActionType.LOGIN, Workload.WRITE, this::handleLogin);
+        dispatcher.register(ActionType.REGISTER_CLEINT, Workload.WRITE, this::handleRegisterClient);
+        dispatcher.register(ActionType.UPDATE_USER_INFO, Workload.WRITE, this::handleUpdateUserInfo);
+        dispatcher.register(ActionType.IDENTIFY_BY_QR, Workload.INTERACTIVE, this::handleIdentifyByQr);
+        dispatcher.register(ActionType.GET_USER_HISTORY, Workload.HEAVY_READ, this::handleGetUserHistory);
+        dispatcher.register(ActionType.GET_ALL_MEMBERS, Workload.HEAVY_READ, this::handleGetAllMembers);
+        dispatcher.register(ActionType.CREATE_ORDER, Workload.WRITE, this::handleCreateOrder);
+        dispatcher.register(ActionType.CANCEL_ORDER, Workload.WRITE, this::handleCancelOrder);
+        dispatcher.register(ActionType.VALIDATE_ARRIVAL, Workload.WRITE, this::handleValidateArrival);
+        dispatcher.register(ActionType.ENTER_WAITLIST, Workload.WRITE, this::handleEnterWaitlist);
+        dispatcher.register(ActionType.LEAVE_WAITLIST, Workload.WRITE, this::handleLeaveWaitlist);
+        dispatcher.register(ActionType.RESTORE_CODE, Workload.INTERACTIVE, this::handleRestoreCode);
+        dispatcher.register(ActionType.PAY_BILL, Workload.WRITE, this::handlePayBill);
+        dispatcher.register(ActionType.GET_ALL_ORDERS, Workload.HEAVY_READ, this::handleGetAllOrders);
+        dispatcher.register(ActionType.GET_WAITING_LIST, Workload.INTERACTIVE, this::handleGetWaitingList);
+        dispatcher.register(ActionType.GET_ACTIVE_DINERS, Workload.INTERACTIVE, this::handleGetActiveDiners);
+        dispatcher.register(ActionType.GET_ALL_ACTIVE_ORDERS, Workload.INTERACTIVE, this::handleGetAllActiveOrders);
+        dispatcher.register(ActionType.GET_RELEVANT_ORDERS, Workload.INTERACTIVE, this::handleGetRelevantOrders);
+        dispatcher.register(ActionType.GET_AVAILABLE_TIMES, Workload.HEAVY_READ, this::handleGetAvailableTimes);
+        dispatcher.register(ActionType.ADD_TABLE, Workload.WRITE, this::handleAddTable);
+        dispatcher.register(ActionType.REMOVE_TABLE, Workload.WRITE, this::handleRemoveTable);
+        dispatcher.register(ActionType.UPDATE_TABLE, Workload.WRITE, this::handleUpdateTable);
+        dispatcher.register(ActionType.GET_OPENING_HOURS, Workload.INTERACTIVE, this::handleGetOpeningHours);
+        dispatcher.register(ActionType.UPDATE_OPENING_HOURS, Workload.WRITE, this::handleUpdateOpeningHours);
+        dispatcher.register(ActionType.GET_ORDER_BY_CODE, Workload.INTERACTIVE, this::handleGetOrderByCode);
+        dispatcher.register(ActionType.GET_ALL_TABLES, Workload.INTERACTIVE, this::handleGetAllTables);
+        dispatcher.register(ActionType.GET_PERFORMANCE_REPORT, Workload.HEAVY_READ, this::handleGetPerformanceReport);
+        dispatcher.register(ActionType.GET_SUBSCRIPTION_REPORT, Workload.HEAVY_READ, this::handleGetSubscriptionReport);
+        dispatcher.register(ActionType.LOGOUT, Workload.WRITE, this::handleLogout);
+        dispatcher.register(ActionType.SUBSCRIBE_ORDER_UPDATES, Workload.INTERACTIVE, this::handleSubscribeOrderUpdates);
+        dispatcher.register(ActionType.UNSUBSCRIBE_ORDER_UPDATES, Workload.INTERACTIVE, this::handleUnsubscribeOrderUpdates);
+    }
+
+    /**
+     * Handles a single request with the handler registered for its ActionType.
+     *
+     * @param request The request sent by the client.
+     * @param client The connection to the client.
+     * @return The response, null if the request has none, or {@link #NO_RESPONSE} if
+     *         the response was already sent or the connection was closed.
+     */
+    private BistroMessage handleRequest(BistroMessage request, ConnectionToClient client) {
+        ActionType type = request.getType();
+        log("[Request] Processing Action: " + type);
+
+        RequestHandler handler = type == ActionType.CLIENT_QUIT ? this::handleClientQuit : dispatcher.handlerFor(type);
+        if (handler == null) {
+            log("[Error] Unsupported ActionType: " + type);
+            return null;
+        }
+        try {
+            if (dispatcher.workloadOf(request) == Workload.WRITE) {
+                return RequestTrace.call("logic", () -> handleInTransaction(handler, request, client));
+            }
+            return RequestTrace.call("logic", () -> handler.handle(request, client));
+        } catch (Exception e) {
+            log("[Exception] " + type + " failed: " + e.getMessage());
+            e.printStackTrace(); // Helpful for debugging
+            return new BistroMessage(type, "ERROR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a write request as one unit of work: every repository call it makes shares one
+     * connection and one transaction, committed once when the handler returns. If the
+     * handler throws or answers with an error (any text {@link BistroMessage#isError()}
+     * accepts, e.g. "ERROR: ...", "Error: ..." or "Failed: ..."), everything it wrote is
+     * rolled back, so a request never leaves a partial update behind. Notifications it sends go out after
+     * the commit. Inside a transactional batch, the request joins the batch's transaction.
+     * Static and package-private so the tests can run a handler without a server.
+     *
+     * @param handler The request's handler.
+     * @param request The request.
+     * @param client The connection to the client.
+     * @return The handler's response, or an error message if it threw.
+     * @throws SQLException If the transaction could not be started or committed.
+     */
+    static BistroMessage handleInTransaction(RequestHandler handler, BistroMessage request, ConnectionToClient client) throws SQLException {
+        MySQLConnectionPool pool = MySQLConnectionPool.getInstance();
+        return pool.inTransaction(() -> {
+            BistroMessage response;
+            try {
+                response = handler.handle(request, client);
+            } catch (Exception e) {
+                pool.setRollbackOnly();
+                ServerLog.info("[Exception] " + request.getType() + " failed, rolled back: " + e.getMessage());
+                e.printStackTrace();
+                return new BistroMessage(request.getType(), "ERROR: " + e.getMessage());
+            }
+            if (response != null && response != NO_RESPONSE && response.isError()) {
+                pool.setRollbackOnly();
+            }
+            return response;
+        });
+    }
+
+    /**
+     * LOGIN: Authenticates a user with username and password.
+     */
+    private BistroMessage handleLogin(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof User) {
+            User loginData = (User) request.getData();
+            User authenticatedUser = userRepo.login(loginData.getUsername(), loginData.getPassword());
+
+            if (authenticatedUser != null) {
+            	    client.setInfo("userId", authenticatedUser.getUserId());
+                sessions.login(client, authenticatedUser.getUserId(), authenticatedUser.getRole());
+                responseMsg = new BistroMessage(ActionType.LOGIN, authenticatedUser);
+                log("[Login] Success: " + authenticatedUser.getUsername());
+            } else {
+                responseMsg = new BistroMessage(ActionType.LOGIN, "Username or Password incorrect.");
+                log("[Login] Failed attempt for: " + loginData.getUsername());
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * REGISTER_CLEINT: Registers a new user and generates a member ID.
+     */
+    private BistroMessage handleRegisterClient(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof User) {
+            User newUser = (User) request.getData();
+            int memberCode = userRepo.registerUser(newUser);
+            if (memberCode != -1) {
+                newUser.setMemberCode(memberCode);
+                responseMsg = new BistroMessage(ActionType.REGISTER_CLEINT, newUser);
+            } else {
+                responseMsg = new BistroMessage(ActionType.REGISTER_CLEINT, "Registration failed.");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * UPDATE_USER_INFO: Updates phone or email for an existing user.
+     */
+    private BistroMessage handleUpdateUserInfo(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof User) {
+            User userToUpdate = (User) request.getData();
+            boolean updated = userRepo.updateUserInfo(userToUpdate.getUserId(), userToUpdate.getPhone(), userToUpdate.getEmail());
+            if (updated) {
+                responseMsg = new BistroMessage(ActionType.UPDATE_USER_INFO, "Success");
+                log("[User Mgmt] Updated info for User ID: " + userToUpdate.getUserId());
+            } else {
+                responseMsg = new BistroMessage(ActionType.UPDATE_USER_INFO, "Failed");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * IDENTIFY_BY_QR: Finds a user by scanning their unique QR code string.
+     */
+    private BistroMessage handleIdentifyByQr(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof String) {
+            String qrCode = (String) request.getData();
+            User identifiedUser = userRepo.getUserByQRCode(qrCode);
+
+            if (identifiedUser != null) {
+                log("[Identify] Success: " + identifiedUser.getFirstName() + " identified.");
+                responseMsg = new BistroMessage(ActionType.IDENTIFY_BY_QR, identifiedUser);
+            } else {
+                log("[Identify] Failed: QR code not found.");
+                responseMsg = new BistroMessage(ActionType.IDENTIFY_BY_QR, "ERROR: Invalid QR Code");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_USER_HISTORY: Returns the list of past orders for a specific member.
+     */
+    private BistroMessage handleGetUserHistory(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof PageRequest) {
+            responseMsg = sendPages(request, (PageRequest) request.getData(), orderRepo::getMemberHistoryPage, client);
+        } else if (request.getData() instanceof Integer) {
+            int subscriberId = (Integer) request.getData();
+            ArrayList<Order> history = orderRepo.getMemberHistory(subscriberId);
+            responseMsg = new BistroMessage(ActionType.GET_USER_HISTORY, history);
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_ALL_MEMBERS: Returns a list of all registered members (for Management screen).
+     */
+    private BistroMessage handleGetAllMembers(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof PageRequest) {
+            responseMsg = sendPages(request, (PageRequest) request.getData(), userRepo::getMembersPage, client);
+            return responseMsg;
+        }
+        ArrayList<User> allMembers = userRepo.getAllMembers();
+        log("[Management] Sending all user records.");
+        responseMsg = new BistroMessage(ActionType.GET_ALL_MEMBERS, allMembers);
+        return responseMsg;
+    }
+
+    /**
+     * CREATE_ORDER: Logic to create a new reservation. Checks availability first.
+     */
+    private BistroMessage handleCreateOrder(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Order) {
+            Order newOrder = (Order) request.getData();
+            try {
+                List<Timestamp> alternatives = RequestTrace.call("ReservationLogic.checkAvailability",
+                        () -> reservationLogic.checkAvailability(newOrder));
+
+                if (alternatives == null) {
+                    // Table is available - Proceed to book
+                    int code; 
+                    do {
+                        code = (int) (Math.random() * 9000) + 1000;
+                    } while (orderRepo.isCodeExists(code));
+                    
+                    newOrder.setConfirmationCode(code);
+                    newOrder.setStatus("PENDING");
+
+                    int orderId = orderRepo.createOrder(newOrder);
+
+                    if (orderId != -1) {
+                        newOrder.setOrderNumber(orderId);
+                        bindCodeOnCommit(client, code);
+                        publishOrderUpdate(newOrder);
+                        responseMsg = new BistroMessage(ActionType.CREATE_ORDER, newOrder);
+                        log("[Order] Approved. ID: " + orderId + ", Code: " + code);
+                    } else {
+                        log("[Error] Failed to save order to DB!");
+                        responseMsg = new BistroMessage(ActionType.CREATE_ORDER, "ERROR: Database Save Failed (Check Server Logs)");
+                    }
+                } else {
+                    // Table unavailable - Return alternatives
+                    responseMsg = new BistroMessage(ActionType.ORDER_ALTERNATIVES, alternatives);
+                    log("[Order] Time unavailable. Suggesting alternatives.");
+                }
+            } catch (IllegalArgumentException e) {
+                responseMsg = new BistroMessage(ActionType.CREATE_ORDER, "ERROR: " + e.getMessage());
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * CANCEL_ORDER: Cancels a pending order.
+     */
+    private BistroMessage handleCancelOrder(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        int codeToCheck = (int) request.getData();
+        Order toCancel = orderBeforeUpdate(codeToCheck);
+        boolean canceled = orderRepo.cancelOrderByCode(codeToCheck);
+        if (canceled) {
+            releaseCodeOnCommit(codeToCheck);
+            publishStatusChange(toCancel, "CANCELLED");
+            responseMsg = new BistroMessage(ActionType.CANCEL_ORDER, "Success");
+        } else {
+            responseMsg = new BistroMessage(ActionType.CANCEL_ORDER, "SEATED status can not be cancelled");
+        }
+        return responseMsg;
+    }
+
+    /**
+     * VALIDATE_ARRIVAL: Checks in a customer arriving with a confirmation code and seats them at a free table, or moves the order to the waiting list.
+     */
+    private BistroMessage handleValidateArrival(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        int code = (Integer) request.getData();
+        Order order = orderRepo.getOrderByCode(code); 
+
+        if (order != null) {
+            bindCodeOnCommit(client, code);
+            int assignedTable = orderRepo.assignFreeTable(order.getOrderNumber(), order.getNumberOfGuests());
+
+            if (assignedTable != -1) {
+                order.setAssignedTableId(assignedTable);
+                order.setStatus("SEATED");
+                publishOrderUpdate(order);
+                responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, order);
+            } else {
+                if ("PENDING".equals(order.getStatus()) || "NOTIFIED".equals(order.getStatus())) {
+                    orderRepo.updateOrderStatus(order.getOrderNumber(), "WAITING");
+                    order.setStatus("WAITING");
+                    publishOrderUpdate(order);
+                }
+                responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, order);
+            }
+        } else {
+            responseMsg = new BistroMessage(ActionType.VALIDATE_ARRIVAL, "ERROR: Code not found or already used");
+        }
+        return responseMsg;
+    }
+
+    /**
+     * ENTER_WAITLIST: Seats a walk-in customer right away, or adds them to the waiting list when no table is free.
+     */
+    private BistroMessage handleEnterWaitlist(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Order) {
+            Order walkIn = (Order) request.getData();
+            
+            Timestamp serverNow = new Timestamp(System.currentTimeMillis());
+            walkIn.setOrderDate(serverNow);
+
+            if (!hoursRepo.isOpen(serverNow)) {
+                responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: Restaurant is CLOSED.");
+                return responseMsg;
+            }
+            String cleanPhone = (walkIn.getPhone() != null) ? walkIn.getPhone().trim() : "";
+            String cleanEmail = (walkIn.getEmail() != null) ? walkIn.getEmail().trim() : "";
+            
+            walkIn.setPhone(cleanPhone);
+            walkIn.setEmail(cleanEmail);
+            if (orderRepo.hasActiveOrder(cleanPhone, cleanEmail)) {                            responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: You are already in the system.");
+                return responseMsg;
+            }
+
+            int code1;
+            do {
+                code1 = (int) (Math.random() * 9000) + 1000;
+            } while (orderRepo.isCodeExists(code1));
+            walkIn.setConfirmationCode(code1); 
+            bindCodeOnCommit(client, code1);
+
+            if (orderRepo.isTableAvailableNow(walkIn.getNumberOfGuests())) {
+                walkIn.setStatus("SEATED"); 
+                
+                int orderId = orderRepo.createOrder(walkIn); 
+                if (orderId != -1) {
+                    walkIn.setOrderNumber(orderId);
+                    int tableId = orderRepo.assignFreeTable(orderId, walkIn.getNumberOfGuests());
+                    walkIn.setAssignedTableId(tableId);
+                    publishOrderUpdate(walkIn);
+                    
+                    responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, walkIn);
+                    log("[Waitlist] Walk-in SEATED immediately. Table: " + tableId);
+                } else {
+                    responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: DB Save Failed");
+                }
+            } else {
+                walkIn.setStatus("WAITING"); 
+                
+                int orderId = orderRepo.createOrder(walkIn); 
+                if (orderId != -1) {
+                    walkIn.setOrderNumber(orderId);
+                    publishOrderUpdate(walkIn);
+                    responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, walkIn);
+                    log("[Waitlist] No tables. Added to WAITING list. Code: " + code1);
+                } else {
+                    responseMsg = new BistroMessage(ActionType.ENTER_WAITLIST, "Error: DB Save Failed");
+                }
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * LEAVE_WAITLIST: Removes a customer from the waiting list.
+     */
+    private BistroMessage handleLeaveWaitlist(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int confirmationCode = (Integer) request.getData();
+            Order leaving = orderBeforeUpdate(confirmationCode);
+            boolean success = orderRepo.cancelOrderByCode(confirmationCode);
+            
+            if (success) {
+                releaseCodeOnCommit(confirmationCode);
+                publishStatusChange(leaving, "CANCELLED");
+                responseMsg = new BistroMessage(ActionType.LEAVE_WAITLIST, "Success");
+                log("[Waitlist] Customer with code " + confirmationCode + " left the queue.");
+            } else {
+                responseMsg = new BistroMessage(ActionType.LEAVE_WAITLIST, "Error: Code not found");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * RESTORE_CODE: Recovers a lost confirmation code via contact info.
+     */
+    private BistroMessage handleRestoreCode(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof String) {
+            String contact = (String) request.getData();
+            Order found = orderRepo.findOrderByContact(contact);
+            if (found != null) {
+                log("[SMS Simulation] Restored Code " + found.getConfirmationCode() + " sent to " + contact);
+                responseMsg = new BistroMessage(ActionType.RESTORE_CODE, found);
+            } else {
+                responseMsg = new BistroMessage(ActionType.RESTORE_CODE, "ERROR: Can not restore");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * PAY_BILL: Handles payment, calculates final price, and releases the table.
+     */
+    private BistroMessage handlePayBill(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int confirmationCode = (Integer) request.getData();
+            log("[Payment] Request received for Confirmation Code: " + confirmationCode);
+
+            Order dbOrder = orderRepo.getOrderByCode(confirmationCode);
+
+            if (dbOrder != null) {
+                if (dbOrder.getStatus().equals("COMPLETED")) {
+                    responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: Order already paid");
+                    return responseMsg;
+                }
+                if (!dbOrder.getStatus().equals("SEATED") && !dbOrder.getStatus().equals("BILLED")) {
+                    responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: You cannot pay before being seated!");
+                    log("[Payment] Blocked payment for order in status: " + dbOrder.getStatus());
+                    return responseMsg;
+                }
+
+                User payer = null;
+                if (dbOrder.getMemberId() > 0) {
+                    payer = new User();
+                    payer.setRole(Role.MEMBER);
+                    log("[Payment] Subscriber identified. Applying discount.");
+                }
+
+                double basePrice = dbOrder.getNumberOfGuests() * 100.0;
+                double finalPrice = userLogic.calculateFinalPrice(payer, basePrice);
+
+                int freedTableCapacity = 0;
+                if (dbOrder.getAssignedTableId() != null) {
+                    freedTableCapacity = tableRepo.getTableCapacity(dbOrder.getAssignedTableId());
+                }
+
+                boolean paid = orderRepo.processPayment(dbOrder.getOrderNumber(), finalPrice);
+
+                if (paid) {
+                    log("[Payment] Code " + confirmationCode + " Paid: " + finalPrice + "NIS.");
+                    responseMsg = new BistroMessage(ActionType.PAY_BILL, "Success");
+                    releaseCodeOnCommit(confirmationCode);
+                    dbOrder.setTotalPrice(finalPrice);
+                    dbOrder.setAssignedTableId(null);
+                    publishStatusChange(dbOrder, "COMPLETED");
+
+                    // Notify next in line if table was freed
+                    if (freedTableCapacity > 0) {
+                        Order nextPerson = orderRepo.getNextInWaitlist(freedTableCapacity);
+                        if (nextPerson != null) {
+                            orderRepo.updateOrderStatus(nextPerson.getOrderNumber(), "NOTIFIED");
+                            orderRepo.updateOrderTime(nextPerson.getOrderNumber());
+                            publishOrderUpdate(nextPerson.getOrderNumber());
+
+                            String smsMessage = "Hi " + nextPerson.getCustomerName()+ nextPerson.getPhone() + ", table for " +
+                                    nextPerson.getNumberOfGuests() + " is ready! 15 mins to arrive.";
+
+                            sendNotification(smsMessage, nextPerson);
+                        }
+                    }
+                } else {
+                    responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: DB Update Failed");
+                }
+            } else {
+                responseMsg = new BistroMessage(ActionType.PAY_BILL, "ERROR: Invalid Code");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_ALL_ORDERS: Returns all orders, or pages of them for a PageRequest.
+     */
+    private BistroMessage handleGetAllOrders(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof PageRequest) {
+            responseMsg = sendPages(request, (PageRequest) request.getData(), orderRepo::getOrdersPage, client);
+            return responseMsg;
+        }
+        ArrayList<Order> allOrders = orderRepo.getAllOrders();
+        responseMsg = new BistroMessage(ActionType.GET_ALL_ORDERS, allOrders);
+        return responseMsg;
+    }
+
+    /**
+     * GET_WAITING_LIST: Returns the live waiting list.
+     */
+    private BistroMessage handleGetWaitingList(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        ArrayList<Order> waitlist = orderRepo.getLiveWaitingList();
+        responseMsg = new BistroMessage(ActionType.GET_WAITING_LIST, waitlist);
+        return responseMsg;
+    }
+
+    /**
+     * GET_ACTIVE_DINERS: Returns the orders of the diners currently seated.
+     */
+    private BistroMessage handleGetActiveDiners(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        ArrayList<Order> activeDiners = orderRepo.getActiveDiners();
+        responseMsg = new BistroMessage(ActionType.GET_ACTIVE_DINERS, activeDiners);
+        return responseMsg;
+    }
+
+    /**
+     * GET_ALL_ACTIVE_ORDERS: Returns all active orders for today.
+     */
+    private BistroMessage handleGetAllActiveOrders(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        ArrayList<Order> allActiveOrders = orderRepo.getAllActiveOrdersForToday();
+        responseMsg = new BistroMessage(ActionType.GET_ALL_ACTIVE_ORDERS, allActiveOrders);
+        return responseMsg;
+    }
+
+    /**
+     * GET_RELEVANT_ORDERS: Fetch active orders for a member specifically for TODAY.
+     */
+    private BistroMessage handleGetRelevantOrders(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int memberId = (Integer) request.getData();
+            
+            ArrayList<Order> relevantOrders = orderRepo.getRelevantOrdersForToday(memberId);
+            
+            responseMsg = new BistroMessage(ActionType.GET_RELEVANT_ORDERS, relevantOrders);
+            log("[Server] Fetched " + relevantOrders.size() + " relevant orders for Member ID: " + memberId);
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_AVAILABLE_TIMES: Calculates available time slots for a given date and group size.
+     */
+    private BistroMessage handleGetAvailableTimes(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof ArrayList) {
+            ArrayList<?> paramsList = (ArrayList<?>) request.getData();
+            
+            Object dateObj = paramsList.get(0);
+            java.sql.Date reqDate;
+            if (dateObj instanceof java.sql.Date) {
+                reqDate = (java.sql.Date) dateObj;
+            } else {
+                 java.util.Date utilDate = (java.util.Date) dateObj;
+                 reqDate = new java.sql.Date(utilDate.getTime());
+            }
+            
+            int reqGuests = (int) paramsList.get(1);
+            ServerLog.debug("[Availability] Calculating available slots for " + reqDate + ", Guests: " + reqGuests);
+
+            List<String> availableTimes = RequestTrace.call("ReservationLogic.getAvailableSlotsForDate",
+                    () -> reservationLogic.getAvailableSlotsForDate(reqDate, reqGuests));
+            responseMsg = new BistroMessage(ActionType.GET_AVAILABLE_TIMES, availableTimes);
+        } else {
+            responseMsg = new BistroMessage(ActionType.GET_AVAILABLE_TIMES, null);
+        }
+        return responseMsg;
+    }
+
+    /**
+     * ADD_TABLE: Adds a new table.
+     */
+    private BistroMessage handleAddTable(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Table) {
+            Table newTable = (Table) request.getData();
+            boolean success = tableRepo.addTable(newTable);
+            if (success) {
+                log("[Management] Added Table " + newTable.getTableId());
+                responseMsg = new BistroMessage(ActionType.ADD_TABLE, "Success");
+            } else {
+                responseMsg = new BistroMessage(ActionType.ADD_TABLE, "Failed: ID might exist");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * REMOVE_TABLE: Removes a table and reports the future orders that were cancelled because of it.
+     */
+    private BistroMessage handleRemoveTable(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int tableIdToRemove = (Integer) request.getData();
+            
+            //  Delete table and get list of cancelled orders
+            ArrayList<Order> cancelledList = tableRepo.deleteTableSafely(tableIdToRemove);
+
+            if (cancelledList != null) {
+                //  Prepare the detailed report for the client (Manager)
+                StringBuilder clientResponse = new StringBuilder();
+                clientResponse.append("Success. Table ").append(tableIdToRemove).append(" removed.\n");
+
+                if (cancelledList.isEmpty()) {
+                    clientResponse.append("No future orders were affected.");
+                    log("[Management] Removed Table " + tableIdToRemove + ". No conflicts.");
+                } else {
+                    clientResponse.append("WARNING: ").append(cancelledList.size()).append(" orders were cancelled!\n\n");
+                    clientResponse.append("--- Notifications Sent ---\n");
+                    
+                    log("[System] Table removed. Found " + cancelledList.size() + " overbooked orders.");
+
+                    for (Order o : cancelledList) {
+                        // Create the message string
+                        String logMsg = "SMS sent to: " + o.getEmail() + 
+                                      " (Customer: " + o.getCustomerName() + 
+                                      ", Order #" + o.getOrderNumber() + ")";
+
+                        // Log to Server GUI/Console
+                        log("[SIMULATION] " + logMsg);
+                        publishOrderUpdate(o);
+
+                        // Append to the response sent to the Manager
+                        clientResponse.append("- ").append(logMsg).append("\n");
+                    }
+                }
+                
+                //  Send the full report string back to the client
+                responseMsg = new BistroMessage(ActionType.REMOVE_TABLE, clientResponse.toString());
+                
+            } else {
+                responseMsg = new BistroMessage(ActionType.REMOVE_TABLE, "Failed: Table ID not found");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * UPDATE_TABLE: Changes a table and reports the future orders cancelled because of the new capacity.
+     */
+    private BistroMessage handleUpdateTable(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Table) {
+            Table tableToUpdate = (Table) request.getData();
+         // Execute update and retrieve list of conflicts (if any)
+            ArrayList<Order> cancelledList = tableRepo.updateTableSafely(tableToUpdate);
+
+            if (cancelledList != null) {
+            	// Construct the report message for the Manager
+                StringBuilder clientResponse = new StringBuilder();
+                clientResponse.append("Success. Table #").append(tableToUpdate.getTableId()).append(" updated.\n");
+
+                if (cancelledList.isEmpty()) {
+                    clientResponse.append("No future orders were affected.");
+                    log("[Management] Updated Table " + tableToUpdate.getTableId() + ". No conflicts.");
+                } else {
+                    clientResponse.append("WARNING: ").append(cancelledList.size()).append(" orders cancelled due to capacity change!\n\n");
+                    clientResponse.append("--- Notifications Sent ---\n");
+                    
+                    log("[System] Table updated. Found " + cancelledList.size() + " conflicts.");
+                    
+                 // Simulate SMS/Email for each cancelled customer
+                    for (Order o : cancelledList) {
+                        String logMsg = "SMS sent to: " + o.getEmail() + 
+                                      " (Customer: " + o.getCustomerName() + 
+                                      ", Order #" + o.getOrderNumber() + ")";
+                        
+                        log("[SIMULATION] " + logMsg);
+                        publishOrderUpdate(o);
+                        clientResponse.append("- ").append(logMsg).append("\n");
+                    }
+                }
+                
+                responseMsg = new BistroMessage(ActionType.UPDATE_TABLE, clientResponse.toString());
+            } else {
+            		// Return error if table ID not found or table is OCCUPIED
+                responseMsg = new BistroMessage(ActionType.UPDATE_TABLE, "Failed: Table ID not found or OCCUPIED.");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_OPENING_HOURS: Returns the opening hours.
+     */
+    private BistroMessage handleGetOpeningHours(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        ArrayList<OpeningHour> hoursList = hoursRepo.getAllOpeningHours();
+        responseMsg = new BistroMessage(ActionType.GET_OPENING_HOURS, hoursList);
+        return responseMsg;
+    }
+
+    /**
+     * UPDATE_OPENING_HOURS: Updates restaurant schedule and handles conflicts.
+     */
+    private BistroMessage handleUpdateOpeningHours(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof OpeningHour) {
+            OpeningHour hourToUpdate = (OpeningHour) request.getData();
+            boolean success = hoursRepo.updateOpeningHour(hourToUpdate);
+
+            if (success) {
+                //  Check for conflicts
+                ArrayList<Order> cancelledOrders = orderRepo.cancelConflictingOrders(hourToUpdate);
+                
+                //  Build the detailed report
+                StringBuilder clientResponse = new StringBuilder();
+                clientResponse.append("Hours updated successfully.\n");
+
+                if (cancelledOrders.isEmpty()) {
+                    clientResponse.append("No existing orders were affected.");
+                    log("[Server] Hours updated. No conflicts found.");
+                } else {
+                    clientResponse.append("WARNING: ").append(cancelledOrders.size()).append(" orders cancelled due to new hours!\n\n");
+                    clientResponse.append("--- Notifications Sent ---\n");
+                    
+                    log("[Notification System] Starting conflict resolution...");
+                    
+                    for (Order o : cancelledOrders) {
+                        // Create the message string
+                        String logMsg = "SMS sent to: " + o.getEmail() + 
+                                      " (Customer: " + o.getCustomerName() + 
+                                      ", Order #" + o.getOrderNumber() + ")";
+                        
+                        // Log to Server GUI
+                        log("[SIMULATION] " + logMsg);
+                        publishOrderUpdate(o);
+                        
+                        // Append to Client Report
+                        clientResponse.append("- ").append(logMsg).append("\n");
+                    }
+                }
+                
+                //  Send the full report back to the client
+                responseMsg = new BistroMessage(ActionType.UPDATE_OPENING_HOURS, clientResponse.toString());
+                
+            } else {
+                log("[Error] Failed to update opening hours.");
+                responseMsg = new BistroMessage(ActionType.UPDATE_OPENING_HOURS, "Error: Update failed");
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_ORDER_BY_CODE: Returns the order with a confirmation code.
+     */
+    private BistroMessage handleGetOrderByCode(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int code1 = (Integer) request.getData();
+            common.Order foundOrder = orderRepo.getOrderByCode(code1);
+
+            if (foundOrder != null) {
+                bindCodeOnCommit(client, code1);
+                int guests = foundOrder.getNumberOfGuests();
+                User payer = null;
+                if (foundOrder.getMemberId() > 0) {
+                    payer = new User(0, "D", "D", "0", "e", Role.MEMBER, "0", "0", 0);
+                }
+                double basePrice = guests * 100.0;
+                double finalPrice = userLogic.calculateFinalPrice(payer, basePrice);
+                foundOrder.setTotalPrice(finalPrice);
+                responseMsg = new BistroMessage(ActionType.GET_ORDER_BY_CODE, foundOrder);
+            } else {
+                responseMsg = new BistroMessage(ActionType.GET_ORDER_BY_CODE, null);
+            }
+        }
+        return responseMsg;
+    }
+
+    /**
+     * GET_ALL_TABLES: Returns all tables.
+     */
+    private BistroMessage handleGetAllTables(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        ArrayList<Table> allTables = tableRepo.getAllTables();
+        log("[Management] Fetched " + allTables.size() + " tables from DB.");
+        responseMsg = new BistroMessage(ActionType.GET_ALL_TABLES, allTables);
+        return responseMsg;
+    }
+
+    /**
+     * GET_PERFORMANCE_REPORT: Builds the monthly performance report.
+     */
+    private BistroMessage handleGetPerformanceReport(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        int[] perfParams = (int[]) request.getData();
+        int perfMonth = perfParams[0];
+        int perfYear = perfParams[1];
+
+        Map<String, Integer> rawPerfData = orderRepo.getPerformanceReportData(perfMonth, perfYear);
+        common.Report perfReport = new common.Report(perfMonth, perfYear, "PERFORMANCE");
+        
+        if (rawPerfData != null) {
+            for (Map.Entry<String, Integer> entry : rawPerfData.entrySet()) {
+                perfReport.addData(entry.getKey(), entry.getValue());
+            }
+        }
+        responseMsg = new BistroMessage(ActionType.GET_PERFORMANCE_REPORT, perfReport);
+        log("[Reports] Generated Performance Report for " + perfMonth + "/" + perfYear);
+        return responseMsg;
+    }
+
+    /**
+     * GET_SUBSCRIPTION_REPORT: Builds the monthly subscription report.
+     */
+    private BistroMessage handleGetSubscriptionReport(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        int[] subParams = (int[]) request.getData();
+        int subMonth = subParams[0];
+        int subYear = subParams[1];
+
+        Map<String, Integer> rawSubData = orderRepo.getSubscriptionReportData(subMonth, subYear);
+        common.Report subReport = new common.Report(subMonth, subYear, "SUBSCRIPTION");
+        
+        if (rawSubData != null) {
+            for (Map.Entry<String, Integer> entry : rawSubData.entrySet()) {
+                subReport.addData(entry.getKey(), entry.getValue());
+            }
+        }
+        responseMsg = new BistroMessage(ActionType.GET_SUBSCRIPTION_REPORT, subReport);
+        log("[Reports] Generated Subscription Report for " + subMonth + "/" + subYear);
+        return responseMsg;
+    }
+
+    /**
+     * LOGOUT: Handles the logout request to allow switching users.
+     */
+    private BistroMessage handleLogout(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        if (request.getData() instanceof Integer) {
+            int userId = (Integer) request.getData();
+            
+            //  Update database status to Offline
+            userRepo.logoutUser(userId); 
+            sessions.logout(client);
+            
+            //  Log the event on the server console
+            log(" User ID " + userId + " logged out.");
+            
+            //  Send success message back to client so it can switch scenes
+            responseMsg = new BistroMessage(ActionType.LOGOUT, "Success");
+        }
+        return responseMsg;
+    }
+
+    /**
+     * SUBSCRIBE_ORDER_UPDATES: Starts pushing ORDER_UPDATE events to the client.
+     */
+    private BistroMessage handleSubscribeOrderUpdates(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        sessions.setOrderSubscriber(client, true);
+        responseMsg = new BistroMessage(ActionType.SUBSCRIBE_ORDER_UPDATES, "Success");
+        return responseMsg;
+    }
+
+    /**
+     * UNSUBSCRIBE_ORDER_UPDATES: Stops pushing ORDER_UPDATE events to the client.
+     */
+    private BistroMessage handleUnsubscribeOrderUpdates(BistroMessage request, ConnectionToClient client) throws Exception {
+        BistroMessage responseMsg = null;
+        sessions.setOrderSubscriber(client, false);
+        responseMsg = new BistroMessage(ActionType.UNSUBSCRIBE_ORDER_UPDATES, "Success");
+        return responseMsg;
+    }
+
+    /**
+     * CLIENT_QUIT: Closes the connection of a client that is quitting.
+     */
+    private BistroMessage handleClientQuit(BistroMessage request, ConnectionToClient client) throws Exception {
+        log("[Server] Client disconnected.");
+        String ip = client.getInetAddress().getHostAddress();
+        String host = client.getInetAddress().getHostName();
+        updateClientListInUI(ip, host, "Disconnected");
+        try {
+            client.close(); 
+        } catch (IOException e) {}
+        return NO_RESPONSE;
+    }
 }
\ No newline at end of file
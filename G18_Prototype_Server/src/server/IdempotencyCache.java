@@ -0,0 +1,175 @@
+package server;
+
+import common.BistroMessage;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests that carry an idempotency key, so a client that
+ * timed out and sent the same request again gets the first response instead of a
+ * second order, waitlist entry or payment.
+ *
+ * Software Structure:
+ * This class belongs to the Server Layer and is owned by BistroServer. A key is scoped by
+ * ActionType. The first request with a key runs normally; a retry that arrives while it
+ * is still running waits for its response, and a later retry gets the kept copy without
+ * touching the database. Error responses (see {@link BistroMessage#isError()}) are not
+ * kept, so a failed request can be tried again. A request run inside a transaction (a
+ * transactional batch) is only kept once that transaction is committed; if it is rolled
+ * back, the key is forgotten and a retry runs the request again. Entries expire after {@value #TTL_MINUTES} minutes and at most
+ * {@value #MAX_ENTRIES} are kept; when the cache is full, new keys are not remembered.
+ */
+public class IdempotencyCache {
+
+    /** How long a response is kept, in minutes. */
+    private static final long TTL_MINUTES = 10;
+    /** Most responses kept. */
+    private static final int MAX_ENTRIES = 10_000;
+    /** How long a retry waits for the first attempt to finish, in seconds. */
+    private static final long WAIT_SECONDS = 30;
+    /** Expired entries are removed every time this many keys were added. */
+    private static final int EVICT_EVERY = 256;
+
+    /**
+     * The response of one key, and when it expires.
+     */
+    private static class Entry {
+        final CompletableFuture<BistroMessage> response = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+    }
+
+    /** Entries by ActionType and key. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Number of requests answered from the cache. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of keys added, to schedule the removal of expired entries. */
+    private final AtomicInteger added = new AtomicInteger();
+
+    /**
+     * Runs a request once per idempotency key. Requests without a key are simply run.
+     *
+     * @param request The request.
+     * @param handler Executes the request and returns its response (may be null).
+     * @return The response of the first attempt with the request's key, or of this request.
+     */
+    public BistroMessage execute(BistroMessage request, Supplier<BistroMessage> handler) {
+        String key = request.getIdempotencyKey();
+        if (key == null || key.isEmpty()) {
+            return handler.get();
+        }
+        String scopedKey = request.getType() + ":" + key;
+        Entry mine = new Entry();
+        Entry existing = entries.size() < MAX_ENTRIES ? entries.putIfAbsent(scopedKey, mine) : entries.get(scopedKey);
+        if (existing != null) {
+            BistroMessage first = await(existing);
+            if (first != null) {
+                hits.increment();
+                ServerLog.info("[Idempotency] " + request.getType() + " retry answered with the first response.");
+                return copyOf(first);
+            }
+            return handler.get(); // The first attempt failed or expired
+        }
+        if (entries.get(scopedKey) != mine) {
+            return handler.get(); // Cache full: not remembered
+        }
+        if (added.incrementAndGet() % EVICT_EVERY == 0) {
+            evictExpired();
+        }
+
+        BistroMessage response = null;
+        try {
+            response = handler.get();
+        } finally {
+            if (response == null || response.getType() == null || response.isError()) {
+                forget(scopedKey, mine);
+            } else {
+                BistroMessage kept = copyOf(response);
+                MySQLConnectionPool pool = MySQLConnectionPool.getInstance();
+                if (pool.isInTransaction()) {
+                    pool.afterCommit(() -> keep(mine, kept));
+                    pool.afterRollback(() -> forget(scopedKey, mine));
+                } else {
+                    keep(mine, kept);
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Keeps the response of a first attempt for its retries.
+     */
+    private static void keep(Entry entry, BistroMessage response) {
+        entry.expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(TTL_MINUTES);
+        entry.response.complete(response);
+    }
+
+    /**
+     * Forgets a key whose first attempt failed, so a retry runs the request again.
+     */
+    private void forget(String scopedKey, Entry entry) {
+        entries.remove(scopedKey, entry);
+        entry.response.complete(null);
+    }
+
+    /**
+     * Removes the expired entries.
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The number of retries answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of keys remembered.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Waits for the response of a first attempt.
+     *
+     * @return The response, or null if it failed, expired or did not finish in time.
+     */
+    private static BistroMessage await(Entry entry) {
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        try {
+            return entry.response.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copies a response, so each reply gets its own request ID.
+     */
+    private static BistroMessage copyOf(BistroMessage response) {
+        return new BistroMessage(response.getType(), response.getData());
+    }
+}
@@ -1,177 +1,970 @@
-package server;
-
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.ArrayList;
-import java.util.List;
-import java.sql.Connection;
-
-/**
- * Singleton class that manages a pool of MySQL database connections.
- *
- * Software Structure:
- * This class is a utility component in the Infrastructure Layer. It uses the Singleton pattern
- * to ensure only one pool exists. All Repositories use this class to get access to the database.
- * It improves performance by reusing connections instead of creating new ones every time.
- *
- * UI Components:
- * Does not interact directly with the UI, but prints status logs to the server console.
- *
- * @author Dana Zablev
- * @version 1.0
- */
-public class MySQLConnectionPool {
-
-    private static MySQLConnectionPool instance;
-    
-    // Database Configuration
-    private static String DB_URL = "jdbc:mysql://localhost:3306/bistro?serverTimezone=Asia/Jerusalem";    
-    private static String USER = "root";
-    private static String PASS;
-
-    // Pool Configuration
-    private static int MAX_POOL_SIZE = 10;       // Maximum number of connections in the pool
-    private static long MAX_IDLE_TIME = 5000;    // Time (ms) before an idle connection is closed
-    private static long CHECK_INTERVAL = 2;      // Time (seconds) between cleanup checks
-
-    private BlockingQueue<PooledConnection> pool; // Thread-safe queue to hold idle connections
-    private ScheduledExecutorService cleanerService;
-    
-    
-    /**
-     * Sets the password used to connect to the MySQL database.
-     * This must be called before the first connection is attempted.
-     * @param password The MySQL password provided by the user.
-     */
-    public static void setDBPassword(String password) {
-        PASS = password;
-    }
-
-    /**
-     * Private constructor to enforce Singleton pattern.
-     * Initializes the connection queue and starts the background cleanup timer.
-     */
-    private MySQLConnectionPool() {
-        pool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
-        startCleanupTimer();
-        System.out.println("[Pool] Initialized. Max Size: " + MAX_POOL_SIZE);
-    }
-
-    /**
-     * Retrieves the single instance of the connection pool.
-     * @return The singleton instance of MySQLConnectionPool.
-     */
-    public static synchronized MySQLConnectionPool getInstance() {
-        if (instance == null) {
-            instance = new MySQLConnectionPool();
-        }
-        return instance;
-    }
-
-    
-    /**
-     * Retrieves a connection for use from the pool.
-     * If the pool is empty, a new physical connection is created.
-     * @return A valid PooledConnection object.
-     */
-    public PooledConnection getConnection() {
-        PooledConnection pConn = pool.poll(); // Try to get from queue
-        
-        if (pConn == null) {
-            System.out.println("[Pool] Queue empty. Creating NEW physical connection!!!");
-            return createNewConnection();
-        }
-        
-        pConn.touch(); // Update last used time
-        System.out.println("[Pool] Reusing existing connection.");
-        return pConn;
-    }
-
-    /**
-     * Returns a connection back to the pool after use.
-     * If the pool is full, the connection is physically closed to save resources.
-     * @param pConn The connection object to be released.
-     */
-    public void releaseConnection(PooledConnection pConn) {
-        if (pConn != null) {
-            pConn.touch();
-            boolean added = pool.offer(pConn); // Return to queue
-            if (added) {
-                System.out.println("[Pool] Connection returned. Current Pool Size: " + pool.size());
-            } else {
-                // Pool is full, close the connection to save resources
-                try { pConn.closePhysicalConnection(); } catch (Exception e) {}
-            }
-        }
-    }
-
-    
-    /**
-     * Establishes a new physical connection to the MySQL database.
-     * @return A new PooledConnection wrapped around a JDBC Connection, or null if failed.
-     */
-    private PooledConnection createNewConnection() {
-        try {
-            return new PooledConnection(DriverManager.getConnection(DB_URL, USER, PASS));
-        } catch (SQLException e) {
-            System.err.println("CONNECTION ERROR DETAILS");
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    
-    // Background Cleanup Logic 
-    /**
-     * Starts a scheduled task that runs periodically to check for idle connections.
-     */
-    private void startCleanupTimer() {
-        cleanerService = Executors.newSingleThreadScheduledExecutor();
-        cleanerService.scheduleAtFixedRate(this::checkIdleConnections, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.SECONDS);
-    }
-
-    /**
-     * A helper method to test if a connection can be established.
-     * @throws SQLException If connection fails.
-     */
-    public static void testConnection() throws SQLException {
-        Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
-        conn.close(); 
-    }
-
-    /**
-     * Checks all idle connections in the pool.
-     * If a connection hasn't been used for longer than MAX_IDLE_TIME, it is closed and removed.
-     */
-    private void checkIdleConnections() {
-        if (pool.isEmpty()) return;
-
-        List<PooledConnection> activeConnections = new ArrayList<>();
-        pool.drainTo(activeConnections); // Move all connections to a temp list for inspection
-
-        long now = System.currentTimeMillis();
-        int closedCount = 0;
-
-        for (PooledConnection pConn : activeConnections) {
-            if (now - pConn.getLastUsed() > MAX_IDLE_TIME) {
-                try {
-                    // Connection is too old -> Close it
-                    pConn.closePhysicalConnection();
-                    closedCount++;
-                } catch (SQLException e) { e.printStackTrace(); }
-            } else {
-                // Connection is still fresh -> Return to pool
-                pool.offer(pConn); 
-            }
-        }
-        
-        if (closedCount > 0) { 
-            System.out.println("[Timer] Evicted " + closedCount + " idle connections. Pool Size: " + pool.size());
-        }
-    }
-}
\ No newline at end of file
+package server;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.sql.Connection;
+
+/**
+ * Singleton class that manages a pool of MySQL database connections.
+ *
+ * Software Structure:
+ * This class is a utility component in the Infrastructure Layer. It uses the Singleton pattern
+ * to ensure only one pool exists. All Repositories use this class to get access to the database.
+ * It improves performance by reusing connections instead of creating new ones every time.
+ *
+ * Idle connections are kept in a lock-free deque used as a stack: a released connection
+ * is pushed on the front and the next caller takes it back from there, so the few
+ * connections needed for the current load stay hot (their socket, server thread and
+ * statement cache are in use), while connections left at the back grow cold and are the
+ * ones the maintenance task closes.
+ *
+ * At most MAX_POOL_SIZE connections are open at any time, idle or in use. A caller that
+ * finds them all in use waits, in arrival order, until one is released; after
+ * MAX_WAIT_MILLIS it gets an SQLException instead of a new connection, so a load spike
+ * cannot exhaust MySQL's max_connections. Both limits can be set with the system
+ * properties {@value #MAX_SIZE_PROPERTY} and {@value #MAX_WAIT_PROPERTY}.
+ *
+ * The pool is filled with MIN_IDLE connections when the server starts ({@link #warmUp()})
+ * and refilled in the background, so requests after a quiet period do not pay for the
+ * TCP and login handshake. Idle connections above MIN_IDLE are closed after
+ * IDLE_TIMEOUT, and every connection is replaced after MAX_LIFETIME, before MySQL's
+ * wait_timeout can drop it. A connection idle for more than a second is checked with
+ * isValid() before it is handed out, and replaced if it is dead.
+ * See the properties {@value #MIN_IDLE_PROPERTY}, {@value #IDLE_TIMEOUT_PROPERTY}
+ * and {@value #MAX_LIFETIME_PROPERTY}.
+ *
+ * Leak tracking: when {@value #LEAK_THRESHOLD_PROPERTY} is set (in milliseconds), the stack
+ * trace of every borrower is recorded, and a connection held longer than that is reported
+ * once in the server log with the place it was borrowed from. A connection released twice
+ * is reported and ignored, so it cannot be handed to two callers. {@link #getStats()} and
+ * the count getters expose the live state of the pool.
+ *
+ * Read replica: when {@value #REPLICA_URL_PROPERTY} is set to the JDBC URL of a MySQL
+ * replica, a second pool with the same limits is opened on it. Read-only repository
+ * methods (reports, lists and member history) opt in by calling {@link #getReadConnection()}
+ * instead of getConnection(), so they do not compete with seating and payment writes for
+ * the primary's connections. Every maintenance run checks the replica's lag; while it is
+ * more than {@value #REPLICA_MAX_LAG_PROPERTY} seconds (5 by default), replication is
+ * stopped or the replica cannot be reached, reads go to the primary. A server that is not
+ * replicating from anything (e.g. a second local instance used for testing) counts as
+ * up to date. Connections are returned with releaseConnection() as usual; each one goes
+ * back to the pool it came from.
+ *
+ * UI Components:
+ * Does not interact directly with the UI, but prints status logs to the server console.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class MySQLConnectionPool {
+
+    private static MySQLConnectionPool instance;
+    
+    // Database Configuration (statements are prepared on the server, and reused through the cache of each PooledConnection)
+    private static String DB_URL = "jdbc:mysql://localhost:3306/bistro?serverTimezone=Asia/Jerusalem&useServerPrepStmts=true";    
+    private static String USER = "root";
+    private static String PASS;
+
+    /** System property setting the maximum number of open connections. */
+    public static final String MAX_SIZE_PROPERTY = "bistro.db.maxConnections";
+    /** System property setting how long a caller waits for a connection, in milliseconds. */
+    public static final String MAX_WAIT_PROPERTY = "bistro.db.maxWaitMillis";
+    /** System property setting how many idle connections are kept ready. */
+    public static final String MIN_IDLE_PROPERTY = "bistro.db.minIdle";
+    /** System property setting after how long an idle connection above the minimum is closed, in milliseconds. */
+    public static final String IDLE_TIMEOUT_PROPERTY = "bistro.db.idleTimeoutMillis";
+    /** System property setting after how long a connection is replaced, in milliseconds. */
+    public static final String MAX_LIFETIME_PROPERTY = "bistro.db.maxLifetimeMillis";
+    /** System property setting after how long a borrowed connection is reported as leaked, in milliseconds (0 = off). */
+    public static final String LEAK_THRESHOLD_PROPERTY = "bistro.db.leakThresholdMillis";
+    /** System property setting the JDBC URL of a read replica (no replica if unset). */
+    public static final String REPLICA_URL_PROPERTY = "bistro.db.replicaUrl";
+    /** System property setting how far behind the primary the replica may be, in seconds. */
+    public static final String REPLICA_MAX_LAG_PROPERTY = "bistro.db.replicaMaxLagSeconds";
+
+    // Pool Configuration
+    private static int MAX_POOL_SIZE = Math.max(1, Integer.getInteger(MAX_SIZE_PROPERTY, 10)); // Maximum number of open connections
+    private static long MAX_WAIT_MILLIS = Long.getLong(MAX_WAIT_PROPERTY, 5000);      // Time (ms) a caller waits for a free connection
+    private static int MIN_IDLE = Math.min(MAX_POOL_SIZE, Math.max(0, Integer.getInteger(MIN_IDLE_PROPERTY, 2))); // Idle connections kept ready
+    private static long MAX_IDLE_TIME = Long.getLong(IDLE_TIMEOUT_PROPERTY, 60000);   // Time (ms) before an idle connection above MIN_IDLE is closed
+    private static long MAX_LIFETIME = Long.getLong(MAX_LIFETIME_PROPERTY, 1800000);  // Time (ms) before a connection is replaced
+    private static long VALIDATE_AFTER_IDLE = 1000; // Time (ms) idle after which a connection is checked before use
+    private static int VALIDATION_TIMEOUT = 2;      // Time (seconds) a validity check may take
+    private static long CHECK_INTERVAL = 5;         // Time (seconds) between maintenance runs
+    private static long LEAK_THRESHOLD = Long.getLong(LEAK_THRESHOLD_PROPERTY, 0); // Time (ms) after which a loan is reported, 0 = no tracking
+    private static String REPLICA_URL = System.getProperty(REPLICA_URL_PROPERTY);    // Read replica, or null
+    private static long REPLICA_MAX_LAG = Long.getLong(REPLICA_MAX_LAG_PROPERTY, 5); // Time (seconds) the replica may lag
+
+    private static MySQLConnectionPool replica;
+
+    /** JDBC URL of the server this pool connects to. */
+    private final String url;
+    /** Log prefix, "[Pool]" or "[Replica pool]". */
+    private final String tag;
+    /** Replica pool only: true while the last check found the replica reachable and up to date. */
+    private volatile boolean healthy;
+    /** Replica pool only: the lag found by the last check, in seconds (-1 if unknown). */
+    private volatile long lastLag = -1;
+    /** Reads sent to the replica, and reads sent to the primary because it was not usable. */
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    private final ConcurrentLinkedDeque<PooledConnection> pool = new ConcurrentLinkedDeque<>(); // Idle connections, most recently used first
+    /** Number of connections in the deque (its size() walks the whole deque). */
+    private final AtomicInteger idle = new AtomicInteger();
+    /** One permit per connection that may be open; fair, so waiting callers are served in order. */
+    private final Semaphore permits = new Semaphore(MAX_POOL_SIZE, true);
+    private ScheduledExecutorService cleanerService;
+
+    // Acquisition statistics
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitedAcquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicLong created = new AtomicLong();
+    private final LongAdder validationFailures = new LongAdder();
+    private final AtomicLong closed = new AtomicLong();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder doubleReleases = new LongAdder();
+    /** Physical connections currently open, idle or in use. */
+    private final AtomicInteger open = new AtomicInteger();
+    /** Connections handed out and not yet returned. */
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    /** The connection of the transaction open on each thread, if any. */
+    private final ThreadLocal<PooledConnection> transaction = new ThreadLocal<>();
+    /** Set on a thread when its open transaction must be rolled back. */
+    private final ThreadLocal<Boolean> rollbackOnly = new ThreadLocal<>();
+    /** Actions to run once the transaction open on each thread is committed. */
+    private final ThreadLocal<List<Runnable>> afterCommit = new ThreadLocal<>();
+    /** Actions to run if the transaction open on each thread is rolled back. */
+    private final ThreadLocal<List<Runnable>> afterRollback = new ThreadLocal<>();
+    /** Transactions committed and rolled back by {@link #inTransaction(Work)}. */
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+
+    /**
+     * Database work run as one unit by {@link #inTransaction(Work)}.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * Runs the work. Repository calls made here use the transaction's connection.
+         *
+         * @return The result.
+         * @throws SQLException To roll the transaction back.
+         */
+        T run() throws SQLException;
+    }
+    
+    
+    /**
+     * Sets the password used to connect to the MySQL database.
+     * This must be called before the first connection is attempted.
+     * @param password The MySQL password provided by the user.
+     */
+    public static void setDBPassword(String password) {
+        PASS = password;
+    }
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     * Initializes the connection queue and starts the background cleanup timer.
+     * @param url The JDBC URL of the server.
+     * @param tag The prefix of the pool's log lines.
+     */
+    private MySQLConnectionPool(String url, String tag) {
+        this.url = url;
+        this.tag = tag;
+        startCleanupTimer();
+        ServerLog.info(tag + " Initialized. Max Size: " + MAX_POOL_SIZE + ", max wait: " + MAX_WAIT_MILLIS + " ms");
+    }
+
+    /**
+     * Retrieves the single instance of the connection pool.
+     * @return The singleton instance of MySQLConnectionPool.
+     */
+    public static synchronized MySQLConnectionPool getInstance() {
+        if (instance == null) {
+            instance = new MySQLConnectionPool(DB_URL, "[Pool]");
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the pool of the read replica, creating it on first use.
+     * @return The replica pool, or null if {@value #REPLICA_URL_PROPERTY} is not set.
+     */
+    private static synchronized MySQLConnectionPool getReplica() {
+        if (replica == null && REPLICA_URL != null && !REPLICA_URL.trim().isEmpty()) {
+            replica = new MySQLConnectionPool(REPLICA_URL.trim(), "[Replica pool]");
+        }
+        return replica;
+    }
+
+    
+    /**
+     * Retrieves a connection for use from the pool.
+     * If no connection is idle and fewer than MAX_POOL_SIZE are open, a new physical
+     * connection is created; otherwise the caller waits up to MAX_WAIT_MILLIS for one.
+     * The time until the connection is released is added to the {@link RequestTrace} of the thread.
+     * @return A valid PooledConnection object.
+     * @throws SQLException If no connection became free in time, or a new one could not be opened.
+     */
+    public PooledConnection getConnection() throws SQLException {
+        RequestTrace.dbBorrowed();
+        PooledConnection bound = transaction.get();
+        if (bound != null) {
+            return bound; // Inside a transaction every query uses the same connection
+        }
+        return borrow();
+    }
+
+    /**
+     * Retrieves a connection for a read-only query. It comes from the replica pool when a
+     * replica is configured and up to date, and from this pool otherwise: inside a
+     * transaction, while the replica lags or is unreachable, or if it has no free connection.
+     * A busy replica pool is not waited for and does not count against the replica; only
+     * a failed connection (or the lag found by the periodic check) takes it out of use.
+     * Release it with {@link #releaseConnection(PooledConnection)} like any other.
+     * @return A valid PooledConnection object.
+     * @throws SQLException If no connection could be obtained from either server.
+     */
+    public PooledConnection getReadConnection() throws SQLException {
+        RequestTrace.dbBorrowed();
+        PooledConnection bound = transaction.get();
+        if (bound != null) {
+            return bound; // The transaction must see its own writes
+        }
+        MySQLConnectionPool readPool = getReplica();
+        if (readPool != null && readPool != this && readPool.healthy) {
+            try {
+                PooledConnection pConn = readPool.tryBorrow(); // Never waits: the primary can serve the read
+                if (pConn != null) {
+                    replicaReads.increment();
+                    return pConn;
+                }
+            } catch (SQLException e) {
+                readPool.healthy = false; // Could not connect; until the next check finds it usable again
+                ServerLog.warn("[Replica pool] Unavailable, reading from the primary: " + e.getMessage());
+            }
+        }
+        if (readPool != null) {
+            fallbackReads.increment();
+        }
+        return borrow();
+    }
+
+    /**
+     * Takes a connection from this pool, opening one or waiting for one as needed.
+     * @return A valid PooledConnection object.
+     * @throws SQLException If no connection became free in time, or a new one could not be opened.
+     */
+    private PooledConnection borrow() throws SQLException {
+        acquirePermit();
+        return borrowWithPermit();
+    }
+
+    /**
+     * Takes a connection from this pool only if one can be handed out right away.
+     * A pool that is merely busy is not an error.
+     * @return A valid PooledConnection object, or null if all connections are in use.
+     * @throws SQLException If a new connection could not be opened.
+     */
+    private PooledConnection tryBorrow() throws SQLException {
+        acquisitions.increment();
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        return borrowWithPermit();
+    }
+
+    /**
+     * Hands out an idle connection, or opens a new one, once a permit was acquired.
+     * The permit is given back if no connection can be opened.
+     * @return A valid PooledConnection object.
+     * @throws SQLException If a new connection could not be opened.
+     */
+    private PooledConnection borrowWithPermit() throws SQLException {
+        PooledConnection pConn;
+        while ((pConn = takeIdle()) != null) { // Try the most recently returned connection
+            if (isUsable(pConn)) {
+                pConn.touch(); // Update last used time
+                ServerLog.debug(tag + " Reusing existing connection.");
+                return lend(pConn);
+            }
+            closeConnection(pConn);
+        }
+
+        ServerLog.debug(tag + " Queue empty. Creating NEW physical connection.");
+        pConn = createNewConnection();
+        if (pConn == null) {
+            permits.release();
+            throw new SQLException("Could not open a database connection");
+        }
+        return lend(pConn);
+    }
+
+    /**
+     * Records a connection as handed out, with its borrower's stack if leak tracking is on.
+     *
+     * @param pConn The connection.
+     * @return The same connection.
+     */
+    private PooledConnection lend(PooledConnection pConn) {
+        pConn.markBorrowed(LEAK_THRESHOLD > 0);
+        borrowed.add(pConn);
+        return pConn;
+    }
+
+    /**
+     * Records a connection as returned.
+     *
+     * @param pConn The connection.
+     * @return false if it was not handed out (released twice); it must then be ignored.
+     */
+    private boolean takeBack(PooledConnection pConn) {
+        long borrowedAt = pConn.getBorrowedAt();
+        boolean reported = pConn.isLeakReported();
+        if (!pConn.markReturned()) {
+            doubleReleases.increment();
+            ServerLog.warn(tag + " A connection was released twice (by " + Thread.currentThread().getName() + ") - ignored.");
+            return false;
+        }
+        borrowed.remove(pConn);
+        if (reported) {
+            ServerLog.info(tag + " Connection reported as leaked was returned after "
+                    + (System.currentTimeMillis() - borrowedAt) + " ms.");
+        }
+        return true;
+    }
+
+    /**
+     * Checks an idle connection before it is handed out: it must not have outlived
+     * MAX_LIFETIME and, if it was idle for a while, must still answer a ping.
+     *
+     * @param pConn The connection taken from the queue.
+     * @return true if it can be used.
+     */
+    private boolean isUsable(PooledConnection pConn) {
+        long now = System.currentTimeMillis();
+        if (now - pConn.getCreatedAt() > MAX_LIFETIME) {
+            return false;
+        }
+        if (now - pConn.getLastUsed() > VALIDATE_AFTER_IDLE && !pConn.isValid(VALIDATION_TIMEOUT)) {
+            validationFailures.increment();
+            ServerLog.warn(tag + " Dropped a dead connection found in the pool.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the permit for one open connection, waiting in arrival order if all are in use.
+     *
+     * @throws SQLException If no permit became free within MAX_WAIT_MILLIS.
+     */
+    private void acquirePermit() throws SQLException {
+        acquisitions.increment();
+        if (permits.tryAcquire()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection");
+        }
+        long waited = System.nanoTime() - start;
+        waitedAcquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        if (!acquired) {
+            timeouts.increment();
+            ServerLog.warn(tag + " No connection free after " + MAX_WAIT_MILLIS + " ms (" + MAX_POOL_SIZE + " in use).");
+            throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+        }
+    }
+
+    /**
+     * Summarizes the pool for the metrics report: connections open and in use, how
+     * often and how long callers waited for one, and how many gave up.
+     *
+     * @return A one-line summary.
+     */
+    public String getStats() {
+        long waited = waitedAcquisitions.sum();
+        String stats = tag + String.format(" %d of %d connection(s) in use, %d open, %d idle, %d waiting; "
+                + "%d opened, %d closed, %d dead dropped; "
+                + "%d acquisition(s), %d waited (mean %.2f ms, max %.2f ms), %d timed out; "
+                + "%d leak(s) reported%s, %d double release(s); %d transaction(s) committed, %d rolled back",
+                getActiveCount(), MAX_POOL_SIZE, open.get(), getIdleCount(), getWaiterCount(),
+                getCreatedCount(), getClosedCount(), validationFailures.sum(),
+                acquisitions.sum(), waited, waited == 0 ? 0.0 : totalWaitNanos.sum() / (double) waited / 1e6,
+                maxWaitNanos.get() / 1e6, timeouts.sum(),
+                leaks.sum(), LEAK_THRESHOLD > 0 ? "" : " (tracking off)", doubleReleases.sum(),
+                commits.sum(), rollbacks.sum());
+        MySQLConnectionPool readPool = this == instance ? replica : null;
+        if (readPool != null) {
+            stats += String.format("%n%s; %s, lag %s; %d read(s) on the replica, %d on the primary",
+                    readPool.getStats(), readPool.healthy ? "in use" : "not in use",
+                    readPool.lastLag < 0 ? "unknown" : readPool.lastLag + " s", replicaReads.sum(), fallbackReads.sum());
+        }
+        return stats;
+    }
+
+    /** @return The number of connections handed out and not yet returned. */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /** @return The number of idle connections ready in the pool. */
+    public int getIdleCount() {
+        return idle.get();
+    }
+
+    /** @return The number of physical connections opened since the server started. */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /** @return The number of physical connections closed since the server started. */
+    public long getClosedCount() {
+        return closed.get();
+    }
+
+    /** @return The number of callers waiting for a connection (an estimate). */
+    public int getWaiterCount() {
+        return permits.getQueueLength();
+    }
+
+    /** @return The number of loans reported as possible leaks. */
+    public long getLeakCount() {
+        return leaks.sum();
+    }
+
+    /**
+     * Returns a connection back to the pool after use.
+     * If the pool is full, the connection is physically closed to save resources.
+     * @param pConn The connection object to be released.
+     */
+    public void releaseConnection(PooledConnection pConn) {
+        if (pConn != null && pConn.getOwner() != null && pConn.getOwner() != this) {
+            pConn.getOwner().releaseConnection(pConn); // Borrowed from the replica pool
+            return;
+        }
+        if (pConn != null) {
+            RequestTrace.dbReleased();
+        }
+        if (pConn != null && pConn == transaction.get()) {
+            return; // Kept until the transaction ends
+        }
+        if (pConn != null) {
+            if (!takeBack(pConn)) {
+                return;
+            }
+            pConn.touch();
+            pConn.releaseStatements();
+            if (pConn.getLastUsed() - pConn.getCreatedAt() > MAX_LIFETIME) {
+                closeConnection(pConn); // Too old, replaced by the next maintenance run
+            } else {
+                pool.offerFirst(pConn); // Back on top, to be reused first
+                idle.incrementAndGet();
+                ServerLog.debug(tag + " Connection returned. Current Pool Size: " + idle.get());
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes a borrowed connection that cannot be used any more, instead of returning it
+     * to the pool, and frees its place for a new one.
+     * @param pConn The broken connection.
+     */
+    private void discardConnection(PooledConnection pConn) {
+        if (!takeBack(pConn)) {
+            return;
+        }
+        closeConnection(pConn);
+        permits.release();
+    }
+
+    /**
+     * Closes a physical connection that is no longer in the pool.
+     * @param pConn The connection to close.
+     */
+    private void closeConnection(PooledConnection pConn) {
+        open.decrementAndGet();
+        closed.incrementAndGet();
+        try { pConn.closePhysicalConnection(); } catch (SQLException ignored) {}
+    }
+
+    /**
+     * Runs work as one unit of work: borrows a connection, begins a transaction, runs the
+     * work and commits it, then releases the connection. Every repository call made by the
+     * work on this thread uses that connection, so all its writes are committed together
+     * (one commit instead of one per statement) or not at all, and rows it locked with
+     * SELECT ... FOR UPDATE stay locked until the end.
+     * The transaction is rolled back instead if the work throws, or if it (or anything it
+     * called) used {@link #setRollbackOnly()}.
+     * If a transaction is already open on the thread, the work joins it: nothing is
+     * committed until the outer unit ends, and an exception marks the outer unit for rollback.
+     *
+     * @param <T> The result type.
+     * @param work The work to run.
+     * @return The work's result.
+     * @throws SQLException If the work failed, or the transaction could not be started or committed.
+     */
+    public <T> T inTransaction(Work<T> work) throws SQLException {
+        if (transaction.get() != null) {
+            try {
+                return work.run();
+            } catch (SQLException | RuntimeException e) {
+                setRollbackOnly();
+                throw e;
+            }
+        }
+        beginTransaction();
+        boolean ended = false;
+        try {
+            T result = work.run();
+            ended = true;
+            endTransaction(true); // Rolled back instead if marked rollback-only
+            return result;
+        } finally {
+            if (!ended) {
+                try {
+                    endTransaction(false);
+                } catch (SQLException e) {
+                    ServerLog.error(tag + " Could not roll back: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the transaction open on the calling thread so that it is rolled back when it
+     * ends, even if asked to commit. Does nothing if no transaction is open.
+     */
+    public void setRollbackOnly() {
+        if (transaction.get() != null) {
+            rollbackOnly.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Runs an action once the transaction open on the calling thread is committed, or
+     * right away if no transaction is open. The action is dropped if the transaction is
+     * rolled back. Used for notifications, so clients never hear of a change that is not
+     * committed yet or was undone.
+     *
+     * @param action The action.
+     */
+    public void afterCommit(Runnable action) {
+        if (transaction.get() == null) {
+            action.run();
+            return;
+        }
+        List<Runnable> actions = afterCommit.get();
+        if (actions == null) {
+            actions = new ArrayList<>();
+            afterCommit.set(actions);
+        }
+        actions.add(action);
+    }
+
+    /**
+     * Runs an action if the transaction open on the calling thread is rolled back, or
+     * fails to commit. Does nothing if no transaction is open. Used to forget what was
+     * remembered for work that did not happen.
+     *
+     * @param action The action.
+     */
+    public void afterRollback(Runnable action) {
+        if (transaction.get() == null) {
+            return;
+        }
+        List<Runnable> actions = afterRollback.get();
+        if (actions == null) {
+            actions = new ArrayList<>();
+            afterRollback.set(actions);
+        }
+        actions.add(action);
+    }
+
+    /**
+     * @return true if a transaction is open on the calling thread.
+     */
+    public boolean isInTransaction() {
+        return transaction.get() != null;
+    }
+
+    /**
+     * Starts a transaction on the calling thread. Until {@link #endTransaction(boolean)}
+     * is called, every getConnection() on this thread returns the same connection with
+     * auto-commit off, and releaseConnection() leaves it open, so the repositories take
+     * part in the transaction without any change.
+     *
+     * @throws SQLException If no connection is available or auto-commit cannot be turned off.
+     */
+    public void beginTransaction() throws SQLException {
+        if (transaction.get() != null) {
+            throw new SQLException("A transaction is already open on this thread");
+        }
+        PooledConnection pConn = getConnection();
+        try {
+            pConn.getConnection().setAutoCommit(false);
+        } catch (SQLException e) {
+            releaseConnection(pConn);
+            throw e;
+        }
+        rollbackOnly.remove();
+        afterCommit.remove();
+        afterRollback.remove();
+        transaction.set(pConn);
+    }
+
+    /**
+     * Commits or rolls back the transaction open on the calling thread and returns its
+     * connection to the pool, then runs the actions registered with {@link #afterCommit(Runnable)}
+     * if it was committed, or those registered with {@link #afterRollback(Runnable)} if it
+     * was not. Does nothing if no transaction is open.
+     *
+     * @param commit true to commit, false to roll back. A transaction marked rollback-only is always rolled back.
+     * @throws SQLException If the commit or rollback fails (the connection is then closed).
+     */
+    public void endTransaction(boolean commit) throws SQLException {
+        PooledConnection pConn = transaction.get();
+        if (pConn == null) {
+            return;
+        }
+        transaction.remove();
+        if (Boolean.TRUE.equals(rollbackOnly.get())) {
+            rollbackOnly.remove();
+            commit = false;
+        }
+        List<Runnable> actions = afterCommit.get();
+        List<Runnable> undo = afterRollback.get();
+        afterCommit.remove();
+        afterRollback.remove();
+        Connection conn = pConn.getConnection();
+        try {
+            if (commit) {
+                conn.commit();
+            } else {
+                conn.rollback();
+            }
+            conn.setAutoCommit(true);
+            (commit ? commits : rollbacks).increment();
+        } catch (SQLException e) {
+            discardConnection(pConn);
+            runActions(undo, "rollback");
+            throw e;
+        }
+        releaseConnection(pConn);
+        runActions(commit ? actions : undo, commit ? "commit" : "rollback");
+    }
+
+    /**
+     * Runs the actions registered for the end of a transaction, logging any that fails.
+     *
+     * @param actions The actions, or null.
+     * @param outcome "commit" or "rollback", for the log.
+     */
+    private void runActions(List<Runnable> actions, String outcome) {
+        if (actions == null) {
+            return;
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                ServerLog.error(tag + " Action after " + outcome + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Establishes a new physical connection to the MySQL database and counts it as open.
+     * @return A new PooledConnection wrapped around a JDBC Connection, or null if failed.
+     */
+    private PooledConnection createNewConnection() {
+        open.incrementAndGet();
+        PooledConnection pConn = connect();
+        if (pConn == null) {
+            open.decrementAndGet();
+        }
+        return pConn;
+    }
+
+    /**
+     * Counts one more connection as open, unless MAX_POOL_SIZE are open already.
+     * The slot is taken before the connection is opened, so two threads filling
+     * the pool at once cannot both take the last one.
+     * @return true if the slot was taken; the caller opens a connection for it or gives it back.
+     */
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = open.get();
+            if (current >= MAX_POOL_SIZE) {
+                return false;
+            }
+        } while (!open.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Opens a physical connection to the MySQL database, without counting it as open.
+     * @return A new PooledConnection wrapped around a JDBC Connection, or null if failed.
+     */
+    private PooledConnection connect() {
+        try {
+            PooledConnection pConn = new PooledConnection(DriverManager.getConnection(url, USER, PASS), this);
+            created.incrementAndGet();
+            return pConn;
+        } catch (SQLException e) {
+            ServerLog.error(tag + " Could not open a connection: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    
+    // Background Cleanup Logic 
+    /**
+     * Starts a scheduled task that runs periodically to close idle and old connections
+     * and to refill the pool up to MIN_IDLE.
+     */
+    private void startCleanupTimer() {
+        cleanerService = Executors.newSingleThreadScheduledExecutor();
+        cleanerService.scheduleAtFixedRate(this::checkIdleConnections, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens MIN_IDLE connections, so the first requests find them ready.
+     * Called when the server starts, after the password was checked.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        int added = fillToMinIdle();
+        ServerLog.info(tag + " Warmed up " + added + " connection(s) in " + (System.nanoTime() - start) / 1000000 + " ms.");
+        MySQLConnectionPool readPool = getReplica();
+        if (readPool != null && readPool != this) {
+            readPool.warmUp();
+            readPool.checkReplication();
+        }
+    }
+
+    /**
+     * Opens idle connections until MIN_IDLE are ready, without going over MAX_POOL_SIZE.
+     * The slot is reserved in the open count before the connection is opened, and a permit
+     * is held meanwhile, so neither a concurrent refill nor callers can exceed the limit.
+     *
+     * @return The number of connections opened.
+     */
+    private int fillToMinIdle() {
+        int added = 0;
+        if (PASS == null) {
+            return added; // Not configured yet
+        }
+        while (idle.get() < MIN_IDLE && reserveSlot()) {
+            if (!permits.tryAcquire()) {
+                open.decrementAndGet(); // Every connection is in use; nothing to keep ready
+                break;
+            }
+            PooledConnection pConn = connect();
+            if (pConn != null) {
+                pool.offerLast(pConn); // Spare connection, behind the hot ones
+                idle.incrementAndGet();
+            } else {
+                open.decrementAndGet(); // Give the slot back
+            }
+            permits.release();
+            if (pConn == null) {
+                break;
+            }
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * A helper method to test if a connection can be established.
+     * @throws SQLException If connection fails.
+     */
+    public static void testConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
+        conn.close(); 
+    }
+
+    /**
+     * Takes the connection on top of the idle stack.
+     *
+     * @return The connection, or null if none is idle.
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pConn = pool.pollFirst();
+        if (pConn != null) {
+            idle.decrementAndGet();
+        }
+        return pConn;
+    }
+
+    /**
+     * Checks the idle connections, coldest first.
+     * A connection older than MAX_LIFETIME is closed, and so is one that hasn't been used
+     * for longer than MAX_IDLE_TIME while more than MIN_IDLE are idle. The pool is then
+     * refilled up to MIN_IDLE. Connections stay in the deque while they are checked, so
+     * callers can still take the hot ones from the front.
+     */
+    private void checkIdleConnections() {
+        long now = System.currentTimeMillis();
+        int closedCount = 0;
+
+        for (Iterator<PooledConnection> it = pool.descendingIterator(); it.hasNext(); ) {
+            PooledConnection pConn = it.next();
+            boolean tooOld = now - pConn.getCreatedAt() > MAX_LIFETIME;
+            boolean idleTooLong = now - pConn.getLastUsed() > MAX_IDLE_TIME && idle.get() > MIN_IDLE;
+            if ((tooOld || idleTooLong) && pool.removeLastOccurrence(pConn)) { // false if a caller just took it
+                idle.decrementAndGet();
+                closeConnection(pConn);
+                closedCount++;
+            }
+        }
+        
+        if (closedCount > 0) { 
+            ServerLog.info("[Timer] " + tag + " Evicted " + closedCount + " idle connections. Pool Size: " + idle.get());
+        }
+        if (LEAK_THRESHOLD > 0) {
+            reportLeaks(now);
+        }
+        if (this == replica) {
+            checkReplication();
+        }
+        try {
+            fillToMinIdle();
+        } catch (RuntimeException e) {
+            ServerLog.error("[Timer] " + tag + " Could not refill: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that the replica can serve reads: a connection can be borrowed, and the
+     * replica is no more than REPLICA_MAX_LAG seconds behind the primary. Logs when the
+     * replica starts or stops being used.
+     */
+    private void checkReplication() {
+        boolean usable;
+        long lag = -1;
+        PooledConnection pConn = null;
+        try {
+            pConn = borrow();
+            lag = readLag(pConn.getConnection());
+            usable = lag >= 0 && lag <= REPLICA_MAX_LAG;
+        } catch (SQLException e) {
+            usable = false;
+            ServerLog.debug(tag + " Check failed: " + e.getMessage());
+        } finally {
+            if (pConn != null) {
+                releaseConnection(pConn);
+            }
+        }
+        lastLag = lag;
+        if (usable != healthy) {
+            if (usable) {
+                ServerLog.info(tag + " Replica up to date (lag " + lag + " s), reads go to it.");
+            } else {
+                ServerLog.warn(tag + " Replica " + (lag < 0 ? "unavailable or not replicating" : "lagging " + lag + " s")
+                        + ", reads go to the primary.");
+            }
+        }
+        healthy = usable;
+    }
+
+    /**
+     * Reads how far the server behind this connection is behind its source.
+     *
+     * @param conn A connection to the replica.
+     * @return The lag in seconds; 0 if the server does not replicate from anything;
+     *         -1 if replication is stopped or broken.
+     * @throws SQLException If the server cannot be queried.
+     */
+    private static long readLag(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            ResultSet rs;
+            try {
+                rs = st.executeQuery("SHOW REPLICA STATUS"); // MySQL 8.0.22 and later
+            } catch (SQLException e) {
+                rs = st.executeQuery("SHOW SLAVE STATUS");
+            }
+            try {
+                if (!rs.next()) {
+                    return 0; // Not a replica
+                }
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String column = meta.getColumnLabel(i);
+                    if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                        long lag = rs.getLong(i);
+                        return rs.wasNull() ? -1 : lag; // NULL while replication is stopped
+                    }
+                }
+                return -1;
+            } finally {
+                rs.close();
+            }
+        }
+    }
+
+    /**
+     * Reports, once per loan, every connection held for longer than LEAK_THRESHOLD,
+     * with the thread holding it and the stack trace of the place it was borrowed.
+     *
+     * @param now The current time in milliseconds.
+     */
+    private void reportLeaks(long now) {
+        for (PooledConnection pConn : borrowed) {
+            long borrowedAt = pConn.getBorrowedAt();
+            if (borrowedAt == 0 || now - borrowedAt <= LEAK_THRESHOLD || pConn.isLeakReported()) {
+                continue;
+            }
+            pConn.setLeakReported();
+            leaks.increment();
+            StringBuilder sb = new StringBuilder();
+            sb.append(tag).append(" Possible connection leak: held for ").append(now - borrowedAt)
+              .append(" ms by thread ").append(pConn.getBorrowerThread());
+            Throwable where = pConn.getBorrowedBy();
+            if (where != null) {
+                for (StackTraceElement frame : where.getStackTrace()) {
+                    if (!frame.getClassName().equals(MySQLConnectionPool.class.getName())) {
+                        sb.append("\n    at ").append(frame);
+                    }
+                }
+            }
+            ServerLog.warn(sb.toString());
+        }
+    }
+}
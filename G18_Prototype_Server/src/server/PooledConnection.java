@@ -1,78 +1,390 @@
-package server;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-
-/**
- * A wrapper class for a JDBC Connection.
- *
- * Software Structure:
- * This class acts as a container within the Infrastructure Layer.
- * It holds the actual database connection object and tracks when it was last used.
- * This helps the MySQLConnectionPool decide which connections to keep and which to close.
- *
- * UI Components:
- * None. This is a low-level utility class.
- *
- * @author Dana Zablev
- * @version 1.0
- */
-public class PooledConnection {
-    
-    /** The actual physical DB connection. */
-    private Connection connection; 
-    /** Timestamp of the last activity in milliseconds. */
-    private long lastUsed;         
-
-    
-    /**
-     * Constructor. Wraps a physical connection and starts the timer.
-     *
-     * @param connection The JDBC connection to wrap.
-     */
-    public PooledConnection(Connection connection) {
-        this.connection = connection;
-        this.lastUsed = System.currentTimeMillis();
-    }
-
-    
-    /**
-     * Returns the underlying physical JDBC connection.
-     *
-     * @return The SQL Connection object.
-     */
-    public Connection getConnection() {
-        return connection;
-    }
-
-   
-    /**
-     * Updates the timestamp to the current time.
-     * Call this whenever the connection is used.
-     */
-    public void touch() {
-        this.lastUsed = System.currentTimeMillis();
-    }
-
-  
-    /**
-     * Returns the time (in ms) when this connection was last used.
-     *
-     * @return The timestamp of last usage.
-     */
-    public long getLastUsed() {
-        return lastUsed;
-    }
-    
-    
-    /**
-     * Closes the physical connection to the database.
-     *
-     * @throws SQLException If a database access error occurs.
-     */
-    public void closePhysicalConnection() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
-        }
-    }
-}
\ No newline at end of file
+package server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A wrapper class for a JDBC Connection.
+ *
+ * Software Structure:
+ * This class acts as a container within the Infrastructure Layer.
+ * It holds the actual database connection object and tracks when it was opened and last used.
+ * This helps the MySQLConnectionPool decide which connections to keep and which to close.
+ *
+ * It also keeps the PreparedStatements created on the connection, by SQL text, so a query
+ * run again on the same physical connection reuses the statement already prepared on the
+ * MySQL server instead of preparing a new one. At most {@value #STATEMENT_CACHE_SIZE}
+ * statements are kept; the least recently used one is closed when another is added, and
+ * all of them are closed with the connection.
+ *
+ * Repositories close the statements and result sets they use, with try-with-resources, as
+ * with plain JDBC. Closing a cached statement only gives it back to the cache (and closes
+ * its open result set). A cached statement is never handed out twice at the same time: if
+ * it is still in use, e.g. by the caller of a nested repository call running on the same
+ * transaction connection, a new statement is prepared for that call and really closed
+ * afterwards. Statements still in use when the connection returns to the pool are given
+ * back then.
+ *
+ * UI Components:
+ * None. This is a low-level utility class.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class PooledConnection {
+    
+    /** The actual physical DB connection. */
+    private Connection connection; 
+    /** Timestamp of the last activity in milliseconds. */
+    private long lastUsed;         
+    /** Timestamp at which the physical connection was opened, in milliseconds. */
+    private final long createdAt;
+    /** The pool that opened the connection (the primary or the replica pool), or null. */
+    private final MySQLConnectionPool owner;
+
+    /** Time (ms) the connection was handed out by the pool; 0 while it is idle. */
+    private volatile long borrowedAt;
+    /** Where the connection was handed out; recorded only when leak tracking is on. */
+    private volatile Throwable borrowedBy;
+    /** Name of the thread the connection was handed out to. */
+    private volatile String borrowerThread;
+    /** true once the pool reported this loan as a possible leak. */
+    private volatile boolean leakReported;
+
+    /** Most statements kept per connection. */
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    /** Statements served from a cache, on all connections. */
+    private static final LongAdder statementHits = new LongAdder();
+    /** Statements that had to be prepared, on all connections. */
+    private static final LongAdder statementMisses = new LongAdder();
+    /** Statements prepared again because the cached one was in use, on all connections. */
+    private static final LongAdder statementBusy = new LongAdder();
+
+    /** Prepared statements by SQL text, least recently used first. */
+    private final LinkedHashMap<String, CachedStatement> statements =
+            new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) {
+                        return false;
+                    }
+                    CachedStatement cached = eldest.getValue();
+                    if (cached.inUse) {
+                        cached.evicted = true; // Closed when its user gives it back
+                    } else {
+                        closeQuietly(cached.target);
+                    }
+                    return true;
+                }
+            };
+
+    /**
+     * A cached statement and the handle given to its users. Closing the handle gives the
+     * statement back to the cache; every other call goes to the statement itself.
+     */
+    private final class CachedStatement implements InvocationHandler {
+        /** The statement prepared on the connection. */
+        final PreparedStatement target;
+        /** The proxy handed out in place of the statement. */
+        final PreparedStatement handle;
+        /** true while a caller holds the handle. Guarded by the connection. */
+        boolean inUse;
+        /** true once the statement left the cache while in use. Guarded by the connection. */
+        boolean evicted;
+
+        CachedStatement(PreparedStatement target) {
+            this.target = target;
+            this.handle = (PreparedStatement) Proxy.newProxyInstance(PooledConnection.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getParameterCount() == 0) {
+                if (name.equals("close")) {
+                    giveBack(this);
+                    return null;
+                }
+                if (name.equals("isClosed")) {
+                    return !isInUse(this) || target.isClosed();
+                }
+                if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                if (name.equals("toString")) {
+                    return target.toString();
+                }
+            } else if (name.equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    
+    /**
+     * Constructor. Wraps a physical connection and starts the timer.
+     *
+     * @param connection The JDBC connection to wrap.
+     */
+    public PooledConnection(Connection connection) {
+        this(connection, null);
+    }
+
+    /**
+     * Constructor. Wraps a physical connection opened by a pool and starts the timer.
+     *
+     * @param connection The JDBC connection to wrap.
+     * @param owner The pool the connection must be returned to.
+     */
+    public PooledConnection(Connection connection, MySQLConnectionPool owner) {
+        this.connection = connection;
+        this.owner = owner;
+        this.lastUsed = System.currentTimeMillis();
+        this.createdAt = lastUsed;
+    }
+
+    
+    /**
+     * Returns the underlying physical JDBC connection.
+     *
+     * @return The SQL Connection object.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+   
+    /**
+     * Returns the statement prepared for this SQL on this connection, preparing it the
+     * first time. Its parameters are cleared, so it can be used like a new statement.
+     * Close it when done, which gives it back to the cache. If the cached statement is
+     * still in use, a new one is prepared instead.
+     *
+     * @param sql The SQL text, with ? placeholders.
+     * @return The prepared statement.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Same as {@link #prepareStatement(String)}, for a statement that may return the keys it generated.
+     *
+     * @param sql The SQL text, with ? placeholders.
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS.
+     * @return The prepared statement.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public synchronized PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "[keys] " + sql : sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.target.isClosed()) {
+            if (cached.inUse) {
+                // Still used by an outer call on this connection: its result set must stay open
+                statementBusy.increment();
+                return connection.prepareStatement(sql, autoGeneratedKeys);
+            }
+            statementHits.increment();
+            cached.target.clearParameters();
+            cached.inUse = true;
+            return cached.handle;
+        }
+        statementMisses.increment();
+        cached = new CachedStatement(connection.prepareStatement(sql, autoGeneratedKeys));
+        cached.inUse = true;
+        statements.put(key, cached);
+        return cached.handle;
+    }
+
+    /**
+     * Gives a statement back to the cache, closing the result set its user left open.
+     *
+     * @param cached The statement.
+     */
+    private synchronized void giveBack(CachedStatement cached) {
+        if (!cached.inUse) {
+            return; // Closed twice
+        }
+        cached.inUse = false;
+        try {
+            ResultSet rs = cached.target.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException ignored) {
+        }
+        if (cached.evicted) {
+            closeQuietly(cached.target);
+        }
+    }
+
+    /** @return true while a caller holds the statement. */
+    private synchronized boolean isInUse(CachedStatement cached) {
+        return cached.inUse;
+    }
+
+    /**
+     * Gives back the statements that are still in use; called when the connection returns
+     * to the pool, so a statement left open cannot block the cache for the next borrower.
+     */
+    synchronized void releaseStatements() {
+        for (CachedStatement cached : statements.values().toArray(new CachedStatement[0])) {
+            giveBack(cached);
+        }
+    }
+
+    /**
+     * @return A summary of the statement caches of all connections, for the metrics report.
+     */
+    public static String getStatementStats() {
+        long hits = statementHits.sum();
+        long misses = statementMisses.sum();
+        return String.format("[Statements] %d reused, %d prepared (%.1f%% reused), %d prepared again while in use",
+                hits, misses, hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses), statementBusy.sum());
+    }
+
+    /**
+     * Returns the pool that opened the connection.
+     *
+     * @return The owning pool, or null if the connection was not opened by a pool.
+     */
+    MySQLConnectionPool getOwner() {
+        return owner;
+    }
+
+    /**
+     * Updates the timestamp to the current time.
+     * Call this whenever the connection is used.
+     */
+    public void touch() {
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+  
+    /**
+     * Returns the time (in ms) when this connection was last used.
+     *
+     * @return The timestamp of last usage.
+     */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * Records that the pool handed out the connection.
+     *
+     * @param recordStack true to keep the caller's stack trace for leak reports.
+     */
+    void markBorrowed(boolean recordStack) {
+        borrowerThread = Thread.currentThread().getName();
+        borrowedBy = recordStack ? new Throwable("Connection borrowed here") : null;
+        leakReported = false;
+        borrowedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Records that the connection came back to the pool.
+     *
+     * @return false if it was not handed out, i.e. it was released twice.
+     */
+    synchronized boolean markReturned() {
+        if (borrowedAt == 0) {
+            return false;
+        }
+        borrowedAt = 0;
+        borrowedBy = null;
+        return true;
+    }
+
+    /** @return The time (ms) the connection was handed out, or 0 if it is idle. */
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    /** @return Where the connection was handed out, or null if that was not recorded. */
+    Throwable getBorrowedBy() {
+        return borrowedBy;
+    }
+
+    /** @return The name of the thread holding the connection. */
+    String getBorrowerThread() {
+        return borrowerThread;
+    }
+
+    /** @return true if the current loan was already reported as a possible leak. */
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    /** Marks the current loan as reported. */
+    void setLeakReported() {
+        leakReported = true;
+    }
+
+    /**
+     * Returns the time (in ms) when the physical connection was opened.
+     *
+     * @return The creation timestamp.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Checks that the connection still works, with a lightweight ping to the server.
+     *
+     * @param timeoutSeconds How long to wait for the server to answer.
+     * @return true if the connection is open and the server answered in time.
+     */
+    public boolean isValid(int timeoutSeconds) {
+        try {
+            return connection != null && connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    
+    /**
+     * Closes the physical connection to the database.
+     *
+     * @throws SQLException If a database access error occurs.
+     */
+    public synchronized void closePhysicalConnection() throws SQLException {
+        statements.clear(); // Closed by the driver together with the connection
+        if (connection != null && !connection.isClosed()) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring errors; used when it leaves the cache.
+     *
+     * @param ps The statement.
+     */
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
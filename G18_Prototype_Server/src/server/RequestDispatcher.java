@@ -0,0 +1,268 @@
+package server;
+
+import common.ActionType;
+import common.BatchRequest;
+import common.BistroMessage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the request handlers and the worker pools that run them.
+ *
+ * Software Structure:
+ * This class belongs to the Server Layer and is owned by BistroServer. Every ActionType is
+ * registered with its {@link RequestHandler} and the {@link Workload} it belongs to. Each
+ * workload has its own bounded pool, so slow report queries can only fill the heavy-read
+ * pool while terminals keep being served by the interactive and write pools.
+ * Writes run on a single thread, in the order they arrive, which keeps the
+ * check-then-update sequences of the handlers (free table, unique code) from interleaving.
+ *
+ * The requests of one client pass through its {@link ClientQueue} first, which hands them
+ * to the pools one at a time, like NioChannel.execute does for the frames of a channel.
+ * A client therefore gets its responses in the order it sent its requests, even when they
+ * run in different pools, while the requests of different clients still run in parallel.
+ */
+public class RequestDispatcher {
+
+    /**
+     * The kinds of work a request can be, each served by its own pool.
+     */
+    public enum Workload {
+        /** Short lookups used by terminals and screens as they open. */
+        INTERACTIVE(8, 256),
+        /** Reports, availability searches and full lists. */
+        HEAVY_READ(2, 32),
+        /** Requests that change the database, run one at a time. */
+        WRITE(1, 512);
+
+        /** Number of threads in the pool. */
+        private final int threads;
+        /** Number of requests that may wait for a thread. */
+        private final int queueSize;
+
+        Workload(int threads, int queueSize) {
+            this.threads = threads;
+            this.queueSize = queueSize;
+        }
+    }
+
+    /**
+     * A handler and the workload it runs in.
+     */
+    private static class Registration {
+        final Workload workload;
+        final RequestHandler handler;
+
+        Registration(Workload workload, RequestHandler handler) {
+            this.workload = workload;
+            this.handler = handler;
+        }
+    }
+
+    /** Most requests one client may have waiting in its queue. */
+    private static final int MAX_QUEUED_PER_CLIENT = 64;
+
+    /**
+     * The requests of one client, run one after the other in the order they arrived.
+     * Create one per connection with {@link RequestDispatcher#newClientQueue()}.
+     */
+    public static final class ClientQueue {
+        /** The requests not started yet. */
+        private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+        /** Number of requests in entries. */
+        private final AtomicInteger queued = new AtomicInteger();
+        /** true while a request of this client is running or handed to a pool. */
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private ClientQueue() {
+        }
+    }
+
+    /**
+     * A request waiting in a client queue.
+     */
+    private static class Entry {
+        /** The pool to run in, or null to run on the thread that starts it. */
+        final Workload workload;
+        final Runnable task;
+        final Runnable onBusy;
+
+        Entry(Workload workload, Runnable task, Runnable onBusy) {
+            this.workload = workload;
+            this.task = task;
+            this.onBusy = onBusy;
+        }
+    }
+
+    /** The handlers by ActionType. */
+    private final Map<ActionType, Registration> handlers = new EnumMap<>(ActionType.class);
+    /** The pools by workload. */
+    private final Map<Workload, ExecutorService> pools = new EnumMap<>(Workload.class);
+
+    /**
+     * Creates the dispatcher and starts one pool per workload.
+     */
+    public RequestDispatcher() {
+        for (Workload workload : Workload.values()) {
+            pools.put(workload, newPool(workload));
+        }
+    }
+
+    /**
+     * Registers the handler of an ActionType, replacing any previous one.
+     *
+     * @param type The ActionType handled.
+     * @param workload The pool the requests run in.
+     * @param handler The handler.
+     */
+    public synchronized void register(ActionType type, Workload workload, RequestHandler handler) {
+        handlers.put(type, new Registration(workload, handler));
+    }
+
+    /**
+     * @param type An ActionType.
+     * @return Its handler, or null if none is registered.
+     */
+    public synchronized RequestHandler handlerFor(ActionType type) {
+        Registration registration = type == null ? null : handlers.get(type);
+        return registration == null ? null : registration.handler;
+    }
+
+    /**
+     * Decides which pool a request runs in. A transactional batch is a write; any other
+     * batch runs in the pool of its heaviest request. Unknown types are interactive.
+     *
+     * @param request The request.
+     * @return Its workload.
+     */
+    public synchronized Workload workloadOf(BistroMessage request) {
+        ActionType type = request.getType();
+        if (type == ActionType.BATCH && request.getData() instanceof BatchRequest) {
+            BatchRequest batch = (BatchRequest) request.getData();
+            if (batch.isTransactional()) {
+                return Workload.WRITE;
+            }
+            Workload heaviest = Workload.INTERACTIVE;
+            for (BistroMessage part : batch.getRequests()) {
+                Workload workload = workloadOf(part);
+                if (workload == Workload.WRITE) {
+                    return Workload.WRITE;
+                }
+                if (workload == Workload.HEAVY_READ) {
+                    heaviest = Workload.HEAVY_READ;
+                }
+            }
+            return heaviest;
+        }
+        Registration registration = type == null ? null : handlers.get(type);
+        return registration == null ? Workload.INTERACTIVE : registration.workload;
+    }
+
+    /**
+     * @return A new, empty queue for the requests of one client.
+     */
+    public ClientQueue newClientQueue() {
+        return new ClientQueue();
+    }
+
+    /**
+     * Queues a task behind the earlier requests of its client, to run in the pool of the
+     * request's workload once they are done. If the client has too many requests waiting,
+     * or the pool's queue is full when the task's turn comes, onBusy runs instead.
+     *
+     * @param queue The client's queue.
+     * @param request The request the task answers.
+     * @param task The task.
+     * @param onBusy Run instead of the task if it cannot be accepted.
+     */
+    public void submit(ClientQueue queue, BistroMessage request, Runnable task, Runnable onBusy) {
+        enqueue(queue, new Entry(workloadOf(request), task, onBusy));
+    }
+
+    /**
+     * Queues a task behind the earlier requests of its client, to run on the thread that
+     * finishes the last of them, or right away on the calling thread if there are none.
+     * Used for short tasks that must not start before the client's requests are answered.
+     *
+     * @param queue The client's queue.
+     * @param task The task.
+     */
+    public void runInOrder(ClientQueue queue, Runnable task) {
+        enqueue(queue, new Entry(null, task, task));
+    }
+
+    /**
+     * Adds an entry to a client queue and starts it if nothing else of the client runs.
+     */
+    private void enqueue(ClientQueue queue, Entry entry) {
+        if (entry.workload != null && queue.queued.get() >= MAX_QUEUED_PER_CLIENT) {
+            entry.onBusy.run();
+            return;
+        }
+        queue.queued.incrementAndGet();
+        queue.entries.add(entry);
+        if (queue.running.compareAndSet(false, true)) {
+            runNext(queue);
+        }
+    }
+
+    /**
+     * Starts the next entry of a client queue, which holds the running flag. Entries that
+     * run on the current thread, or that a pool rejects, are finished here; an entry handed
+     * to a pool starts the next one when it is done. The flag is cleared when the queue is
+     * empty, and taken back if an entry was added meanwhile.
+     */
+    private void runNext(ClientQueue queue) {
+        while (true) {
+            Entry entry = queue.entries.poll();
+            if (entry == null) {
+                queue.running.set(false);
+                if (queue.entries.isEmpty() || !queue.running.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            queue.queued.decrementAndGet();
+            if (entry.workload == null) {
+                entry.task.run();
+                continue;
+            }
+            try {
+                pools.get(entry.workload).execute(() -> {
+                    try {
+                        entry.task.run();
+                    } finally {
+                        runNext(queue);
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                entry.onBusy.run();
+            }
+        }
+    }
+
+    /**
+     * Creates the bounded pool of a workload. Its threads are daemons so they do not
+     * keep the JVM alive when the server window is closed.
+     */
+    private static ExecutorService newPool(Workload workload) {
+        String name = workload.name().toLowerCase().replace('_', '-');
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(workload.threads, workload.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workload.queueSize), r -> {
+                    Thread thread = new Thread(r, name + " worker " + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
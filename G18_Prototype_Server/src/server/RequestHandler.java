@@ -0,0 +1,25 @@
+package server;
+
+import common.BistroMessage;
+import ocsf.server.ConnectionToClient;
+
+/**
+ * Handles one kind of client request.
+ *
+ * Software Structure:
+ * Implementations are registered with the {@link RequestDispatcher} under the ActionType
+ * they handle. The server registers one of its methods per ActionType.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+    /**
+     * Handles a request.
+     *
+     * @param request The request sent by the client.
+     * @param client The connection to the client.
+     * @return The response, or null if the request has none.
+     * @throws Exception If the request fails; the caller answers with an error message.
+     */
+    BistroMessage handle(BistroMessage request, ConnectionToClient client) throws Exception;
+}
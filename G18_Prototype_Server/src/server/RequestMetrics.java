@@ -0,0 +1,186 @@
+package server;
+
+import common.ActionType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests of each ActionType and records how long they take.
+ *
+ * Software Structure:
+ * This class belongs to the Server Layer and is owned by BistroServer, which records every
+ * request once its response is sent. Recording never takes a lock: counters are LongAdders
+ * and each latency histogram is an array of atomic bucket counters, so the worker threads
+ * never wait for each other or for a report being built.
+ *
+ * A histogram has 8 buckets per power of two microseconds, so a percentile read from it is
+ * at most 12.5% above the real value. Latency is measured from the moment the request was
+ * received, so it includes the time spent waiting for a worker thread.
+ *
+ * UI Components:
+ * {@link #report(long)} builds the table shown by the Metrics button of the server console.
+ */
+public class RequestMetrics {
+
+    /** Sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 8;
+    /** log2 of SUB_BUCKETS. */
+    private static final int SUB_BITS = 3;
+    /** Number of buckets; the last one also holds anything longer (about 2^40 us). */
+    private static final int BUCKETS = 320;
+
+    /**
+     * The counters of one ActionType.
+     */
+    private static class ActionStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalMicros = new LongAdder();
+        final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    }
+
+    /** The counters by ActionType, created once so recording never allocates. */
+    private final Map<ActionType, ActionStats> stats = new EnumMap<>(ActionType.class);
+    /** Time the counters were started or last reset. */
+    private volatile long startedAt = System.currentTimeMillis();
+
+    /**
+     * Creates empty counters for every ActionType.
+     */
+    public RequestMetrics() {
+        for (ActionType type : ActionType.values()) {
+            stats.put(type, new ActionStats());
+        }
+    }
+
+    /**
+     * Records a request whose response was sent.
+     *
+     * @param type The request's ActionType (ignored if null).
+     * @param receivedNanos The System.nanoTime() at which the request was received.
+     * @param error true if the request failed or was answered with an error.
+     */
+    public void record(ActionType type, long receivedNanos, boolean error) {
+        if (type == null) {
+            return;
+        }
+        long micros = Math.max(0, (System.nanoTime() - receivedNanos) / 1000);
+        ActionStats s = stats.get(type);
+        s.count.increment();
+        if (error) {
+            s.errors.increment();
+        }
+        s.totalMicros.add(micros);
+        s.maxMicros.accumulate(micros);
+        s.buckets.incrementAndGet(bucketOf(micros));
+    }
+
+    /**
+     * Clears all the counters.
+     */
+    public void reset() {
+        for (ActionStats s : stats.values()) {
+            s.count.reset();
+            s.errors.reset();
+            s.totalMicros.reset();
+            s.maxMicros.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                s.buckets.set(i, 0);
+            }
+        }
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Builds a table of the ActionTypes seen so far: count, errors, rate, mean,
+     * p50/p95/p99 and max latency in milliseconds.
+     *
+     * @param rejected Requests turned away because their pool was full.
+     * @return The report, one line per ActionType.
+     */
+    public String report(long rejected) {
+        double seconds = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[Metrics] %.0f s since start/reset, %d rejected as busy%n", seconds, rejected));
+        sb.append(String.format("%-26s %7s %6s %7s %8s %8s %8s %8s %8s%n",
+                "Action", "Count", "Errors", "Req/s", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+        long total = 0;
+        for (Map.Entry<ActionType, ActionStats> entry : stats.entrySet()) {
+            ActionStats s = entry.getValue();
+            long count = s.count.sum();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            long[] snapshot = new long[BUCKETS];
+            long inBuckets = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = s.buckets.get(i);
+                inBuckets += snapshot[i];
+            }
+            long max = s.maxMicros.get();
+            sb.append(String.format("%-26s %7d %6d %7.2f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey(), count, s.errors.sum(), count / seconds,
+                    s.totalMicros.sum() / (double) count / 1000.0,
+                    Math.min(max, percentile(snapshot, inBuckets, 0.50)) / 1000.0,
+                    Math.min(max, percentile(snapshot, inBuckets, 0.95)) / 1000.0,
+                    Math.min(max, percentile(snapshot, inBuckets, 0.99)) / 1000.0,
+                    max / 1000.0));
+        }
+        sb.append(String.format("Total: %d request(s), %.2f req/s", total, total / seconds));
+        return sb.toString();
+    }
+
+    /**
+     * Finds the upper bound of the bucket holding a percentile.
+     *
+     * @param buckets A snapshot of the bucket counters.
+     * @param count The sum of the snapshot.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The latency in microseconds.
+     */
+    private static long percentile(long[] buckets, long count, double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length - 1);
+    }
+
+    /**
+     * @param micros A latency in microseconds.
+     * @return The index of the bucket counting it.
+     */
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int octave = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (octave - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (octave - SUB_BITS + 1) * SUB_BUCKETS + sub);
+    }
+
+    /**
+     * @param bucket A bucket index.
+     * @return The largest latency in microseconds the bucket counts.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int octave = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (octave - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,282 @@
+package server;
+
+import common.ActionType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breaks the time of one request down into stages.
+ *
+ * Software Structure:
+ * This class is a utility component of the Server Layer. A trace is started on the worker
+ * thread that executes a request and is kept in a ThreadLocal, so the logic classes and the
+ * repositories add to it without receiving it as a parameter:
+ * - "queue" and "decode" are measured before the request starts.
+ * - Named stages are measured by running them through {@link #run(String, Step)} or
+ *   {@link #call(String, Stage)}.
+ * - Every database access is measured by MySQLConnectionPool from the moment a connection
+ *   is asked for until it is released, and is named after the repository method that
+ *   used it (for example "db OrderRepository.getOrderByCode").
+ *
+ * When the request ends, the breakdown is thrown away unless the request took longer than
+ * the threshold set with {@value #SLOW_PROPERTY} (in milliseconds, 500 by default, a
+ * negative value turns tracing off). Slow requests are logged as a warning and the last
+ * {@value #KEPT_SLOW} of them are kept for the metrics report.
+ */
+public final class RequestTrace {
+
+    /** System property setting the slow request threshold in milliseconds. */
+    public static final String SLOW_PROPERTY = "bistro.trace.slowMillis";
+
+    /** Number of slow request breakdowns kept. */
+    private static final int KEPT_SLOW = 20;
+
+    /** The threshold in nanoseconds, or -1 if tracing is off. */
+    private static final long slowNanos = readThreshold();
+
+    /** The trace of the request running on each thread. */
+    private static final ThreadLocal<RequestTrace> current = new ThreadLocal<>();
+
+    /** Time spent decoding the last frame read on each thread, in nanoseconds. */
+    private static final ThreadLocal<long[]> lastDecode = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** The last slow request breakdowns, oldest first. */
+    private static final ArrayDeque<String> slowTraces = new ArrayDeque<>();
+
+    /**
+     * A measured stage that returns a value.
+     *
+     * @param <T> The type of the value.
+     * @param <E> The exception the stage may throw.
+     */
+    public interface Stage<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * A measured stage that returns nothing.
+     *
+     * @param <E> The exception the stage may throw.
+     */
+    public interface Step<E extends Exception> {
+        void run() throws E;
+    }
+
+    /** The request's ActionType. */
+    private final ActionType type;
+    /** The request's ID. */
+    private final long requestId;
+    /** The System.nanoTime() at which the request was received. */
+    private final long receivedNanos;
+    /** Count and total nanoseconds of each stage, in the order the stages first ran. */
+    private final Map<String, long[]> stages = new LinkedHashMap<>();
+    /** Start times of the database accesses in progress. */
+    private final ArrayDeque<long[]> openDb = new ArrayDeque<>();
+    /** Names of the database accesses in progress. */
+    private final ArrayDeque<String> openDbNames = new ArrayDeque<>();
+
+    private RequestTrace(ActionType type, long requestId, long receivedNanos) {
+        this.type = type;
+        this.requestId = requestId;
+        this.receivedNanos = receivedNanos;
+    }
+
+    /**
+     * Records how long the frame just read on this thread took to decode.
+     * Called by the transport thread before the message is handled.
+     *
+     * @param nanos The decoding time.
+     */
+    public static void decoded(long nanos) {
+        lastDecode.get()[0] = nanos;
+    }
+
+    /**
+     * Returns the decoding time recorded on this thread and clears it.
+     *
+     * @return The decoding time in nanoseconds, 0 if none was recorded.
+     */
+    public static long takeDecoded() {
+        long[] holder = lastDecode.get();
+        long nanos = holder[0];
+        holder[0] = 0;
+        return nanos;
+    }
+
+    /**
+     * Starts tracing a request on the calling thread.
+     *
+     * @param type The request's ActionType.
+     * @param requestId The request's ID.
+     * @param receivedNanos The System.nanoTime() at which the request was received.
+     * @param decodeNanos The time the request took to decode.
+     */
+    public static void begin(ActionType type, long requestId, long receivedNanos, long decodeNanos) {
+        if (slowNanos < 0) {
+            return;
+        }
+        RequestTrace trace = new RequestTrace(type, requestId, receivedNanos);
+        if (decodeNanos > 0) {
+            trace.add("decode", decodeNanos);
+        }
+        trace.add("queue", System.nanoTime() - receivedNanos);
+        current.set(trace);
+    }
+
+    /**
+     * Runs a stage of the request traced on this thread and adds its time to the trace,
+     * also if it throws. Just runs it if no request is traced.
+     *
+     * @param name The stage name.
+     * @param stage The stage.
+     * @return The value returned by the stage.
+     * @throws E If the stage throws.
+     */
+    public static <T, E extends Exception> T call(String name, Stage<T, E> stage) throws E {
+        RequestTrace trace = current.get();
+        if (trace == null) {
+            return stage.call();
+        }
+        long start = System.nanoTime();
+        try {
+            return stage.call();
+        } finally {
+            trace.add(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Runs a stage of the request traced on this thread and adds its time to the trace,
+     * like {@link #call(String, Stage)} for stages that return nothing.
+     *
+     * @param name The stage name.
+     * @param step The stage.
+     * @throws E If the stage throws.
+     */
+    public static <E extends Exception> void run(String name, Step<E> step) throws E {
+        call(name, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Marks the start of a database access. Called by MySQLConnectionPool when a
+     * connection is asked for; the access is named after the method asking for it.
+     */
+    static void dbBorrowed() {
+        RequestTrace trace = current.get();
+        if (trace == null) {
+            return;
+        }
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        String name = "db ?";
+        if (stack.length > 2) {
+            String className = stack[2].getClassName();
+            name = "db " + className.substring(className.lastIndexOf('.') + 1) + "." + stack[2].getMethodName();
+        }
+        trace.openDbNames.push(name);
+        trace.openDb.push(new long[] { System.nanoTime() });
+    }
+
+    /**
+     * Marks the end of the last database access started. Called by MySQLConnectionPool
+     * when a connection is released.
+     */
+    static void dbReleased() {
+        RequestTrace trace = current.get();
+        if (trace == null || trace.openDb.isEmpty()) {
+            return;
+        }
+        trace.add(trace.openDbNames.pop(), System.nanoTime() - trace.openDb.pop()[0]);
+    }
+
+    /**
+     * Ends the trace of the request on the calling thread. If the request was slow,
+     * its breakdown is logged and kept.
+     *
+     * @param error true if the request failed.
+     */
+    public static void end(boolean error) {
+        RequestTrace trace = current.get();
+        if (trace == null) {
+            return;
+        }
+        current.remove();
+        long total = System.nanoTime() - trace.receivedNanos;
+        if (total < slowNanos) {
+            return;
+        }
+        String breakdown = trace.describe(total, error);
+        ServerLog.warn(breakdown);
+        synchronized (slowTraces) {
+            slowTraces.addLast(breakdown);
+            if (slowTraces.size() > KEPT_SLOW) {
+                slowTraces.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * @return The breakdowns of the last slow requests, oldest first.
+     */
+    public static List<String> recentSlow() {
+        synchronized (slowTraces) {
+            return new ArrayList<>(slowTraces);
+        }
+    }
+
+    /**
+     * Adds time to a stage.
+     */
+    private void add(String name, long nanos) {
+        long[] stage = stages.get(name);
+        if (stage == null) {
+            stage = new long[2];
+            stages.put(name, stage);
+        }
+        stage[0]++;
+        stage[1] += nanos;
+    }
+
+    /**
+     * Formats the breakdown, e.g.
+     * "[Slow] PAY_BILL #12 took 812.4 ms: queue 0.2 | logic 790.1 | db OrderRepository.getOrderByCode 300.2 | ...".
+     * Stages that ran more than once show their count. Times are in milliseconds.
+     */
+    private String describe(long total, boolean error) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[Slow] %s #%d took %.1f ms%s:", type, requestId, total / 1e6, error ? " (error)" : ""));
+        String separator = " ";
+        for (Map.Entry<String, long[]> stage : stages.entrySet()) {
+            long[] value = stage.getValue();
+            sb.append(separator).append(stage.getKey());
+            if (value[0] > 1) {
+                sb.append(' ').append(value[0]).append('x');
+            }
+            sb.append(String.format(" %.1f", value[1] / 1e6));
+            separator = " | ";
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads the threshold property.
+     */
+    private static long readThreshold() {
+        String value = System.getProperty(SLOW_PROPERTY);
+        if (value == null) {
+            return 500_000_000L;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            return millis < 0 ? -1 : millis * 1_000_000L;
+        } catch (NumberFormatException e) {
+            System.err.println("[Trace] Invalid " + SLOW_PROPERTY + " " + value + ", using 500.");
+            return 500_000_000L;
+        }
+    }
+}
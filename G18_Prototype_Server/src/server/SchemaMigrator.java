@@ -0,0 +1,274 @@
+package server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date when the server starts, and checks that the hot
+ * queries can use an index.
+ *
+ * Software Structure:
+ * This class belongs to the Database Layer and is run by ServerUI before the server
+ * accepts clients. The schema dump (G18_Assignment3_DB.sql) only has primary keys, so the
+ * indexes the repositories need are added here as numbered migrations. The versions already
+ * applied are recorded in the "schema_version" table; each migration runs once, in order.
+ * MySQL commits DDL statements one by one, so a migration cannot be rolled back: each step
+ * checks first whether its index exists, and a migration interrupted halfway is simply run
+ * again on the next start.
+ *
+ * After migrating, every query in {@link #HOT_QUERIES} is run through EXPLAIN. The check
+ * fails if MySQL would scan a whole table with no index it could use for it. A full scan
+ * chosen although an index exists is accepted: MySQL does that on tables small enough
+ * to read in one go (e.g. a dozen restaurant tables).
+ *
+ * UI Components:
+ * None. Progress is written to the server log.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public final class SchemaMigrator {
+
+    /**
+     * One schema change, applied on an open connection.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A numbered set of schema changes.
+     */
+    private static final class Migration {
+        final int version;
+        final String description;
+        final List<Step> steps;
+
+        Migration(int version, String description, Step... steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = Arrays.asList(steps);
+        }
+    }
+
+    /** The migrations, in the order they are applied. Never change one that was released; add a new one. */
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+            new Migration(1, "Indexes for the order hot queries",
+                    // getOrderByCode, isCodeExists, cancelOrderByCode
+                    index("order", "idx_order_code_status", "confirmation_code", "status"),
+                    // Waiting list, late orders, reminders, invoices, active diners
+                    index("order", "idx_order_status_date", "status", "order_date"),
+                    // Member history and its pages, relevant orders of a member
+                    index("order", "idx_order_subscriber_date", "subscriber_id", "order_date"),
+                    // findOrderByContact, hasActiveOrder (OR of both, merged by MySQL)
+                    index("order", "idx_order_phone", "phone"),
+                    index("order", "idx_order_email", "email"),
+                    // Reports and overlapping orders, by date range
+                    index("order", "idx_order_date", "order_date")),
+            new Migration(2, "Indexes for the tables and opening_hours lookups",
+                    // assignFreeTable, isTableAvailableNow
+                    index("tables", "idx_tables_status_capacity", "status", "capacity"),
+                    // countTablesByCapacity, getUniqueCapacities
+                    index("tables", "idx_tables_capacity", "capacity"),
+                    // getHoursForDate, isOpen, updates by date or weekday
+                    index("opening_hours", "idx_opening_hours_date", "specific_date"),
+                    index("opening_hours", "idx_opening_hours_day", "day_of_week", "specific_date")));
+
+    /**
+     * The hot queries checked with EXPLAIN, as the repositories run them, with sample
+     * parameters: the name of the repository method, the SQL text, then the parameters.
+     * The tables are not qualified with a schema name, so the check runs against the
+     * database the connection URL selects.
+     */
+    private static final Object[][] HOT_QUERIES = {
+        { "OrderRepository.isCodeExists",
+          "SELECT confirmation_code FROM `order` WHERE confirmation_code = ? AND status != 'CANCELLED'", 1000 },
+        { "OrderRepository.getOrderByCode",
+          "SELECT * FROM `order` WHERE confirmation_code = ? AND status IN ('PENDING', 'NOTIFIED', 'WAITING', 'SEATED', 'BILLED')", 1000 },
+        { "OrderRepository.findOrderByContact",
+          "SELECT * FROM `order` WHERE (phone = ? OR email = ?) AND status IN ('PENDING', 'WAITING', 'NOTIFIED') "
+          + "AND order_date >= CURDATE()", "0500000000", "guest@example.com" },
+        { "OrderRepository.getMemberHistory",
+          "SELECT * FROM `order` WHERE subscriber_id = ? ORDER BY order_date DESC", 1 },
+        { "OrderRepository.getNextInWaitlist",
+          "SELECT * FROM `order` WHERE status = 'WAITING' AND number_of_guests <= ? ORDER BY order_date ASC LIMIT 1", 4 },
+        { "OrderRepository.cancelLateOrders",
+          "SELECT * FROM `order` WHERE status IN ('WAITING', 'PENDING', 'NOTIFIED') "
+          + "AND " + OrderRepository.LATE, 16 },
+        { "OrderRepository.getLiveWaitingList",
+          "SELECT * FROM `order` WHERE status = 'WAITING' "
+          + "OR (status = 'PENDING' AND " + OrderRepository.TODAY + ") ORDER BY order_date ASC" },
+        { "OrderRepository.getOverlappingOrders",
+          "SELECT * FROM `order` WHERE status != 'CANCELLED' "
+          + "AND " + OrderRepository.OVERLAPS,
+          java.sql.Timestamp.valueOf("2026-01-01 20:00:00"), java.sql.Timestamp.valueOf("2026-01-01 20:00:00") },
+        { "OrderRepository.getPerformanceReportData",
+          "SELECT COUNT(*) FROM `order` WHERE entered_waitlist = 1 AND " + OrderRepository.DATE_RANGE,
+          java.sql.Date.valueOf("2026-01-01"), java.sql.Date.valueOf("2026-02-01") },
+        { "OrderRepository.getActiveDiners",
+          "SELECT * FROM `order` WHERE status IN ('SEATED', 'BILLED') ORDER BY order_date ASC" },
+        { "OrderRepository.getRelevantOrdersForToday",
+          "SELECT * FROM `order` WHERE subscriber_id = ? AND " + OrderRepository.TODAY + " "
+          + "AND status IN ('PENDING', 'WAITING', 'NOTIFIED')", 1 },
+        { "OrderRepository.assignFreeTable",
+          "SELECT t.table_id FROM `tables` t WHERE t.capacity >= ? AND t.status = 'AVAILABLE' LIMIT 1", 2 },
+        { "TableRepository.countTablesByCapacity",
+          "SELECT COUNT(*) FROM `tables` WHERE capacity >= ?", 2 },
+        { "OpeningHoursRepository.getHoursForDate",
+          "SELECT * FROM opening_hours WHERE specific_date = ? OR (specific_date IS NULL AND day_of_week = ?) "
+          + "ORDER BY specific_date DESC LIMIT 1", java.sql.Date.valueOf("2026-01-01"), 5 },
+    };
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies the pending migrations, then checks the plans of the hot queries.
+     *
+     * @throws SQLException If a migration fails, or a hot query would scan a whole table.
+     */
+    public static void migrate() throws SQLException {
+        MySQLConnectionPool pool = MySQLConnectionPool.getInstance();
+        PooledConnection pConn = null;
+        try {
+            pConn = pool.getConnection();
+            Connection conn = pConn.getConnection();
+            int current = currentVersion(conn);
+            int applied = 0;
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                for (Step step : migration.steps) {
+                    step.apply(conn);
+                }
+                recordVersion(conn, migration);
+                applied++;
+                ServerLog.info("[Schema] Applied migration " + migration.version + " (" + migration.description + ") in "
+                        + (System.nanoTime() - start) / 1000000 + " ms.");
+            }
+            ServerLog.info("[Schema] Version " + Math.max(current, latestVersion())
+                    + (applied == 0 ? ", up to date." : ", " + applied + " migration(s) applied."));
+            checkQueryPlans(conn);
+        } finally {
+            if (pConn != null) pool.releaseConnection(pConn);
+        }
+    }
+
+    /**
+     * Creates the version table if needed and reads the last version applied.
+     *
+     * @return The version, or 0 if none was applied.
+     */
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT NOT NULL PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Records a migration as applied.
+     */
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            ps.setInt(1, migration.version);
+            ps.setString(2, migration.description);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * @return The version of the last migration.
+     */
+    static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * A step creating an index, unless an index with that name already exists.
+     *
+     * @param table The table.
+     * @param name The index name.
+     * @param columns The indexed columns, in order.
+     * @return The step.
+     */
+    private static Step index(String table, String name, String... columns) {
+        return conn -> {
+            if (indexExists(conn, table, name)) {
+                ServerLog.debug("[Schema] Index " + name + " already exists.");
+                return;
+            }
+            StringBuilder sql = new StringBuilder("CREATE INDEX `").append(name).append("` ON `").append(table).append("` (");
+            for (int i = 0; i < columns.length; i++) {
+                sql.append(i == 0 ? "" : ", ").append('`').append(columns[i]).append('`');
+            }
+            sql.append(')');
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate(sql.toString());
+            }
+            ServerLog.info("[Schema] Created index " + name + " on " + table + ".");
+        };
+    }
+
+    /**
+     * @return true if the table of the current database has an index with this name.
+     */
+    private static boolean indexExists(Connection conn, String table, String name) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            ps.setString(2, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Runs EXPLAIN on every hot query and logs the index each one uses.
+     *
+     * @throws SQLException If a hot query would scan a whole table with no usable index.
+     */
+    private static void checkQueryPlans(Connection conn) throws SQLException {
+        List<String> fullScans = new ArrayList<>();
+        for (Object[] query : HOT_QUERIES) {
+            String name = (String) query[0];
+            try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + query[1])) {
+                for (int i = 2; i < query.length; i++) {
+                    ps.setObject(i - 1, query[i]);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String table = rs.getString("table");
+                        String type = rs.getString("type");
+                        String possibleKeys = rs.getString("possible_keys");
+                        ServerLog.debug("[Schema] " + name + ": " + table + " " + type + " using " + rs.getString("key"));
+                        if ("ALL".equalsIgnoreCase(type) && possibleKeys == null) {
+                            fullScans.add(name + " (" + table + ")");
+                        }
+                    }
+                }
+            }
+        }
+        if (!fullScans.isEmpty()) {
+            ServerLog.error("[Schema] Hot queries scanning a whole table without an index: " + fullScans);
+            throw new SQLException("Query plan check failed: full table scan in " + fullScans);
+        }
+        ServerLog.info("[Schema] Query plans checked: " + HOT_QUERIES.length + " hot queries use an index.");
+    }
+}
@@ -0,0 +1,302 @@
+package server;
+
+import common.ChatIF;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous server log.
+ *
+ * Software Structure:
+ * This class is a utility component of the Server Layer, used instead of System.out and
+ * direct GUI calls on the request path. A call to {@link #info(String)} (or another level)
+ * only places the line in a lock-free ring buffer and returns; a single "Log writer"
+ * thread takes the lines out in batches and writes each batch to the console with one
+ * print, to the log file (if any) with one flush, and to the server GUI with one display
+ * call. A request thread therefore never waits for stdout, the file or the JavaFX queue.
+ * If the buffer is full the line is dropped and counted rather than blocking the caller.
+ *
+ * Configuration:
+ * "bistro.log.level" sets the lowest level logged (DEBUG, INFO, WARN or ERROR; INFO by
+ * default). "bistro.log.file" appends the log to a file. DEBUG lines never go to the GUI.
+ *
+ * UI Components:
+ * Lines of level INFO and above are shown in the Server Console set with {@link #setDisplay(ChatIF)},
+ * each starting with its level name so the console can filter them.
+ */
+public final class ServerLog {
+
+    /** Severity of a log line. */
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    /** System property setting the lowest level logged. */
+    public static final String LEVEL_PROPERTY = "bistro.log.level";
+    /** System property naming a file the log is appended to. */
+    public static final String FILE_PROPERTY = "bistro.log.file";
+
+    /** Number of lines the buffer holds (a power of two). */
+    private static final int CAPACITY = 8192;
+    /** Most lines written in one batch. */
+    private static final int BATCH_SIZE = 512;
+    /** How long the writer sleeps when the buffer is empty, in nanoseconds. */
+    private static final long IDLE_PARK_NANOS = 5_000_000L;
+
+    /** The lowest level logged. */
+    private static volatile Level threshold = parseLevel(System.getProperty(LEVEL_PROPERTY));
+    /** The server GUI, or null. */
+    private static volatile ChatIF display;
+    /** The log file, or null. Only used by the writer thread. */
+    private static BufferedWriter file;
+
+    /** Lines waiting to be written. */
+    private static final RingBuffer buffer = new RingBuffer(CAPACITY);
+    /** Lines dropped because the buffer was full. */
+    private static final LongAdder dropped = new LongAdder();
+    /** The thread writing the batches. */
+    private static final Thread writer;
+
+    static {
+        String path = System.getProperty(FILE_PROPERTY);
+        if (path != null && !path.trim().isEmpty()) {
+            try {
+                file = new BufferedWriter(new FileWriter(path.trim(), true));
+            } catch (IOException e) {
+                System.err.println("[Log] Cannot open " + path + ": " + e.getMessage());
+            }
+        }
+        writer = new Thread(ServerLog::writeLoop, "Log writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ServerLog::flush, "Log flush"));
+    }
+
+    /** Not instantiated. */
+    private ServerLog() {
+    }
+
+    /**
+     * A line waiting to be written.
+     */
+    private static final class Entry {
+        final long time;
+        final Level level;
+        final String message;
+
+        Entry(Level level, String message) {
+            this.time = System.currentTimeMillis();
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Sets the Server Console that shows the log (null for none).
+     * @param ui The GUI.
+     */
+    public static void setDisplay(ChatIF ui) {
+        display = ui;
+    }
+
+    /**
+     * Sets the lowest level logged.
+     * @param level The level.
+     */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    /**
+     * @param level A level.
+     * @return true if lines of that level are logged; check this before building an expensive DEBUG line.
+     */
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /** @param message Diagnostic detail, off by default. */
+    public static void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    /** @param message Normal server activity. */
+    public static void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    /** @param message Something unexpected that the server recovered from. */
+    public static void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    /** @param message A failure. */
+    public static void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * @return The number of lines dropped because the buffer was full.
+     */
+    public static long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Queues a line if its level is enabled. Never blocks.
+     */
+    private static void log(Level level, String message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        if (!buffer.offer(new Entry(level, message))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Body of the writer thread: writes batches, and sleeps briefly when there is nothing to write.
+     */
+    private static void writeLoop() {
+        long reportedDrops = 0;
+        while (true) {
+            if (!writeBatch()) {
+                long drops = dropped.sum();
+                if (drops != reportedDrops) {
+                    log(Level.WARN, "[Log] " + (drops - reportedDrops) + " line(s) dropped, log buffer full.");
+                    reportedDrops = drops;
+                    continue;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes everything still in the buffer. Called when the JVM exits.
+     */
+    private static void flush() {
+        while (writeBatch()) {
+            // keep writing until the buffer is empty
+        }
+    }
+
+    /**
+     * Takes up to BATCH_SIZE lines out of the buffer and writes them to every output.
+     *
+     * @return false if the buffer was empty.
+     */
+    private static synchronized boolean writeBatch() {
+        Entry entry = buffer.poll();
+        if (entry == null) {
+            return false;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+        StringBuilder console = new StringBuilder();
+        StringBuilder gui = new StringBuilder();
+        int count = 0;
+        do {
+            console.append(format.format(new Date(entry.time))).append(' ')
+                    .append(entry.level).append(' ').append(entry.message).append(System.lineSeparator());
+            if (entry.level != Level.DEBUG) {
+                if (gui.length() > 0) gui.append('\n');
+                gui.append(entry.level).append(' ').append(entry.message);
+            }
+        } while (++count < BATCH_SIZE && (entry = buffer.poll()) != null);
+
+        System.out.print(console);
+        if (file != null) {
+            try {
+                file.write(console.toString());
+                file.flush();
+            } catch (IOException e) {
+                System.err.println("[Log] Cannot write the log file: " + e.getMessage());
+                file = null;
+            }
+        }
+        ChatIF ui = display;
+        if (ui != null && gui.length() > 0) {
+            ui.display(gui.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Reads a level name, falling back to INFO.
+     */
+    private static Level parseLevel(String name) {
+        if (name != null) {
+            try {
+                return Level.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("[Log] Unknown level " + name + ", using INFO.");
+            }
+        }
+        return Level.INFO;
+    }
+
+    /**
+     * Bounded lock-free queue for many producers and one consumer. Each slot has a sequence
+     * number telling whether it is free for the producer at a given position or holds the
+     * entry the consumer expects next, so producers only race on one compare-and-set of the
+     * tail and never on a lock.
+     */
+    private static final class RingBuffer {
+        private final int mask;
+        private final AtomicReferenceArray<Entry> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        /** Next position to read; only touched by the consumer. */
+        private long head = 0;
+
+        RingBuffer(int capacity) {
+            mask = capacity - 1;
+            slots = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        /**
+         * @return false if the buffer is full.
+         */
+        boolean offer(Entry entry) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long gap = sequences.get(index) - position;
+                if (gap == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.set(index, entry);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                } else if (gap < 0) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * @return The oldest entry, or null if none is ready.
+         */
+        Entry poll() {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            Entry entry = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            return entry;
+        }
+    }
+}
@@ -1,96 +1,170 @@
-package server;
-
-import javafx.application.Application;
-import javafx.stage.Stage;
-import gui.ServerPortFrameController;
-import common.ChatIF;
-
-/**
- * Entry point for the Server Application.
- *
- * Software Structure:
- * This class belongs to the Presentation Layer (Main entry).
- * It launches the JavaFX environment and loads the initial GUI for the server configuration.
- *
- * UI Components:
- * This class is responsible for showing the "ServerPort" window where the user enters the
- * database password and port number.
- *
- * @author Dana Zablev
- * @version 1.0
- */
-public class ServerUI extends Application {
-    
-    /**
-     * Main method that launches the JavaFX application.
-     *
-     * @param args Command line arguments.
-     * @throws Exception If an error occurs during launch.
-     */
-    public static void main( String args[] ) throws Exception
-       {   
-         launch(args);
-      } 
-    
-    /**
-     * Starts the primary stage (window) of the application.
-     *
-     * @param primaryStage The main window.
-     * @throws Exception If the FXML cannot be loaded.
-     */
-    @Override
-    public void start(Stage primaryStage) throws Exception {
-        // Initializes and displays the Server Port configuration GUI             
-        ServerPortFrameController aFrame = new ServerPortFrameController(); 
-        
-        aFrame.start(primaryStage);
-    }
-    
-    /**
-     * Initializes and starts the BistroServer.
-     * Configures the database connection password before starting the server.
-     *
-     * @param p          The port number as a string.
-     * @param dbPassword The password for the MySQL database connection.
-     * @param ui         The UI interface for logging messages.
-     * @return true if the server started successfully, false otherwise.
-     */
-    public static boolean runServer(String p, String dbPassword ,ChatIF ui)
-    {
-         MySQLConnectionPool.setDBPassword(dbPassword);
-         int port = 0; 
-
-         try
-         {
-                // Parses the port number from the provided string
-                port = Integer.parseInt(p); 
-              
-         }
-         catch(Throwable t)
-         {
-                if (ui != null) ui.display("ERROR - Could not connect!");
-                return false;
-         }
-         try {
-                MySQLConnectionPool.testConnection(); 
-            } catch (Exception e) {
-                if (ui != null) ui.display("Error: DB Connection Failed! Check Password.");
-                return false; 
-            }
-         // Creates a new instance of the server logic with port and UI
-            BistroServer sv = new BistroServer(port, ui);
-
-         
-         try 
-         {
-           // Starts listening for incoming client connections
-           sv.listen(); 
-           return true;
-         } 
-         catch (Exception ex) 
-         {
-                if (ui != null) ui.display("ERROR - Could not listen for clients!");
-                return false;
-         }
-    }
+package server;
+
+import javafx.application.Application;
+import javafx.stage.Stage;
+import gui.ServerPortFrameController;
+import common.ChatIF;
+import ocsf.server.AbstractServer;
+
+/**
+ * Entry point for the Server Application.
+ *
+ * Software Structure:
+ * This class belongs to the Presentation Layer (Main entry).
+ * It launches the JavaFX environment and loads the initial GUI for the server configuration.
+ *
+ * UI Components:
+ * This class is responsible for showing the "ServerPort" window where the user enters the
+ * database password and port number.
+ *
+ * Configuration:
+ * The client transport is chosen with the system property {@value #TRANSPORT_PROPERTY}:
+ * "blocking" (default) serves every client on its own thread, "nio" serves all clients
+ * from one selector thread. Clients must be started with the same setting.
+ * In that mode frames are encoded with the codec named by the "bistro.codec" property
+ * (see {@link common.BistroCodecs}); either side decodes both codecs.
+ * Setting {@value #THREADS_PROPERTY} to "virtual" runs connection readers and message
+ * handlers on virtual threads when the JVM supports them (Java 21+), and platform
+ * threads otherwise.
+ * Every client has a bounded queue of messages waiting to be written; its size is set
+ * with {@value #OUTBOUND_LIMIT_PROPERTY} (default 256). When a client's queue is full,
+ * {@value #OUTBOUND_POLICY_PROPERTY} decides what happens: "drop" (default) drops
+ * notifications for that client, "disconnect" disconnects it.
+ * The server log level and an optional log file are set with "bistro.log.level" and
+ * "bistro.log.file" (see {@link ServerLog}). A request slower than the threshold set with
+ * {@value RequestTrace#SLOW_PROPERTY} (milliseconds, 500 by default) is logged with the
+ * time spent in each of its stages.
+ * The database pool opens at most {@value MySQLConnectionPool#MAX_SIZE_PROPERTY} connections
+ * (10 by default); a request waits up to {@value MySQLConnectionPool#MAX_WAIT_PROPERTY}
+ * milliseconds (5000 by default) for a free one. It keeps {@value MySQLConnectionPool#MIN_IDLE_PROPERTY}
+ * connections ready (2 by default), opened when the server starts. Setting
+ * {@value MySQLConnectionPool#LEAK_THRESHOLD_PROPERTY} reports connections held longer than
+ * that many milliseconds, with the stack trace of their borrower.
+ * Setting {@value MySQLConnectionPool#REPLICA_URL_PROPERTY} to the JDBC URL of a MySQL replica
+ * sends reports, member lists and order history to it, as long as it is no more than
+ * {@value MySQLConnectionPool#REPLICA_MAX_LAG_PROPERTY} seconds behind (5 by default).
+ * On start, the database schema is brought up to date by {@link SchemaMigrator}; the server
+ * does not start if that fails or a hot query would scan a whole table.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class ServerUI extends Application {
+
+    /** System property selecting the client transport ("blocking" or "nio"). */
+    public static final String TRANSPORT_PROPERTY = "bistro.transport";
+
+    /** System property selecting the thread model ("platform" or "virtual"). */
+    public static final String THREADS_PROPERTY = "bistro.threads";
+
+    /** System property setting how many messages may wait to be sent to one client. */
+    public static final String OUTBOUND_LIMIT_PROPERTY = "bistro.outbound.limit";
+
+    /** System property selecting the slow client policy ("drop" or "disconnect"). */
+    public static final String OUTBOUND_POLICY_PROPERTY = "bistro.outbound.policy";
+
+    /** The running server, or null before it was started. */
+    private static BistroServer server;
+
+    /**
+     * @return The running server, or null if it has not been started.
+     */
+    public static BistroServer getServer() {
+        return server;
+    }
+    
+    /**
+     * Main method that launches the JavaFX application.
+     *
+     * @param args Command line arguments.
+     * @throws Exception If an error occurs during launch.
+     */
+    public static void main( String args[] ) throws Exception
+       {   
+         launch(args);
+      } 
+    
+    /**
+     * Starts the primary stage (window) of the application.
+     *
+     * @param primaryStage The main window.
+     * @throws Exception If the FXML cannot be loaded.
+     */
+    @Override
+    public void start(Stage primaryStage) throws Exception {
+        // Initializes and displays the Server Port configuration GUI             
+        ServerPortFrameController aFrame = new ServerPortFrameController(); 
+        
+        aFrame.start(primaryStage);
+    }
+    
+    /**
+     * Initializes and starts the BistroServer.
+     * Configures the database connection password before starting the server.
+     *
+     * @param p          The port number as a string.
+     * @param dbPassword The password for the MySQL database connection.
+     * @param ui         The UI interface for logging messages.
+     * @return true if the server started successfully, false otherwise.
+     */
+    public static boolean runServer(String p, String dbPassword ,ChatIF ui)
+    {
+         MySQLConnectionPool.setDBPassword(dbPassword);
+         int port = 0; 
+
+         try
+         {
+                // Parses the port number from the provided string
+                port = Integer.parseInt(p); 
+              
+         }
+         catch(Throwable t)
+         {
+                if (ui != null) ui.display("ERROR - Could not connect!");
+                return false;
+         }
+         try {
+                MySQLConnectionPool.testConnection(); 
+            } catch (Exception e) {
+                if (ui != null) ui.display("Error: DB Connection Failed! Check Password.");
+                return false; 
+            }
+            try {
+                SchemaMigrator.migrate();
+            } catch (Exception e) {
+                if (ui != null) ui.display("Error: Database schema update failed! " + e.getMessage());
+                return false;
+            }
+            MySQLConnectionPool.getInstance().warmUp();
+         // Creates a new instance of the server logic with port and UI
+            BistroServer sv = new BistroServer(port, ui);
+            sv.setNioMode("nio".equalsIgnoreCase(System.getProperty(TRANSPORT_PROPERTY)));
+            if ("virtual".equalsIgnoreCase(System.getProperty(THREADS_PROPERTY))) {
+                sv.setVirtualThreads(true);
+                if (!sv.isUsingVirtualThreads() && ui != null)
+                    ui.display("Virtual threads are not available on this JVM - using platform threads.");
+            }
+            try {
+                sv.setOutboundQueueLimit(Integer.parseInt(System.getProperty(OUTBOUND_LIMIT_PROPERTY, "256")));
+            } catch (IllegalArgumentException e) {
+                if (ui != null) ui.display("Invalid " + OUTBOUND_LIMIT_PROPERTY + " - using 256.");
+            }
+            if ("disconnect".equalsIgnoreCase(System.getProperty(OUTBOUND_POLICY_PROPERTY))) {
+                sv.setSlowConsumerPolicy(AbstractServer.SlowConsumerPolicy.DISCONNECT);
+            }
+
+         
+         try 
+         {
+           // Starts listening for incoming client connections
+           sv.listen(); 
+           server = sv;
+           return true;
+         } 
+         catch (Exception ex) 
+         {
+                if (ui != null) ui.display("ERROR - Could not listen for clients!");
+                return false;
+         }
+    }
 }
\ No newline at end of file
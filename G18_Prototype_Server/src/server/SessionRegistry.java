@@ -0,0 +1,212 @@
+package server;
+
+import common.Role;
+import ocsf.server.ConnectionToClient;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of who is behind each client connection, so notifications can be
+ * sent only to the clients they concern instead of to everyone.
+ *
+ * Software Structure:
+ * This class belongs to the Server Layer and is owned by BistroServer.
+ * A connection is indexed by the user logged in on it (and that user's role), and by
+ * the confirmation codes of the orders created or presented on it (terminal sessions).
+ * Workers and Managers are staff subscribers and receive a copy of every notification.
+ * Dashboards that want live ORDER_UPDATE events are kept in a separate subscriber set.
+ *
+ * All methods are synchronized; they are called from the connection threads and the
+ * Order Scheduler, and the maps are small.
+ */
+public class SessionRegistry {
+
+    /** Connections by the ID of the user logged in on them. */
+    private final Map<Integer, Set<ConnectionToClient>> byUser = new HashMap<>();
+    /** Connections by the confirmation codes used on them. */
+    private final Map<Integer, Set<ConnectionToClient>> byCode = new HashMap<>();
+    /** Connections by the role of the user logged in on them. */
+    private final Map<Role, Set<ConnectionToClient>> byRole = new HashMap<>();
+    /** Connections subscribed to ORDER_UPDATE events. */
+    private final Set<ConnectionToClient> orderSubscribers = new HashSet<>();
+    /** What each connection is registered under, for cleanup. */
+    private final Map<ConnectionToClient, Session> sessions = new HashMap<>();
+
+    /**
+     * The keys a single connection is registered under.
+     */
+    private static class Session {
+        Integer userId;
+        Role role;
+        final Set<Integer> codes = new HashSet<>();
+    }
+
+    /**
+     * Records the user that logged in on a connection, replacing any previous login.
+     *
+     * @param client The connection.
+     * @param userId The ID of the authenticated user.
+     * @param role The user's role, used to find staff subscribers (may be null).
+     */
+    public synchronized void login(ConnectionToClient client, int userId, Role role) {
+        logout(client);
+        Session session = session(client);
+        session.userId = userId;
+        session.role = role;
+        add(byUser, userId, client);
+        if (role != null) {
+            add(byRole, role, client);
+        }
+    }
+
+    /**
+     * Forgets the user logged in on a connection. Confirmation codes are kept.
+     *
+     * @param client The connection.
+     */
+    public synchronized void logout(ConnectionToClient client) {
+        Session session = sessions.get(client);
+        if (session == null) {
+            return;
+        }
+        if (session.userId != null) {
+            remove(byUser, session.userId, client);
+            session.userId = null;
+        }
+        if (session.role != null) {
+            remove(byRole, session.role, client);
+            session.role = null;
+        }
+    }
+
+    /**
+     * Records that an order's confirmation code was created or presented on a connection.
+     *
+     * @param client The connection.
+     * @param confirmationCode The order's confirmation code.
+     */
+    public synchronized void bindCode(ConnectionToClient client, int confirmationCode) {
+        if (session(client).codes.add(confirmationCode)) {
+            add(byCode, confirmationCode, client);
+        }
+    }
+
+    /**
+     * Forgets a confirmation code on every connection, once its order is finished.
+     *
+     * @param confirmationCode The order's confirmation code.
+     */
+    public synchronized void releaseCode(int confirmationCode) {
+        Set<ConnectionToClient> clients = byCode.remove(confirmationCode);
+        if (clients != null) {
+            for (ConnectionToClient client : clients) {
+                Session session = sessions.get(client);
+                if (session != null) {
+                    session.codes.remove(confirmationCode);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a connection from every index. Called when the client disconnects.
+     *
+     * @param client The connection.
+     */
+    public synchronized void remove(ConnectionToClient client) {
+        logout(client);
+        orderSubscribers.remove(client);
+        Session session = sessions.remove(client);
+        if (session != null) {
+            for (Integer code : session.codes) {
+                remove(byCode, code, client);
+            }
+        }
+    }
+
+    /**
+     * Collects the connections interested in a notification about an order:
+     * the member's own sessions, the sessions that used the order's code, and all staff.
+     *
+     * @param memberId The subscriber ID of the order, or 0 for a guest order.
+     * @param confirmationCode The order's confirmation code, or 0 if unknown.
+     * @return The set of connections to notify (never null).
+     */
+    public synchronized Set<ConnectionToClient> recipients(int memberId, int confirmationCode) {
+        Set<ConnectionToClient> result = new LinkedHashSet<>();
+        if (memberId > 0) {
+            addAll(result, byUser.get(memberId));
+        }
+        if (confirmationCode > 0) {
+            addAll(result, byCode.get(confirmationCode));
+        }
+        addAll(result, byRole.get(Role.WORKER));
+        addAll(result, byRole.get(Role.MANAGER));
+        return result;
+    }
+
+    /**
+     * Adds or removes a connection from the ORDER_UPDATE subscribers.
+     *
+     * @param client The connection.
+     * @param subscribed true to start receiving updates, false to stop.
+     */
+    public synchronized void setOrderSubscriber(ConnectionToClient client, boolean subscribed) {
+        if (subscribed) {
+            orderSubscribers.add(client);
+        } else {
+            orderSubscribers.remove(client);
+        }
+    }
+
+    /**
+     * @return A copy of the connections subscribed to ORDER_UPDATE events.
+     */
+    public synchronized Set<ConnectionToClient> orderSubscribers() {
+        return new HashSet<>(orderSubscribers);
+    }
+
+    /**
+     * @return true if at least one connection is subscribed to ORDER_UPDATE events.
+     */
+    public synchronized boolean hasOrderSubscribers() {
+        return !orderSubscribers.isEmpty();
+    }
+
+    private Session session(ConnectionToClient client) {
+        Session session = sessions.get(client);
+        if (session == null) {
+            session = new Session();
+            sessions.put(client, session);
+        }
+        return session;
+    }
+
+    private static <K> void add(Map<K, Set<ConnectionToClient>> index, K key, ConnectionToClient client) {
+        Set<ConnectionToClient> clients = index.get(key);
+        if (clients == null) {
+            clients = new HashSet<>();
+            index.put(key, clients);
+        }
+        clients.add(client);
+    }
+
+    private static <K> void remove(Map<K, Set<ConnectionToClient>> index, K key, ConnectionToClient client) {
+        Set<ConnectionToClient> clients = index.get(key);
+        if (clients != null) {
+            clients.remove(client);
+            if (clients.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static void addAll(Set<ConnectionToClient> result, Set<ConnectionToClient> clients) {
+        if (clients != null) {
+            result.addAll(clients);
+        }
+    }
+}
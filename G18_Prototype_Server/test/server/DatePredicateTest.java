@@ -0,0 +1,222 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the half-open date predicates of OrderRepository select exactly the rows the
+ * DATE(), MONTH()/YEAR() and TIMESTAMPDIFF() expressions they replaced selected.
+ *
+ * Software Structure:
+ * Tests for the Database Layer. Each test fixes the session clock with SET TIMESTAMP, so
+ * NOW() and CURDATE() are known, fills a temporary table with order dates on and around
+ * every boundary (a second before, on, and a second after), and compares the IDs matched
+ * by the old and the new predicate. The clock is set just before midnight at the end of a
+ * month, so the windows also cross day, month and year edges.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class DatePredicateTest {
+
+    private static final DateTimeFormatter SQL_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** Session clocks the tests run at: mid-day, the first and the last second of a day, before a month and a year edge. */
+    private static final String[] CLOCKS = {
+        "2026-03-15 12:00:00", "2026-03-31 00:00:00", "2026-03-31 23:59:59",
+        "2026-03-31 22:30:00", "2025-12-31 23:00:00", "2024-02-29 23:15:00"
+    };
+
+    /** Minutes from the clock placed around the boundaries: late thresholds, the reminder window, invoices, ±120. */
+    private static final int[] MINUTES = {
+        -1440, -200, -130, -126, -125, -121, -120, -119, -116, -115, -114, -31, -30, -29,
+        -17, -16, -15, -14, -1, 0, 1, 14, 15, 16, 60, 114, 115, 116, 119, 120, 121,
+        124, 125, 126, 127, 130, 200, 1440
+    };
+
+    /** Fixed dates on the day, month and year edges around the clocks. */
+    private static final String[] EDGES = {
+        "2024-02-28 23:59:59", "2024-02-29 00:00:00", "2024-02-29 23:59:59", "2024-03-01 00:00:00",
+        "2025-12-31 23:59:59", "2026-01-01 00:00:00", "2026-02-28 23:59:59", "2026-03-01 00:00:00",
+        "2026-03-14 23:59:59", "2026-03-15 00:00:00", "2026-03-15 23:59:59", "2026-03-16 00:00:00",
+        "2026-03-30 23:59:59", "2026-03-31 00:00:00", "2026-03-31 23:59:59", "2026-04-01 00:00:00",
+        "2026-04-30 23:59:59", "2026-05-01 00:00:00"
+    };
+
+    private MySQLConnectionPool pool;
+    private PooledConnection pConn;
+    private Connection conn;
+
+    @Before
+    public void setUp() throws SQLException {
+        pool = TestDatabase.pool();
+        pConn = pool.getConnection();
+        conn = pConn.getConnection();
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TEMPORARY TABLE order_probe (id INT AUTO_INCREMENT PRIMARY KEY, order_date DATETIME NOT NULL)");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        if (conn != null) {
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("DROP TEMPORARY TABLE IF EXISTS order_probe");
+                st.executeUpdate("SET TIMESTAMP = DEFAULT");
+            }
+            pool.releaseConnection(pConn);
+        }
+    }
+
+    /** Binds the parameters of a predicate. */
+    private interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Fixes NOW() at the given time and refills the probe table around it.
+     */
+    private void setClock(String clock) throws SQLException {
+        LocalDateTime now = LocalDateTime.parse(clock, SQL_TIME);
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("SET TIMESTAMP = UNIX_TIMESTAMP('" + clock + "')");
+            st.executeUpdate("DELETE FROM order_probe");
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO order_probe (order_date) VALUES (CAST(? AS DATETIME))")) {
+            for (int minutes : MINUTES) {
+                for (int seconds = -1; seconds <= 1; seconds++) {
+                    ps.setString(1, now.plusMinutes(minutes).plusSeconds(seconds).format(SQL_TIME));
+                    ps.addBatch();
+                }
+            }
+            for (String edge : EDGES) {
+                ps.setString(1, edge);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * @return The IDs of the probe rows matching the predicate.
+     */
+    private Set<Integer> ids(String predicate, Binder binder) throws SQLException {
+        Set<Integer> ids = new TreeSet<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id FROM order_probe WHERE " + predicate)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Checks that both predicates match the same rows.
+     */
+    private void assertSameRows(String what, String oldPredicate, Binder oldBinder, String newPredicate, Binder newBinder)
+            throws SQLException {
+        assertEquals(what, ids(oldPredicate, oldBinder), ids(newPredicate, newBinder));
+    }
+
+    private static final Binder NONE = ps -> { };
+
+    @Test
+    public void today() throws SQLException {
+        for (String clock : CLOCKS) {
+            setClock(clock);
+            assertSameRows("today at " + clock, "DATE(order_date) = CURDATE()", NONE, OrderRepository.TODAY, NONE);
+            assertFalse(ids(OrderRepository.TODAY, NONE).isEmpty());
+        }
+    }
+
+    @Test
+    public void lateThreshold() throws SQLException {
+        for (String clock : CLOCKS) {
+            setClock(clock);
+            for (int threshold : new int[] { 0, 14, 15, 16, 30, 119, 120 }) {
+                assertSameRows("late by more than " + threshold + " min at " + clock,
+                        "TIMESTAMPDIFF(MINUTE, order_date, NOW()) > ?", ps -> ps.setInt(1, threshold),
+                        OrderRepository.LATE, ps -> OrderRepository.setLateThreshold(ps, 1, threshold));
+            }
+        }
+    }
+
+    @Test
+    public void reminderWindow() throws SQLException {
+        for (String clock : CLOCKS) {
+            setClock(clock);
+            assertSameRows("reminders at " + clock,
+                    "TIMESTAMPDIFF(MINUTE, NOW(), order_date) BETWEEN 115 AND 125", NONE,
+                    OrderRepository.REMINDER_WINDOW, NONE);
+        }
+    }
+
+    @Test
+    public void invoiceDue() throws SQLException {
+        for (String clock : CLOCKS) {
+            setClock(clock);
+            assertSameRows("invoices at " + clock,
+                    "TIMESTAMPDIFF(MINUTE, order_date, NOW()) >= 120", NONE,
+                    OrderRepository.INVOICE_DUE, NONE);
+        }
+    }
+
+    @Test
+    public void overlaps() throws SQLException {
+        for (String clock : CLOCKS) {
+            setClock(clock);
+            // Read the time back from the database, so it is bound exactly as stored
+            Timestamp time;
+            try (PreparedStatement ps = conn.prepareStatement("SELECT order_date FROM order_probe WHERE order_date = NOW()");
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                time = rs.getTimestamp(1);
+            }
+            assertSameRows("overlapping " + clock,
+                    "ABS(TIMESTAMPDIFF(MINUTE, order_date, ?)) < 120", ps -> ps.setTimestamp(1, time),
+                    OrderRepository.OVERLAPS, ps -> OrderRepository.setOverlapTime(ps, 1, time));
+        }
+    }
+
+    @Test
+    public void monthRange() throws SQLException {
+        setClock("2026-03-31 23:30:00");
+        int[][] months = { { 2, 2024 }, { 3, 2024 }, { 12, 2025 }, { 1, 2026 }, { 2, 2026 }, { 3, 2026 }, { 4, 2026 }, { 0, 2026 }, { 13, 2026 } };
+        for (int[] m : months) {
+            assertSameRows("month " + m[0] + "/" + m[1],
+                    "MONTH(order_date) = ? AND YEAR(order_date) = ?", ps -> { ps.setInt(1, m[0]); ps.setInt(2, m[1]); },
+                    OrderRepository.DATE_RANGE, ps -> OrderRepository.setMonthRange(ps, 1, m[0], m[1]));
+        }
+    }
+
+    @Test
+    public void dayRange() throws SQLException {
+        setClock("2026-03-31 23:30:00");
+        String[] days = { "2024-02-29", "2025-12-31", "2026-01-01", "2026-03-31", "2026-04-01", "2026-04-30" };
+        for (String day : days) {
+            LocalDate date = LocalDate.parse(day);
+            assertSameRows("day " + day,
+                    "DATE(order_date) = ?", ps -> ps.setDate(1, java.sql.Date.valueOf(date)),
+                    OrderRepository.DATE_RANGE, ps -> OrderRepository.setDayRange(ps, 1, date));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import common.ActionType;
+import common.BistroMessage;
+
+/**
+ * Checks that a keyed request runs once, also inside a transactional batch.
+ *
+ * Software Structure:
+ * Tests for IdempotencyCache. A request run inside a transaction must only be remembered
+ * once the transaction is committed: after a rollback nothing was booked, so a retry with
+ * the same key has to run again instead of getting the first "Success".
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class IdempotencyCacheTest {
+
+    private MySQLConnectionPool pool;
+    private IdempotencyCache cache;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        pool = TestDatabase.pool();
+        cache = new IdempotencyCache();
+    }
+
+    /** @return A CREATE_ORDER request with the given key. */
+    private static BistroMessage request(String key) {
+        BistroMessage request = new BistroMessage(ActionType.CREATE_ORDER, null);
+        request.setIdempotencyKey(key);
+        return request;
+    }
+
+    /** Runs the request through the cache; the handler counts its runs. */
+    private BistroMessage execute(BistroMessage request) {
+        return cache.execute(request, () -> {
+            runs.incrementAndGet();
+            return new BistroMessage(ActionType.CREATE_ORDER, "Success");
+        });
+    }
+
+    @Test
+    public void retryIsAnsweredFromTheCache() {
+        execute(request("alone"));
+        assertEquals("Success", execute(request("alone")).getData());
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void committedBatchIsRemembered() throws Exception {
+        pool.beginTransaction();
+        execute(request("committed"));
+        pool.endTransaction(true);
+
+        execute(request("committed"));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void rolledBackBatchRunsAgain() throws Exception {
+        pool.beginTransaction();
+        execute(request("rolled-back"));
+        pool.endTransaction(false);
+
+        execute(request("rolled-back"));
+        assertEquals(2, runs.get());
+        assertEquals(0, cache.getHits());
+    }
+}
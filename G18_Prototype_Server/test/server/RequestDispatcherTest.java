@@ -0,0 +1,83 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import common.ActionType;
+import common.BistroMessage;
+import server.RequestDispatcher.ClientQueue;
+import server.RequestDispatcher.Workload;
+
+/**
+ * Checks that the requests of one client run in the order they arrived.
+ *
+ * Software Structure:
+ * Tests for RequestDispatcher. The requests are registered in different workloads, so
+ * each runs in another pool; a slow heavy-read request must still finish before the
+ * quick requests the same client sent after it start, while another client is served
+ * meanwhile. No database is needed.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class RequestDispatcherTest {
+
+    private RequestDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher = new RequestDispatcher();
+        dispatcher.register(ActionType.GET_PERFORMANCE_REPORT, Workload.HEAVY_READ, (request, client) -> null);
+        dispatcher.register(ActionType.GET_ALL_TABLES, Workload.INTERACTIVE, (request, client) -> null);
+        dispatcher.register(ActionType.ADD_TABLE, Workload.WRITE, (request, client) -> null);
+    }
+
+    /** @return A task that sleeps, then records its name. */
+    private static Runnable step(List<String> done, String name, long sleepMillis, CountDownLatch finished) {
+        return () -> {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.add(name);
+            finished.countDown();
+        };
+    }
+
+    @Test
+    public void requestsOfOneClientKeepTheirOrderAcrossPools() throws InterruptedException {
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch finished = new CountDownLatch(5);
+        ClientQueue client = dispatcher.newClientQueue();
+        ClientQueue other = dispatcher.newClientQueue();
+        Runnable failed = () -> done.add("busy");
+
+        dispatcher.submit(client, new BistroMessage(ActionType.GET_PERFORMANCE_REPORT, null), step(done, "report", 200, finished), failed);
+        dispatcher.submit(client, new BistroMessage(ActionType.GET_ALL_TABLES, null), step(done, "tables", 0, finished), failed);
+        dispatcher.submit(client, new BistroMessage(ActionType.ADD_TABLE, null), step(done, "add", 0, finished), failed);
+        dispatcher.runInOrder(client, step(done, "quit", 0, finished));
+        dispatcher.submit(other, new BistroMessage(ActionType.GET_ALL_TABLES, null), step(done, "other", 0, finished), failed);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals("other", done.get(0)); // Not held up by the first client's report
+        assertEquals(Arrays.asList("report", "tables", "add", "quit"), done.subList(1, 5));
+    }
+
+    @Test
+    public void inOrderTaskRunsAtOnceWhenNothingIsQueued() {
+        List<String> done = new ArrayList<>();
+        dispatcher.runInOrder(dispatcher.newClientQueue(), () -> done.add("quit"));
+        assertEquals(Collections.singletonList("quit"), done);
+    }
+}
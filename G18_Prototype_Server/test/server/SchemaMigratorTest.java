@@ -0,0 +1,82 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the schema migrations against the database loaded from G18_Assignment3_DB.sql.
+ *
+ * Software Structure:
+ * Integration test for SchemaMigrator, which the server runs at startup. It checks that
+ * the migrations apply to the schema of the dump, that every hot query then passes the
+ * EXPLAIN check, and that running them again changes nothing.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class SchemaMigratorTest {
+
+    /** The indexes the migrations create, by table. */
+    private static final String[][] INDEXES = {
+        { "order", "idx_order_code_status" }, { "order", "idx_order_status_date" },
+        { "order", "idx_order_subscriber_date" }, { "order", "idx_order_phone" },
+        { "order", "idx_order_email" }, { "order", "idx_order_date" },
+        { "tables", "idx_tables_status_capacity" }, { "tables", "idx_tables_capacity" },
+        { "opening_hours", "idx_opening_hours_date" }, { "opening_hours", "idx_opening_hours_day" }
+    };
+
+    private MySQLConnectionPool pool;
+
+    @Before
+    public void setUp() {
+        pool = TestDatabase.pool();
+    }
+
+    /** @return A single number read by the query. */
+    private int queryInt(String sql, String... params) throws SQLException {
+        PooledConnection pConn = pool.getConnection();
+        try (PreparedStatement ps = pConn.getConnection().prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } finally {
+            pool.releaseConnection(pConn);
+        }
+    }
+
+    @Test
+    public void migratesTheDumpAndPassesThePlanCheck() throws SQLException {
+        SchemaMigrator.migrate(); // Throws if a hot query would scan a whole table
+
+        assertEquals(SchemaMigrator.latestVersion(), queryInt("SELECT MAX(version) FROM schema_version"));
+        for (String[] index : INDEXES) {
+            assertEquals(index[1] + " on " + index[0], 1, queryInt(
+                    "SELECT COUNT(DISTINCT index_name) FROM information_schema.statistics "
+                    + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?", index));
+        }
+    }
+
+    @Test
+    public void secondRunChangesNothing() throws SQLException {
+        SchemaMigrator.migrate();
+        int versions = queryInt("SELECT COUNT(*) FROM schema_version");
+        int indexes = queryInt("SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()");
+
+        SchemaMigrator.migrate();
+
+        assertEquals(versions, queryInt("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(indexes, queryInt("SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()"));
+        assertTrue(versions >= SchemaMigrator.latestVersion());
+    }
+}
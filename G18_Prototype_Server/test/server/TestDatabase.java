@@ -0,0 +1,45 @@
+package server;
+
+import static org.junit.Assume.assumeNoException;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.SQLException;
+
+/**
+ * Connects the database tests to the local "bistro" schema.
+ *
+ * Software Structure:
+ * Test helper for the Database Layer tests. The tests use the same connection pool as
+ * the server, so they need the schema of G18_Assignment3_DB.sql loaded in a MySQL server
+ * on localhost:3306, and the root password given as -Dbistro.test.dbPassword=... .
+ * Without it, or when the server cannot be reached, the tests are skipped.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+final class TestDatabase {
+
+    /** System property holding the root password of the test database. */
+    static final String PASSWORD_PROPERTY = "bistro.test.dbPassword";
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Sets up the pool, or skips the calling test if no database is available.
+     *
+     * @return The connection pool.
+     */
+    static MySQLConnectionPool pool() {
+        String password = System.getProperty(PASSWORD_PROPERTY);
+        assumeTrue("Set -D" + PASSWORD_PROPERTY + " to run the database tests", password != null);
+        MySQLConnectionPool.setDBPassword(password);
+        MySQLConnectionPool pool = MySQLConnectionPool.getInstance();
+        try {
+            pool.releaseConnection(pool.getConnection());
+        } catch (SQLException e) {
+            assumeNoException("No test database on localhost", e);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,250 @@
+package server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import ocsf.server.AbstractServer;
+import ocsf.server.ConnectionToClient;
+
+/**
+ * Compares the ways AbstractServer can serve its clients: one platform thread per client,
+ * one virtual thread per client, and the NIO transport.
+ *
+ * Software Structure:
+ * Benchmark for the OCSF server layer, run by hand (it is not a JUnit test). Every mode
+ * serves an echo server whose handler blocks for a while, as BistroServer's handlers block
+ * on JDBC. A number of clients connect over plain sockets, each sending one request and
+ * waiting for its answer, again and again, for a fixed time. The throughput, the latency
+ * percentiles and the peak number of platform threads the server used are printed per
+ * mode (virtual threads are not counted, only their carriers).
+ *
+ * With -Dbench.globalLock=true every handler also takes one shared lock, which is how
+ * AbstractServer serialized all handlers before the receive lock was removed.
+ *
+ * Usage: java server.TransportBenchmark [clients] [handlerMillis] [seconds]
+ * (defaults: 200 clients, 5 ms, 5 s per mode).
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class TransportBenchmark {
+
+    /** The modes compared. */
+    private enum Mode { THREAD_PER_CLIENT, VIRTUAL_THREADS, NIO }
+
+    /** First port used; each run uses the next one. */
+    private static final int BASE_PORT = 5600;
+
+    /** Lock shared by all handlers when the old behaviour is measured. */
+    private static final Object GLOBAL_LOCK = new Object();
+
+    /**
+     * Echo server whose handler blocks for a fixed time before answering.
+     */
+    private static class BlockingEchoServer extends AbstractServer {
+        private final long handlerMillis;
+        private final boolean globalLock;
+
+        BlockingEchoServer(int port, long handlerMillis, boolean globalLock) {
+            super(port);
+            this.handlerMillis = handlerMillis;
+            this.globalLock = globalLock;
+        }
+
+        @Override
+        protected void handleMessageFromClient(Object msg, ConnectionToClient client) {
+            try {
+                if (globalLock) {
+                    synchronized (GLOBAL_LOCK) {
+                        Thread.sleep(handlerMillis);
+                    }
+                } else {
+                    Thread.sleep(handlerMillis);
+                }
+                client.sendToClient(msg);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The client went away at the end of the run
+            }
+        }
+    }
+
+    /**
+     * A client connection speaking either the object stream protocol or NIO frames.
+     */
+    private static class BenchClient {
+        private final Socket socket;
+        private final boolean framed;
+        private ObjectOutputStream objectOut;
+        private ObjectInputStream objectIn;
+        private DataOutputStream frameOut;
+        private DataInputStream frameIn;
+
+        BenchClient(int port, boolean framed) throws IOException {
+            this.socket = new Socket("localhost", port);
+            this.framed = framed;
+            socket.setTcpNoDelay(true);
+            if (framed) {
+                frameOut = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                frameIn = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            } else {
+                objectOut = new ObjectOutputStream(socket.getOutputStream());
+                objectIn = new ObjectInputStream(socket.getInputStream());
+            }
+        }
+
+        /** Sends a message and waits for the answer. */
+        Object call(Object msg) throws IOException, ClassNotFoundException {
+            if (!framed) {
+                objectOut.writeObject(msg);
+                objectOut.reset();
+                objectOut.flush();
+                return objectIn.readObject();
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(msg);
+            }
+            frameOut.writeInt(bytes.size());
+            bytes.writeTo(frameOut);
+            frameOut.flush();
+            byte[] frame = new byte[frameIn.readInt()];
+            frameIn.readFully(frame);
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(frame))) {
+                return in.readObject();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long handlerMillis = args.length > 1 ? Long.parseLong(args[1]) : 5;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        boolean globalLock = Boolean.getBoolean("bench.globalLock");
+
+        System.out.printf("%d clients, handler blocks %d ms, %d s per mode%s%n",
+                clients, handlerMillis, seconds, globalLock ? ", one lock around all handlers" : "");
+        System.out.printf("%-18s %10s %9s %9s %9s %9s %8s%n",
+                "mode", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "threads");
+        int port = BASE_PORT;
+        for (Mode mode : Mode.values()) {
+            run(mode, port++, clients, handlerMillis, seconds, globalLock);
+        }
+    }
+
+    /**
+     * Serves the clients in one mode and prints the results.
+     */
+    private static void run(Mode mode, int port, int clients, long handlerMillis, int seconds, boolean globalLock)
+            throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        BlockingEchoServer server = new BlockingEchoServer(port, handlerMillis, globalLock);
+        server.setBacklog(clients);
+        server.setNioMode(mode == Mode.NIO);
+        server.setVirtualThreads(mode == Mode.VIRTUAL_THREADS);
+        if (mode == Mode.VIRTUAL_THREADS && !server.isUsingVirtualThreads()) {
+            System.out.printf("%-18s skipped, this JVM has no virtual threads (Java 21 or later)%n", mode);
+            return;
+        }
+        server.listen();
+        Thread.sleep(200); // Let the listener start
+
+        BenchClient[] connections = new BenchClient[clients];
+        for (int i = 0; i < clients; i++) {
+            connections[i] = new BenchClient(port, mode == Mode.NIO);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        threads.resetPeakThreadCount();
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            Thread thread = new Thread(() -> {
+                long[] own = new long[1024];
+                int count = 0;
+                try {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        connections[index].call(count);
+                        if (count == own.length) {
+                            own = Arrays.copyOf(own, count * 2);
+                        }
+                        own[count++] = System.nanoTime() - start;
+                    }
+                } catch (Exception e) {
+                    if (running.get()) {
+                        System.err.println("[Bench] Client " + index + " failed: " + e);
+                    }
+                } finally {
+                    latencies[index] = own;
+                    counts[index] = count;
+                    done.countDown();
+                }
+            }, "bench client " + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        int serverThreads = threads.getPeakThreadCount() - baseline - clients; // Without the client threads
+
+        for (BenchClient connection : connections) {
+            connection.close();
+        }
+        server.close();
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (int i = 0; i < clients; i++) {
+            System.arraycopy(latencies[i], 0, all, at, counts[i]);
+            at += counts[i];
+        }
+        Arrays.sort(all);
+        System.out.printf("%-18s %10.0f %9.2f %9.2f %9.2f %9.2f %8d%n", mode, total / (double) seconds,
+                percentile(all, 50), percentile(all, 95), percentile(all, 99),
+                total == 0 ? 0 : all[total - 1] / 1e6, serverThreads);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (threads.getThreadCount() > baseline && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100); // Let the closed connections wind down before the next mode
+        }
+    }
+
+    /** @return The percentile of sorted nanosecond values, in milliseconds. */
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,103 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.ActionType;
+import common.BistroMessage;
+import common.Table;
+
+/**
+ * Checks that a write request is rolled back whenever its handler fails.
+ *
+ * Software Structure:
+ * Tests for BistroServer.handleInTransaction. Each test runs a handler that adds a
+ * restaurant table and then fails in one of the ways the real handlers do: by throwing,
+ * or by answering with one of the error texts ("ERROR: ...", "Error: ...", "Failed...",
+ * "Registration failed." ...). The table must not be in the database afterwards.
+ *
+ * @author Dana Zablev
+ * @version 1.0
+ */
+public class WriteRollbackTest {
+
+    /** An ID no real table uses. */
+    private static final int TABLE_ID = 9901;
+
+    private final TableRepository tables = new TableRepository();
+
+    @Before
+    public void setUp() {
+        TestDatabase.pool();
+        tables.removeTable(TABLE_ID);
+    }
+
+    @After
+    public void tearDown() {
+        tables.removeTable(TABLE_ID);
+    }
+
+    /**
+     * Runs a handler that adds the table and then answers with the given text.
+     *
+     * @param answer The handler's response text.
+     * @return The response of the unit of work.
+     */
+    private BistroMessage addTableAndAnswer(String answer) throws Exception {
+        return BistroServer.handleInTransaction((request, client) -> {
+            assertTrue(tables.addTable(new Table(TABLE_ID, 4, "AVAILABLE")));
+            return new BistroMessage(ActionType.ADD_TABLE, answer);
+        }, new BistroMessage(ActionType.ADD_TABLE, null), null);
+    }
+
+    /** @return true if the test table is in the database. */
+    private boolean tableExists() {
+        return tables.getTableCapacity(TABLE_ID) > 0;
+    }
+
+    @Test
+    public void successIsCommitted() throws Exception {
+        assertEquals("Success", addTableAndAnswer("Success").getData());
+        assertTrue(tableExists());
+    }
+
+    @Test
+    public void everyErrorWordingIsRolledBack() throws Exception {
+        String[] answers = {
+            "ERROR: DB Update Failed", "Error: DB Save Failed", "error: lower case",
+            "Failed", "Failed: Table ID not found", "Registration failed.",
+            "Username or Password incorrect.", "SEATED status can not be cancelled"
+        };
+        for (String answer : answers) {
+            BistroMessage response = addTableAndAnswer(answer);
+            assertTrue(answer, response.isError());
+            assertFalse("Committed although the handler answered \"" + answer + "\"", tableExists());
+        }
+    }
+
+    @Test
+    public void exceptionIsRolledBack() throws Exception {
+        BistroMessage response = BistroServer.handleInTransaction((request, client) -> {
+            tables.addTable(new Table(TABLE_ID, 4, "AVAILABLE"));
+            throw new IllegalStateException("boom");
+        }, new BistroMessage(ActionType.ADD_TABLE, null), null);
+
+        assertEquals("ERROR: boom", response.getData());
+        assertFalse(tableExists());
+    }
+
+    @Test
+    public void errorTextsAreRecognized() {
+        assertTrue(BistroMessage.isErrorText("ERROR: Invalid Code"));
+        assertTrue(BistroMessage.isErrorText("Error: Restaurant is CLOSED."));
+        assertTrue(BistroMessage.isErrorText("Failed: ID might exist"));
+        assertFalse(BistroMessage.isErrorText("Success"));
+        assertFalse(BistroMessage.isErrorText(null));
+        assertFalse(new BistroMessage(ActionType.GET_ALL_TABLES, new java.util.ArrayList<Table>()).isError());
+    }
+}
@@ -0,0 +1,170 @@
+// This file extends the OCSF framework (section 3.8 of the textbook:
+// "Object Oriented Software Engineering") and is issued under the same
+// open-source license found at www.lloseng.com
+
+package ocsf.server;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+* Holds the messages waiting to be written to one client served by a
+* thread of its own. <code>ConnectionToClient.sendToClient</code> only
+* adds the message here; a writer from the server's shared pool then
+* serializes the queued messages to the socket one after the other.
+* A client that reads slowly therefore stalls its own writer, never the
+* thread that sent the message.<p>
+*
+* The queue is bounded. When it is full, <code>offer</code> refuses the
+* message and the connection applies the server's slow consumer policy.<p>
+*
+* Project Name: OCSF (Object Client-Server Framework)<p>
+*
+* @see ocsf.server.AbstractServer#setOutboundQueueLimit(int)
+*/
+class OutboundQueue implements Runnable
+{
+// INSTANCE VARIABLES ***********************************************
+
+  /**
+   * The connection whose messages are queued.
+   */
+  private final ConnectionToClient connection;
+
+  /**
+   * The stream the messages are written to.
+   */
+  private final ObjectOutputStream output;
+
+  /**
+   * The pool running the writers.
+   */
+  private final Executor writers;
+
+  /**
+   * Messages waiting to be written. Guarded by the monitor of this object.
+   */
+  private final ArrayDeque<Object> messages = new ArrayDeque<Object>();
+
+  /**
+   * True while a writer is draining the queue. Guarded by the monitor
+   * of this object.
+   */
+  private boolean draining = false;
+
+  /**
+   * Set once the connection has been closed.
+   */
+  private volatile boolean closed = false;
+
+// CONSTRUCTORS *****************************************************
+
+  /**
+   * Creates the queue of a connection.
+   *
+   * @param connection the connection whose messages are queued.
+   * @param output the connection's object stream.
+   * @param writers the pool running the writers.
+   */
+  OutboundQueue(ConnectionToClient connection, ObjectOutputStream output,
+    Executor writers)
+  {
+    this.connection = connection;
+    this.output = output;
+    this.writers = writers;
+  }
+
+// INSTANCE METHODS *************************************************
+
+  /**
+   * Queues a message and makes sure a writer is draining the queue.
+   *
+   * @param msg the message to send.
+   * @param limit the largest number of messages allowed to wait.
+   * @return the number of messages waiting after this one was added,
+   *    or -1 if the queue is full and the message was not added.
+   * @exception IOException if the connection is closed.
+   */
+  synchronized int offer(Object msg, int limit) throws IOException
+  {
+    if (closed)
+      throw new SocketException("socket does not exist");
+    if (messages.size() >= limit)
+      return -1;
+
+    messages.addLast(msg);
+    if (!draining)
+    {
+      draining = true;
+      try
+      {
+        writers.execute(this);
+      }
+      catch (RejectedExecutionException ex)
+      {
+        draining = false;
+        messages.removeLast();
+        throw new SocketException("server is shutting down");
+      }
+    }
+    return messages.size();
+  }
+
+  /**
+   * @return the number of messages waiting to be written.
+   */
+  synchronized int size()
+  {
+    return messages.size();
+  }
+
+  /**
+   * Discards the waiting messages. Calling this more than once has no
+   * effect.
+   */
+  synchronized void close()
+  {
+    closed = true;
+    messages.clear();
+  }
+
+// RUN METHOD -------------------------------------------------------
+
+  /**
+   * Writes queued messages until the queue is empty. Not to be called.
+   */
+  public void run()
+  {
+    while (true)
+    {
+      Object msg;
+      synchronized (this)
+      {
+        msg = messages.pollFirst();
+        if (msg == null || closed)
+        {
+          draining = false;
+          return;
+        }
+      }
+
+      try
+      {
+        output.writeObject(msg);
+      }
+      catch (IOException ex)
+      {
+        // The reader thread sees the closed socket and reports it
+        synchronized (this)
+        {
+          draining = false;
+        }
+        connection.abort();
+        return;
+      }
+    }
+  }
+}
+// End of OutboundQueue class